@@ -1,6 +1,9 @@
 package com.gravitee.migration.converter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.BundleSymbolTable;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.object.ApiObjectConverter;
 import com.gravitee.migration.converter.object.DocumentationObjectConverter;
 import com.gravitee.migration.converter.object.PlanObjectConverter;
@@ -11,7 +14,6 @@ import org.w3c.dom.Document;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
 import java.io.IOException;
-import java.util.List;
 
 /**
  * Converts Apigee API to Gravitee API.
@@ -33,20 +35,20 @@ public class ApiGeeToGraviteeConverter {
      *
      * @param rootXml         The root XML document of the Apigee API.
      * @param proxyXml        The proxy XML document of the Apigee API.
-     * @param apiGeePolicies  The list of policies associated with the Apigee API.
-     * @param targetEndpoints The list of target endpoints associated with the Apigee API.
-     * @return The Gravitee API configuration as a JSON string.
+     * @param symbolTable     The policies and target endpoints associated with the Apigee API, indexed by name.
+     * @param migrationContext The context of the current migration, holds the state collected during the conversion.
+     * @return The Gravitee API configuration, written to the output file by the file writer service.
      * @throws XPathExpressionException If there is an error evaluating the XPath expression.
-     * @throws IOException              If there is an error writing the JSON output.
+     * @throws IOException              If there is an error reading the files referenced by the policies.
      */
-    public String apiGeeToGraviteeConverter(Document rootXml, Document proxyXml, List<Document> apiGeePolicies, List<Document> targetEndpoints, String apiProxyFolderLocation) throws XPathExpressionException, IOException {
+    public ObjectNode apiGeeToGraviteeConverter(Document rootXml, Document proxyXml, BundleSymbolTable symbolTable, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException, IOException {
         var graviteeConfig = objectMapper.createObjectNode();
         var planName = xPath.evaluate("/APIProxy/@name", rootXml);
 
-        apiObjectConverter.mapApiObject(rootXml, proxyXml, graviteeConfig, targetEndpoints);
-        planObjectConverter.createPlan(graviteeConfig, planName, apiGeePolicies, targetEndpoints, proxyXml, apiProxyFolderLocation);
+        apiObjectConverter.mapApiObject(rootXml, proxyXml, graviteeConfig, symbolTable.getTargets(), migrationContext);
+        planObjectConverter.createPlan(graviteeConfig, planName, symbolTable, proxyXml, apiProxyFolderLocation, migrationContext);
         documentationObjectConverter.mapDocumentation(graviteeConfig);
 
-        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(graviteeConfig);
+        return graviteeConfig;
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.gravitee.migration.converter.condition;
+
+import com.gravitee.migration.converter.condition.ConditionLexer.Token;
+import com.gravitee.migration.converter.condition.ConditionLexer.TokenType;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalizes Apigee conditions (and templates) to a canonical form, so conditions that only differ in formatting
+ * are found with a single hash lookup in the mappings.
+ * <ul>
+ *     <li>whitespace between tokens is reduced to a single space, whitespace inside quoted strings is kept</li>
+ *     <li>strings are quoted with double quotes</li>
+ *     <li>no space after an opening or before a closing parenthesis</li>
+ *     <li>keyword operators are lower case (AND, Or, MatchesPath, JavaRegex, ...)</li>
+ *     <li>redundant parentheses around the whole condition are removed</li>
+ * </ul>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConditionCanonicalizer {
+
+    // Apigee operators written as words, they are case-insensitive in Apigee
+    private static final Set<String> KEYWORDS = Set.of(
+            "and", "or", "not", "matchespath", "javaregex", "matches", "like", "equals", "notequals", "is", "isnot",
+            "startswith", "equalscaseinsensitive", "greaterthan", "greaterthanorequals", "lesserthan", "lesserthanorequals");
+
+    /**
+     * Returns the canonical form of the condition.
+     * The condition is split by the {@link ConditionLexer}, so the canonical form follows the tokens seen by the parser.
+     *
+     * @param condition The Apigee condition.
+     * @return The canonical condition, or an empty string if the condition is null or blank.
+     */
+    public static String canonicalize(String condition) {
+        if (condition == null || condition.isBlank()) {
+            return "";
+        }
+
+        List<Token> tokens;
+        try {
+            tokens = ConditionLexer.tokenize(condition);
+        } catch (IllegalArgumentException e) {
+            // e.g. an unterminated string, the condition is kept as it is
+            return condition.trim();
+        }
+
+        int start = 0;
+        int end = tokens.size();
+        while (end - start >= 2 && isWrappedInParentheses(tokens, start, end)) {
+            start++;
+            end--;
+        }
+
+        return join(tokens.subList(start, end));
+    }
+
+    /**
+     * Checks if the first token opens a parenthesis that is closed by the last token.
+     */
+    private static boolean isWrappedInParentheses(List<Token> tokens, int start, int end) {
+        if (tokens.get(start).type() != TokenType.OPENING_PARENTHESIS || tokens.get(end - 1).type() != TokenType.CLOSING_PARENTHESIS) {
+            return false;
+        }
+
+        int depth = 0;
+        for (int i = start; i < end; i++) {
+            TokenType type = tokens.get(i).type();
+            if (type == TokenType.OPENING_PARENTHESIS) {
+                depth++;
+            } else if (type == TokenType.CLOSING_PARENTHESIS) {
+                depth--;
+                if (depth == 0 && i < end - 1) {
+                    // The first parenthesis is closed before the end, e.g. (a) and (b)
+                    return false;
+                }
+            }
+        }
+        return depth == 0;
+    }
+
+    private static String join(List<Token> tokens) {
+        StringBuilder canonicalCondition = new StringBuilder();
+        Token previousToken = null;
+
+        for (Token token : tokens) {
+            if (previousToken != null && previousToken.type() != TokenType.OPENING_PARENTHESIS && token.type() != TokenType.CLOSING_PARENTHESIS) {
+                canonicalCondition.append(' ');
+            }
+            canonicalCondition.append(toCanonicalText(token));
+            previousToken = token;
+        }
+        return canonicalCondition.toString();
+    }
+
+    private static String toCanonicalText(Token token) {
+        return switch (token.type()) {
+            // Strings are quoted with double quotes, unless the value contains one
+            case STRING -> token.text().indexOf('"') >= 0 && token.text().indexOf('\'') < 0
+                    ? "'" + token.text() + "'"
+                    : "\"" + token.text() + "\"";
+            case WORD -> {
+                String lowerCaseText = token.text().toLowerCase(Locale.ROOT);
+                yield KEYWORDS.contains(lowerCaseText) ? lowerCaseText : token.text();
+            }
+            default -> token.text();
+        };
+    }
+}
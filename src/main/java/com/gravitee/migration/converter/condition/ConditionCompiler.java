@@ -0,0 +1,57 @@
+package com.gravitee.migration.converter.condition;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles Apigee conditions to Gravitee EL expressions.
+ * <p>
+ * The same conditions recur across the flows and policies of the bundles, so the syntax trees are memoized by canonical condition
+ * (see {@link ConditionCanonicalizer}). Conditions that can't be parsed are memoized too. The memo lives as long as the shell, so it
+ * is bounded: once it holds {@value #MAX_SYNTAX_TREES} conditions it is cleared and filled again by the next conditions.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConditionCompiler {
+
+    private static final int MAX_SYNTAX_TREES = 10000;
+    private static final Map<String, Optional<ConditionNode>> SYNTAX_TREES = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the syntax tree of the condition.
+     *
+     * @param condition The Apigee condition.
+     * @return The syntax tree, or empty if the condition can't be parsed.
+     */
+    public static Optional<ConditionNode> parse(String condition) {
+        if (SYNTAX_TREES.size() >= MAX_SYNTAX_TREES) {
+            SYNTAX_TREES.clear();
+        }
+        // Conditions with the same canonical form only differ in formatting, so they share the syntax tree
+        return SYNTAX_TREES.computeIfAbsent(ConditionCanonicalizer.canonicalize(condition), canonicalCondition -> parseCondition(condition));
+    }
+
+    /**
+     * Compiles the condition to a Gravitee EL expression.
+     *
+     * @param condition The Apigee condition.
+     * @return The Gravitee EL expression, or null if the condition can't be parsed.
+     */
+    public static String compile(String condition) {
+        return parse(condition).map(ConditionElEmitter::emit).orElse(null);
+    }
+
+    private static Optional<ConditionNode> parseCondition(String condition) {
+        try {
+            return Optional.of(ConditionParser.parse(condition));
+        } catch (IllegalArgumentException e) {
+            log.debug("Failed to parse the condition {}: {}", condition, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.gravitee.migration.converter.condition;
+
+import com.gravitee.migration.converter.condition.ConditionNode.*;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Emits the Gravitee EL expression of a parsed Apigee condition.
+ * <p>
+ * Well known flow variables are mapped to the request and response attributes of Gravitee (proxy.pathsuffix, request.verb,
+ * request.header.X, request.queryparam.X, response.status.code, ...), other flow variables are read from the context attributes.
+ * Apigee path and wildcard patterns (MatchesPath, Matches) are converted to regular expressions.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConditionElEmitter {
+
+    private static final Map<String, String> VARIABLES = Map.of(
+            "proxy.pathsuffix", "#request.pathInfo",
+            "proxy.basepath", "#request.contextPath",
+            "request.verb", "#request.method",
+            "request.path", "#request.path",
+            "request.uri", "#request.uri",
+            "request.content", "#request.content",
+            "response.status.code", "#response.status",
+            "response.content", "#response.content",
+            "client.ip", "#request.remoteAddress",
+            "apiproxy.name", "#context.attributes['api']");
+
+    private static final String REQUEST_HEADER_PREFIX = "request.header.";
+    private static final String REQUEST_QUERY_PARAM_PREFIX = "request.queryparam.";
+    private static final String RESPONSE_HEADER_PREFIX = "response.header.";
+    private static final String REGEX_SPECIAL_CHARACTERS = ".[]{}()+?^$|\\";
+
+    private static final int OR_PRECEDENCE = 1;
+    private static final int AND_PRECEDENCE = 2;
+
+    /**
+     * Emits the Gravitee EL expression of the condition.
+     *
+     * @param condition The syntax tree of the Apigee condition.
+     * @return The Gravitee EL expression, wrapped in {}.
+     */
+    public static String emit(ConditionNode condition) {
+        return "{" + emitNode(condition, OR_PRECEDENCE) + "}";
+    }
+
+    /**
+     * Emits the Gravitee EL expression reading the value of a flow variable (e.g. the Identifier of a SpikeArrest policy).
+     * Multi-valued variables (headers, query parameters) are read by their first value.
+     *
+     * @param variableName The name of the Apigee flow variable.
+     * @return The Gravitee EL expression, wrapped in {}.
+     */
+    public static String emitValue(String variableName) {
+        return "{" + emitVariable(variableName.trim(), true) + "}";
+    }
+
+    private static String emitNode(ConditionNode node, int parentPrecedence) {
+        return switch (node) {
+            case Or or -> parenthesize(emitNode(or.left(), OR_PRECEDENCE) + " || " + emitNode(or.right(), OR_PRECEDENCE),
+                    OR_PRECEDENCE, parentPrecedence);
+            case And and -> parenthesize(emitNode(and.left(), AND_PRECEDENCE) + " && " + emitNode(and.right(), AND_PRECEDENCE),
+                    AND_PRECEDENCE, parentPrecedence);
+            case Not not -> "!(" + emitNode(not.condition(), OR_PRECEDENCE) + ")";
+            case Comparison comparison -> emitComparison(comparison);
+            case Truthy truthy -> truthy.operand() instanceof BooleanLiteral
+                    ? emitOperand(truthy.operand(), false)
+                    : emitOperand(truthy.operand(), false) + " == true";
+        };
+    }
+
+    private static String parenthesize(String expression, int precedence, int parentPrecedence) {
+        return precedence < parentPrecedence ? "(" + expression + ")" : expression;
+    }
+
+    private static String emitComparison(Comparison comparison) {
+        // Multi-valued variables (headers, query parameters) are compared by their first value
+        boolean comparedWithValue = comparison.left() instanceof Literal || comparison.right() instanceof Literal;
+        String left = emitOperand(comparison.left(), comparedWithValue);
+
+        return switch (comparison.operator()) {
+            case EQUALS -> left + " == " + emitOperand(comparison.right(), comparedWithValue);
+            case NOT_EQUALS -> left + " != " + emitOperand(comparison.right(), comparedWithValue);
+            case GREATER_THAN -> left + " > " + emitOperand(comparison.right(), comparedWithValue);
+            case GREATER_THAN_OR_EQUALS -> left + " >= " + emitOperand(comparison.right(), comparedWithValue);
+            case LESSER_THAN -> left + " < " + emitOperand(comparison.right(), comparedWithValue);
+            case LESSER_THAN_OR_EQUALS -> left + " <= " + emitOperand(comparison.right(), comparedWithValue);
+            case EQUALS_CASE_INSENSITIVE -> left + ".equalsIgnoreCase(" + emitOperand(comparison.right(), comparedWithValue) + ")";
+            case STARTS_WITH -> left + ".startsWith(" + emitOperand(comparison.right(), comparedWithValue) + ")";
+            case MATCHES -> left + " matches " + emitPattern(comparison.right(), ConditionElEmitter::wildcardToRegex);
+            case JAVA_REGEX -> left + " matches " + emitPattern(comparison.right(), pattern -> pattern);
+            case MATCHES_PATH -> left + " matches " + emitPattern(comparison.right(), ConditionElEmitter::pathToRegex);
+        };
+    }
+
+    private static String emitOperand(Operand operand, boolean comparedWithValue) {
+        return switch (operand) {
+            case Variable variable -> emitVariable(variable.name(), comparedWithValue);
+            case Literal literal -> literal.quoted() ? "\"" + unescapeQuotes(literal.value()).replace("\"", "\"\"") + "\"" : literal.value();
+            case NullLiteral ignored -> "null";
+            case BooleanLiteral booleanLiteral -> String.valueOf(booleanLiteral.value());
+        };
+    }
+
+    private static String emitVariable(String name, boolean comparedWithValue) {
+        String lowerCaseName = name.toLowerCase(Locale.ROOT);
+        String index = comparedWithValue ? "[0]" : "";
+
+        if (VARIABLES.containsKey(lowerCaseName)) {
+            return VARIABLES.get(lowerCaseName);
+        }
+        if (lowerCaseName.startsWith(REQUEST_HEADER_PREFIX)) {
+            return "#request.headers['" + name.substring(REQUEST_HEADER_PREFIX.length()) + "']" + index;
+        }
+        if (lowerCaseName.startsWith(REQUEST_QUERY_PARAM_PREFIX)) {
+            return "#request.params['" + name.substring(REQUEST_QUERY_PARAM_PREFIX.length()) + "']" + index;
+        }
+        if (lowerCaseName.startsWith(RESPONSE_HEADER_PREFIX)) {
+            return "#response.headers['" + name.substring(RESPONSE_HEADER_PREFIX.length()) + "']" + index;
+        }
+        // Custom flow variables are stored in the context attributes
+        return "#context.attributes['" + name + "']";
+    }
+
+    private static String emitPattern(Operand operand, UnaryOperator<String> toRegex) {
+        if (operand instanceof Literal literal) {
+            return "'" + toRegex.apply(literal.value()).replace("'", "''") + "'";
+        }
+        return emitOperand(operand, true);
+    }
+
+    /**
+     * Converts an Apigee path pattern, * matches a single path segment and ** any number of path segments.
+     */
+    private static String pathToRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]*");
+            } else {
+                appendLiteral(regex, c);
+            }
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Converts an Apigee wildcard pattern, * matches any characters and ? a single character.
+     */
+    private static String wildcardToRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : pattern.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if (c == '?') {
+                regex.append('.');
+            } else {
+                appendLiteral(regex, c);
+            }
+        }
+        return regex.toString();
+    }
+
+    private static void appendLiteral(StringBuilder regex, char c) {
+        if (REGEX_SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+            regex.append('\\');
+        }
+        regex.append(c);
+    }
+
+    private static String unescapeQuotes(String value) {
+        return value.replace("\\\"", "\"").replace("\\'", "'");
+    }
+}
@@ -0,0 +1,114 @@
+package com.gravitee.migration.converter.condition;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits an Apigee condition into tokens: parentheses, quoted strings, symbolic operators (=, !=, ~~, =|, ...)
+ * and words (variables, numbers and word operators like MatchesPath or and).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConditionLexer {
+
+    private static final String OPERATOR_CHARACTERS = "=!<>~&|:";
+
+    public enum TokenType {
+        OPENING_PARENTHESIS,
+        CLOSING_PARENTHESIS,
+        STRING,
+        OPERATOR,
+        WORD
+    }
+
+    /**
+     * A token of a condition, the text of a string token is the unquoted value.
+     */
+    public record Token(TokenType type, String text) {
+
+        public boolean isWord(String word) {
+            return type == TokenType.WORD && text.equalsIgnoreCase(word);
+        }
+
+        public boolean isOperator(String operator) {
+            return type == TokenType.OPERATOR && text.equals(operator);
+        }
+    }
+
+    /**
+     * Tokenizes the condition.
+     *
+     * @param condition The Apigee condition.
+     * @return The tokens of the condition.
+     * @throws IllegalArgumentException if a string is not terminated.
+     */
+    public static List<Token> tokenize(String condition) {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+
+        while (i < condition.length()) {
+            char c = condition.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(') {
+                tokens.add(new Token(TokenType.OPENING_PARENTHESIS, "("));
+                i++;
+            } else if (c == ')') {
+                tokens.add(new Token(TokenType.CLOSING_PARENTHESIS, ")"));
+                i++;
+            } else if (c == '"' || c == '\'') {
+                i = readString(condition, i, tokens);
+            } else if (isOperatorCharacter(c)) {
+                int end = i + 1;
+                while (end < condition.length() && isOperatorCharacter(condition.charAt(end))) {
+                    end++;
+                }
+                // ~/ is the short form of MatchesPath
+                if (condition.charAt(end - 1) == '~' && end < condition.length() && condition.charAt(end) == '/') {
+                    end++;
+                }
+                tokens.add(new Token(TokenType.OPERATOR, condition.substring(i, end)));
+                i = end;
+            } else {
+                int end = i + 1;
+                while (end < condition.length() && isWordCharacter(condition.charAt(end))) {
+                    end++;
+                }
+                tokens.add(new Token(TokenType.WORD, condition.substring(i, end)));
+                i = end;
+            }
+        }
+        return tokens;
+    }
+
+    private static int readString(String condition, int openingQuoteIndex, List<Token> tokens) {
+        char quote = condition.charAt(openingQuoteIndex);
+        StringBuilder value = new StringBuilder();
+        int i = openingQuoteIndex + 1;
+
+        while (i < condition.length() && condition.charAt(i) != quote) {
+            if (condition.charAt(i) == '\\' && i + 1 < condition.length()) {
+                // Keep the escape, the value is used in regular expressions
+                value.append(condition.charAt(i++));
+            }
+            value.append(condition.charAt(i++));
+        }
+        if (i >= condition.length()) {
+            throw new IllegalArgumentException("Unterminated string in condition: " + condition);
+        }
+
+        tokens.add(new Token(TokenType.STRING, value.toString()));
+        return i + 1;
+    }
+
+    private static boolean isOperatorCharacter(char c) {
+        return OPERATOR_CHARACTERS.indexOf(c) >= 0;
+    }
+
+    private static boolean isWordCharacter(char c) {
+        return !Character.isWhitespace(c) && c != '(' && c != ')' && c != '"' && c != '\'' && !isOperatorCharacter(c);
+    }
+}
@@ -0,0 +1,66 @@
+package com.gravitee.migration.converter.condition;
+
+/**
+ * Syntax tree of a parsed Apigee condition.
+ */
+public sealed interface ConditionNode {
+
+    record And(ConditionNode left, ConditionNode right) implements ConditionNode {
+    }
+
+    record Or(ConditionNode left, ConditionNode right) implements ConditionNode {
+    }
+
+    record Not(ConditionNode condition) implements ConditionNode {
+    }
+
+    /**
+     * A comparison of two operands, the operator is one of the {@link Operator} values.
+     */
+    record Comparison(Operand left, Operator operator, Operand right) implements ConditionNode {
+    }
+
+    /**
+     * A single operand used as a condition, e.g. a flow variable holding a boolean.
+     */
+    record Truthy(Operand operand) implements ConditionNode {
+    }
+
+    enum Operator {
+        EQUALS,
+        NOT_EQUALS,
+        EQUALS_CASE_INSENSITIVE,
+        GREATER_THAN,
+        GREATER_THAN_OR_EQUALS,
+        LESSER_THAN,
+        LESSER_THAN_OR_EQUALS,
+        STARTS_WITH,
+        MATCHES,
+        JAVA_REGEX,
+        MATCHES_PATH
+    }
+
+    sealed interface Operand {
+    }
+
+    /**
+     * A flow variable, e.g. request.verb, proxy.pathsuffix or request.header.Authorization.
+     */
+    record Variable(String name) implements Operand {
+    }
+
+    /**
+     * A quoted string or a number.
+     */
+    record Literal(String value, boolean quoted) implements Operand {
+    }
+
+    /**
+     * The null (or undefined) value.
+     */
+    record NullLiteral() implements Operand {
+    }
+
+    record BooleanLiteral(boolean value) implements Operand {
+    }
+}
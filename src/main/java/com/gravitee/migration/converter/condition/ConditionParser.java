@@ -0,0 +1,206 @@
+package com.gravitee.migration.converter.condition;
+
+import com.gravitee.migration.converter.condition.ConditionLexer.Token;
+import com.gravitee.migration.converter.condition.ConditionLexer.TokenType;
+import com.gravitee.migration.converter.condition.ConditionNode.*;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static java.util.Map.entry;
+
+/**
+ * Recursive descent parser for the Apigee condition language.
+ * <pre>
+ * condition  := and (("or" | "||") and)*
+ * and        := unary (("and" | "&amp;&amp;") unary)*
+ * unary      := ("not" | "!") unary | "(" condition ")" | comparison
+ * comparison := operand ["!"] [operator operand]
+ * operand    := variable | string | number | null | undefined | true | false
+ * </pre>
+ * Operators are case-insensitive, both the symbolic (=, !=, ~~, ~/, =|, ...) and word forms (Equals, JavaRegex, MatchesPath, StartsWith, ...) are supported.
+ */
+public class ConditionParser {
+
+    private static final Map<String, Operator> OPERATORS = Map.ofEntries(
+            entry("=", Operator.EQUALS),
+            entry("==", Operator.EQUALS),
+            entry("equals", Operator.EQUALS),
+            entry("is", Operator.EQUALS),
+            entry("!=", Operator.NOT_EQUALS),
+            entry("notequals", Operator.NOT_EQUALS),
+            entry("isnot", Operator.NOT_EQUALS),
+            entry(":=", Operator.EQUALS_CASE_INSENSITIVE),
+            entry("equalscaseinsensitive", Operator.EQUALS_CASE_INSENSITIVE),
+            entry(">", Operator.GREATER_THAN),
+            entry("greaterthan", Operator.GREATER_THAN),
+            entry(">=", Operator.GREATER_THAN_OR_EQUALS),
+            entry("greaterthanorequals", Operator.GREATER_THAN_OR_EQUALS),
+            entry("<", Operator.LESSER_THAN),
+            entry("lesserthan", Operator.LESSER_THAN),
+            entry("<=", Operator.LESSER_THAN_OR_EQUALS),
+            entry("lesserthanorequals", Operator.LESSER_THAN_OR_EQUALS),
+            entry("=|", Operator.STARTS_WITH),
+            entry("startswith", Operator.STARTS_WITH),
+            entry("~", Operator.MATCHES),
+            entry("matches", Operator.MATCHES),
+            entry("like", Operator.MATCHES),
+            entry("~~", Operator.JAVA_REGEX),
+            entry("javaregex", Operator.JAVA_REGEX),
+            entry("~/", Operator.MATCHES_PATH),
+            entry("matchespath", Operator.MATCHES_PATH),
+            entry("likepath", Operator.MATCHES_PATH));
+
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?");
+
+    private final List<Token> tokens;
+    private int position;
+
+    private ConditionParser(List<Token> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Parses an Apigee condition.
+     *
+     * @param condition The Apigee condition.
+     * @return The syntax tree of the condition.
+     * @throws IllegalArgumentException if the condition is not valid.
+     */
+    public static ConditionNode parse(String condition) {
+        var parser = new ConditionParser(ConditionLexer.tokenize(condition));
+        if (parser.tokens.isEmpty()) {
+            throw new IllegalArgumentException("Empty condition");
+        }
+
+        ConditionNode node = parser.parseOr();
+        if (parser.position < parser.tokens.size()) {
+            throw new IllegalArgumentException("Unexpected '" + parser.peek().text() + "' in condition: " + condition);
+        }
+        return node;
+    }
+
+    private ConditionNode parseOr() {
+        ConditionNode node = parseAnd();
+        while (peekWord("or") || peekOperator("||")) {
+            position++;
+            node = new Or(node, parseAnd());
+        }
+        return node;
+    }
+
+    private ConditionNode parseAnd() {
+        ConditionNode node = parseUnary();
+        while (peekWord("and") || peekOperator("&&")) {
+            position++;
+            node = new And(node, parseUnary());
+        }
+        return node;
+    }
+
+    private ConditionNode parseUnary() {
+        if (peekWord("not") || peekOperator("!")) {
+            position++;
+            return new Not(parseUnary());
+        }
+        if (peekType(TokenType.OPENING_PARENTHESIS)) {
+            position++;
+            ConditionNode node = parseOr();
+            expect(TokenType.CLOSING_PARENTHESIS);
+            return node;
+        }
+        return parseComparison();
+    }
+
+    private ConditionNode parseComparison() {
+        Operand left = parseOperand();
+
+        // Negated operators, e.g. !MatchesPath, !~, !~~ or !~/
+        boolean negated = false;
+        if (peekOperator("!")) {
+            negated = true;
+            position++;
+        }
+
+        Operator operator = peekComparisonOperator();
+        if (operator == null && !negated && peekType(TokenType.OPERATOR) && peek().text().startsWith("!")) {
+            operator = OPERATORS.get(peek().text().substring(1));
+            negated = operator != null;
+        }
+        if (operator == null) {
+            if (negated) {
+                throw new IllegalArgumentException("Expected an operator after '!'");
+            }
+            return new Truthy(left);
+        }
+        position++;
+
+        ConditionNode comparison = new Comparison(left, operator, parseOperand());
+        return negated ? new Not(comparison) : comparison;
+    }
+
+    private Operand parseOperand() {
+        Token token = next();
+
+        if (token.type() == TokenType.STRING) {
+            return new Literal(token.text(), true);
+        }
+        if (token.type() != TokenType.WORD || OPERATORS.containsKey(token.text().toLowerCase(Locale.ROOT))
+                || token.isWord("and") || token.isWord("or") || token.isWord("not")) {
+            throw new IllegalArgumentException("Expected a variable or a value but found '" + token.text() + "'");
+        }
+        if (token.isWord("null") || token.isWord("undefined")) {
+            return new NullLiteral();
+        }
+        if (token.isWord("true") || token.isWord("false")) {
+            return new BooleanLiteral(Boolean.parseBoolean(token.text().toLowerCase(Locale.ROOT)));
+        }
+        if (NUMBER.matcher(token.text()).matches()) {
+            return new Literal(token.text(), false);
+        }
+        return new Variable(token.text());
+    }
+
+    private Operator peekComparisonOperator() {
+        if (position >= tokens.size()) {
+            return null;
+        }
+        Token token = peek();
+        if (token.type() != TokenType.OPERATOR && token.type() != TokenType.WORD) {
+            return null;
+        }
+        return OPERATORS.get(token.text().toLowerCase(Locale.ROOT));
+    }
+
+    private Token peek() {
+        return tokens.get(position);
+    }
+
+    private Token next() {
+        if (position >= tokens.size()) {
+            throw new IllegalArgumentException("Unexpected end of condition");
+        }
+        return tokens.get(position++);
+    }
+
+    private boolean peekType(TokenType type) {
+        return position < tokens.size() && peek().type() == type;
+    }
+
+    private boolean peekWord(String word) {
+        return position < tokens.size() && peek().isWord(word);
+    }
+
+    private boolean peekOperator(String operator) {
+        return position < tokens.size() && peek().isOperator(operator);
+    }
+
+    private void expect(TokenType type) {
+        Token token = next();
+        if (token.type() != type) {
+            throw new IllegalArgumentException("Expected " + type + " but found '" + token.text() + "'");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.gravitee.migration.converter.condition;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the flow selectors (paths and methods) from a translated Gravitee EL condition.
+ * <p>
+ * The condition is split once into its top level operands, respecting parentheses and quoted strings. Only the path and method
+ * conditions that can be moved to the selectors without changing the meaning of the condition are extracted:
+ * <ul>
+ *     <li>a path condition, or an OR of path conditions, combined with AND with the rest of the condition</li>
+ *     <li>a method condition, or an OR of method conditions, combined with AND with the rest of the condition</li>
+ * </ul>
+ * The other operands are kept in the remaining condition.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ConditionSelectorExtractor {
+
+    private static final Pattern PATH_CONDITION = Pattern.compile("#request\\.pathInfo\\s+matches\\s+'([^']+)'");
+    private static final Pattern METHOD_CONDITION = Pattern.compile("#request\\.method\\s*==\\s*([\"'])([^\"']+)\\1");
+
+    private static final String AND = "&&";
+    private static final String OR = "||";
+    private static final String AND_KEYWORD = "and";
+    private static final String OR_KEYWORD = "or";
+
+    /**
+     * The selectors extracted from a condition.
+     *
+     * @param paths                       The paths of the condition, any of them matches.
+     * @param methods                     The methods of the condition, any of them matches.
+     * @param remainingCondition          The condition without the paths and methods, or an empty string if nothing is left.
+     * @param remainingConditionWithPaths The condition without the methods, or an empty string if nothing is left.
+     */
+    public record ExtractedSelectors(List<String> paths, List<String> methods, String remainingCondition, String remainingConditionWithPaths) {
+    }
+
+    /**
+     * Extracts the paths and methods from the condition.
+     *
+     * @param condition The Gravitee EL condition, wrapped in {}.
+     * @return The extracted selectors.
+     */
+    public static ExtractedSelectors extract(String condition) {
+        String expression = unwrap(condition.trim(), '{', '}');
+        if (expression == null) {
+            // e.g. {a} && {b}, the condition is kept as it is
+            return new ExtractedSelectors(List.of(), List.of(), condition.trim(), condition.trim());
+        }
+
+        // AND binds tighter than OR, so a top level OR is only extracted when it is made of paths
+        List<String> disjuncts = split(expression, OR, OR_KEYWORD);
+        List<String> conjuncts = disjuncts.size() > 1 ? List.of(expression) : split(expression, AND, AND_KEYWORD);
+
+        List<String> paths = List.of();
+        List<String> methods = List.of();
+        String pathCondition = null;
+        List<String> otherConditions = new ArrayList<>();
+
+        for (String conjunct : conjuncts) {
+            List<String> conjunctPaths = paths.isEmpty() ? extractAlternatives(conjunct, PATH_CONDITION, 1) : List.of();
+            if (!conjunctPaths.isEmpty()) {
+                paths = conjunctPaths;
+                pathCondition = conjunct;
+                continue;
+            }
+
+            List<String> conjunctMethods = methods.isEmpty() ? extractAlternatives(conjunct, METHOD_CONDITION, 2) : List.of();
+            if (!conjunctMethods.isEmpty()) {
+                methods = conjunctMethods;
+                continue;
+            }
+
+            otherConditions.add(conjunct);
+        }
+
+        List<String> otherConditionsWithPaths = new ArrayList<>(otherConditions);
+        if (pathCondition != null) {
+            otherConditionsWithPaths.addFirst(pathCondition);
+        }
+
+        return new ExtractedSelectors(paths, methods, join(otherConditions), join(otherConditionsWithPaths));
+    }
+
+    /**
+     * Returns the values of the condition if it is made of one or several (OR) conditions matching the pattern.
+     */
+    private static List<String> extractAlternatives(String condition, Pattern pattern, int valueGroup) {
+        List<String> values = new ArrayList<>();
+
+        for (String alternative : split(stripParentheses(condition), OR, OR_KEYWORD)) {
+            Matcher matcher = pattern.matcher(stripParentheses(alternative));
+            if (!matcher.matches()) {
+                return List.of();
+            }
+            values.add(matcher.group(valueGroup));
+        }
+        return values;
+    }
+
+    /**
+     * Splits the expression on the top level operator, the operator is ignored inside parentheses, braces and quoted strings.
+     */
+    private static List<String> split(String expression, String operator, String keyword) {
+        List<String> operands = new ArrayList<>();
+        int depth = 0;
+        char quote = 0;
+        int start = 0;
+
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '(' || c == '{' || c == '[') {
+                depth++;
+            } else if (c == ')' || c == '}' || c == ']') {
+                depth--;
+            } else if (depth == 0) {
+                int operatorLength = operatorLengthAt(expression, i, operator, keyword);
+                if (operatorLength > 0) {
+                    operands.add(expression.substring(start, i).trim());
+                    start = i + operatorLength;
+                    i = start - 1;
+                }
+            }
+        }
+        operands.add(expression.substring(start).trim());
+        return operands;
+    }
+
+    private static int operatorLengthAt(String expression, int index, String operator, String keyword) {
+        if (expression.startsWith(operator, index)) {
+            return operator.length();
+        }
+        // The keyword form (and, or) must be a separate word
+        boolean keywordFound = expression.regionMatches(true, index, keyword, 0, keyword.length())
+                && index > 0 && Character.isWhitespace(expression.charAt(index - 1))
+                && index + keyword.length() < expression.length() && Character.isWhitespace(expression.charAt(index + keyword.length()));
+        return keywordFound ? keyword.length() : 0;
+    }
+
+    private static String stripParentheses(String expression) {
+        String stripped = expression.trim();
+        String unwrapped;
+        while ((unwrapped = unwrap(stripped, '(', ')')) != null) {
+            stripped = unwrapped.trim();
+        }
+        return stripped;
+    }
+
+    /**
+     * Returns the content of the expression if the first character opens a bracket that is closed by the last character, null otherwise.
+     */
+    private static String unwrap(String expression, char opening, char closing) {
+        if (expression.length() < 2 || expression.charAt(0) != opening || expression.charAt(expression.length() - 1) != closing) {
+            return null;
+        }
+
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < expression.length() - 1; i++) {
+            char c = expression.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == opening) {
+                depth++;
+            } else if (c == closing && --depth == 0) {
+                // The first bracket is closed before the end, e.g. (a) && (b)
+                return null;
+            }
+        }
+        return expression.substring(1, expression.length() - 1);
+    }
+
+    private static String join(List<String> conditions) {
+        return conditions.isEmpty() ? "" : "{" + String.join(" " + AND + " ", conditions) + "}";
+    }
+}
@@ -0,0 +1,128 @@
+package com.gravitee.migration.converter.condition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static com.gravitee.migration.util.constants.CommonConstants.EQUALS_PATH_OPERATOR;
+import static com.gravitee.migration.util.constants.CommonConstants.STARTS_WITH;
+
+/**
+ * A native path selector of a Gravitee flow, lowered from the path pattern of a translated condition.
+ * <p>
+ * Apigee path wildcards are mapped to the path selector: a single segment wildcard (*) becomes a path parameter and a trailing
+ * multi segment wildcard (**) becomes a STARTS_WITH selector ending with the path separator, so /projects/** does not match /projectsX.
+ * Patterns using other regular expression constructs can't be lowered and stay in the EL condition.
+ *
+ * @param path     The path of the selector, e.g. /projects/:param1 or /projects/.
+ * @param operator The path operator, EQUALS or STARTS_WITH.
+ */
+public record PathSelector(String path, String operator) {
+
+    private static final String PATH_SEPARATOR = "/";
+    private static final String PATH_PARAMETER_PREFIX = ":param";
+    private static final String SEGMENT_WILDCARD = "*";
+    private static final List<String> SEGMENT_WILDCARD_PATTERNS = List.of("[^/]*", "[^/]+");
+    private static final List<String> MULTI_SEGMENT_WILDCARDS = List.of(".*", "**");
+    private static final String REGEX_SPECIAL_CHARACTERS = "[]{}()*+?^$|";
+
+    /**
+     * Lowers the path pattern of a condition (see {@link ConditionElEmitter}) to a path selector.
+     *
+     * @param pattern The path pattern, e.g. /projects/[^/]* or /projects/.*
+     * @return The path selector, or empty if the pattern can't be expressed with a path selector.
+     */
+    public static Optional<PathSelector> fromPattern(String pattern) {
+        if (!pattern.startsWith(PATH_SEPARATOR)) {
+            return Optional.empty();
+        }
+
+        // The segment wildcards contain the path separator, they are replaced before splitting the segments
+        String path = pattern.substring(1);
+        for (String segmentWildcardPattern : SEGMENT_WILDCARD_PATTERNS) {
+            path = path.replace(segmentWildcardPattern, SEGMENT_WILDCARD);
+        }
+
+        List<String> segments = new ArrayList<>(List.of(path.split(PATH_SEPARATOR, -1)));
+        String operator = EQUALS_PATH_OPERATOR;
+        if (MULTI_SEGMENT_WILDCARDS.contains(segments.getLast())) {
+            segments.removeLast();
+            operator = STARTS_WITH;
+        }
+
+        StringBuilder selectorPath = new StringBuilder();
+        int parameterCount = 0;
+        for (String segment : segments) {
+            String pathSegment;
+            if (SEGMENT_WILDCARD.equals(segment)) {
+                pathSegment = PATH_PARAMETER_PREFIX + ++parameterCount;
+            } else {
+                pathSegment = unescape(segment);
+                if (pathSegment == null) {
+                    return Optional.empty();
+                }
+            }
+            selectorPath.append(PATH_SEPARATOR).append(pathSegment);
+        }
+
+        if (STARTS_WITH.equals(operator)) {
+            // The multi segment wildcard only matches below the path, e.g. /projects/.* matches /projects/1 but not /projects1
+            selectorPath.append(PATH_SEPARATOR);
+        }
+        return Optional.of(new PathSelector(selectorPath.toString(), operator));
+    }
+
+    /**
+     * Checks if a request path can be selected by both selectors, a path parameter matches any segment.
+     *
+     * @param other The other path selector.
+     * @return true if the selectors overlap, false if they select disjoint paths.
+     */
+    public boolean overlaps(PathSelector other) {
+        List<String> segments = segments();
+        List<String> otherSegments = other.segments();
+
+        for (int i = 0; i < Math.min(segments.size(), otherSegments.size()); i++) {
+            String segment = segments.get(i);
+            String otherSegment = otherSegments.get(i);
+            if (!segment.equals(otherSegment) && !segment.startsWith(PATH_PARAMETER_PREFIX) && !otherSegment.startsWith(PATH_PARAMETER_PREFIX)) {
+                return false;
+            }
+        }
+
+        // A STARTS_WITH selector matches the paths below it (and the path itself with a trailing separator), an EQUALS selector
+        // the paths with the same segments
+        if (STARTS_WITH.equals(operator)) {
+            return STARTS_WITH.equals(other.operator) || otherSegments.size() >= segments.size();
+        }
+        if (STARTS_WITH.equals(other.operator)) {
+            return segments.size() >= otherSegments.size();
+        }
+        return segments.size() == otherSegments.size();
+    }
+
+    private List<String> segments() {
+        return List.of(path.split(PATH_SEPARATOR)).stream()
+                .filter(segment -> !segment.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Returns the literal value of the segment, or null if the segment contains regular expression constructs.
+     */
+    private static String unescape(String segment) {
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '\\' && i + 1 < segment.length()) {
+                literal.append(segment.charAt(++i));
+            } else if (REGEX_SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+                return null;
+            } else {
+                // An unescaped dot is kept as is, the hardcoded mappings use literal paths
+                literal.append(c);
+            }
+        }
+        return literal.toString();
+    }
+}
@@ -0,0 +1,125 @@
+package com.gravitee.migration.converter.context;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Name index of the policies and target endpoints of a single bundle (apiproxy or sharedflowbundle).
+ * Built once when the bundle is read, so steps and route rules are resolved by name without scanning all documents.
+ */
+@Slf4j
+public class BundleSymbolTable {
+
+    /**
+     * A policy of the bundle, with its name (name attribute of the root element) and type (root element name).
+     */
+    public record PolicySymbol(String name, String type, Document document) {
+    }
+
+    @Getter
+    private final String bundleName;
+    private final Map<String, PolicySymbol> policies = new LinkedHashMap<>();
+    private final Map<String, Document> targets = new LinkedHashMap<>();
+    // Missing references are reported once per bundle, even if they are referenced by several steps
+    private final Set<String> reportedMissingReferences = ConcurrentHashMap.newKeySet();
+
+    private BundleSymbolTable(String bundleName) {
+        this.bundleName = bundleName;
+    }
+
+    /**
+     * Indexes the policy and target endpoint documents of a bundle by name.
+     *
+     * @param bundleName       The name of the bundle, used when reporting missing references.
+     * @param policyDocuments  The policies of the bundle (located in /policies).
+     * @param targetDocuments  The target endpoints of the bundle (located in /targets), empty for shared flows.
+     * @return The symbol table of the bundle.
+     */
+    public static BundleSymbolTable of(String bundleName, List<Document> policyDocuments, List<Document> targetDocuments) {
+        var symbolTable = new BundleSymbolTable(bundleName);
+
+        for (Document policyDocument : policyDocuments) {
+            Element root = policyDocument.getDocumentElement();
+            var policySymbol = new PolicySymbol(root.getAttribute("name"), root.getNodeName(), policyDocument);
+            if (symbolTable.policies.putIfAbsent(policySymbol.name(), policySymbol) != null) {
+                log.warn("Duplicate policy '{}' in bundle '{}', only the first one is used", policySymbol.name(), bundleName);
+            }
+        }
+
+        for (Document targetDocument : targetDocuments) {
+            var targetName = targetDocument.getDocumentElement().getAttribute("name");
+            if (symbolTable.targets.putIfAbsent(targetName, targetDocument) != null) {
+                log.warn("Duplicate target endpoint '{}' in bundle '{}', only the first one is used", targetName, bundleName);
+            }
+        }
+
+        return symbolTable;
+    }
+
+    /**
+     * Copies the symbol table with a deep copy of every document, used to read the documents on another thread.
+     *
+     * @return the copy of the symbol table
+     */
+    public BundleSymbolTable copy() {
+        var copy = new BundleSymbolTable(bundleName);
+        policies.forEach((name, policySymbol) -> copy.policies.put(name,
+                new PolicySymbol(policySymbol.name(), policySymbol.type(), (Document) policySymbol.document().cloneNode(true))));
+        targets.forEach((name, targetDocument) -> copy.targets.put(name, (Document) targetDocument.cloneNode(true)));
+        return copy;
+    }
+
+    /**
+     * Finds the policy referenced by a step.
+     *
+     * @param policyName       The name of the policy referenced in the step.
+     * @param migrationContext The context where a missing policy is reported.
+     * @return The policy, or null if the bundle does not contain it.
+     */
+    public PolicySymbol findPolicy(String policyName, MigrationContext migrationContext) {
+        var policySymbol = policies.get(policyName);
+        if (policySymbol == null) {
+            reportMissingReference("policy", policyName, migrationContext);
+        }
+        return policySymbol;
+    }
+
+    /**
+     * Finds the target endpoint referenced by a route rule.
+     *
+     * @param targetName       The name of the target endpoint referenced in the route rule.
+     * @param migrationContext The context where a missing target endpoint is reported.
+     * @return The target endpoint document, or null if the bundle does not contain it.
+     */
+    public Document findTarget(String targetName, MigrationContext migrationContext) {
+        var targetDocument = targets.get(targetName);
+        if (targetDocument == null) {
+            reportMissingReference("target endpoint", targetName, migrationContext);
+        }
+        return targetDocument;
+    }
+
+    /**
+     * Returns the policies of the given type (root element name), e.g. all FlowCallout policies of a shared flow.
+     */
+    public List<PolicySymbol> getPolicies(String policyType) {
+        return policies.values().stream()
+                .filter(policySymbol -> policySymbol.type().equals(policyType))
+                .toList();
+    }
+
+    public List<Document> getTargets() {
+        return List.copyOf(targets.values());
+    }
+
+    private void reportMissingReference(String referenceType, String name, MigrationContext migrationContext) {
+        if (name != null && !name.isEmpty() && reportedMissingReferences.add(referenceType + ":" + name)) {
+            migrationContext.addWarning(String.format("Missing %s '%s' referenced in bundle '%s', the reference is skipped", referenceType, name, bundleName));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.gravitee.migration.converter.context;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * Holds the state accumulated during a single migration run.
+ * A new context is created for every migration and passed down to the converters, so nothing leaks between runs
+ * and several migrations can be converted at the same time. A context itself is used by a single thread.
+ */
+@Slf4j
+@Getter
+public class MigrationContext {
+
+    // Security policies (VerifyJWT, VerifyAPIKey) used to decide which plans are created
+    private final Set<String> securityPolicies = new LinkedHashSet<>();
+    // Cache resources used by the cache policies (LookupCache, PopulateCache, ResponseCache), with the longest time to live
+    // of the entries stored in them (Long.MAX_VALUE when an entry never expires, 0 when no policy stores entries)
+    private final Map<String, Long> cacheResources = new LinkedHashMap<>();
+    // Concurrent connection limits (ConcurrentRatelimit) by target endpoint name, applied to the endpoint groups of the api
+    private final Map<String, Integer> concurrentConnectionLimits = new LinkedHashMap<>();
+    // Gravitee EL conditions of the MessageLogging policies (empty for an unconditional policy), used to configure the api logging
+    private final Set<String> messageLoggingConditions = new LinkedHashSet<>();
+    // Gravitee EL conditions of the MessageLogging policies of the shared policy groups, by shared policy group name. They are
+    // added to the conditions of an api referencing the shared policy group, combined with the condition of the FlowCallout
+    private final Map<String, Set<String>> sharedPolicyGroupMessageLoggingConditions = new LinkedHashMap<>();
+    // Resources array of the api object
+    private final ArrayNode resources = JsonNodeFactory.instance.arrayNode();
+    // Values that need to be entered in the dictionary in gravitee
+    private final Map<String, String> dictionaryEntries = new LinkedHashMap<>();
+    // Warnings reported during the conversion
+    private final List<String> warnings = new ArrayList<>();
+    // Shared flows converted during this run, shared with every context created from this one
+    private final SharedFlowCache sharedFlowCache;
+    // Locations of the shared flows being converted, used to detect FlowCallout cycles
+    private final List<String> sharedFlowChain;
+    // Condition and AssignMessage template mappings taken when the migration starts, a reload of the mapping files
+    // doesn't change them in the middle of a migration
+    private final Map<String, String> conditionMappings;
+    private final Map<String, String> assignMessageTemplateMappings;
+    // Apigee condition of the conditional flow or RouteRule whose steps are being converted (null outside of them),
+    // the policies that are not converted to flow policies (e.g. MessageLogging) combine it with their own condition
+    private String flowCondition;
+
+    /**
+     * Creates the context of a new migration.
+     *
+     * @param conditionMappings             the condition mappings used by the whole migration, keyed by canonical condition
+     * @param assignMessageTemplateMappings the AssignMessage template mappings used by the whole migration, keyed by trimmed template
+     */
+    public MigrationContext(Map<String, String> conditionMappings, Map<String, String> assignMessageTemplateMappings) {
+        this(new SharedFlowCache(), List.of(), conditionMappings, assignMessageTemplateMappings);
+    }
+
+    private MigrationContext(SharedFlowCache sharedFlowCache, List<String> sharedFlowChain, Map<String, String> conditionMappings, Map<String, String> assignMessageTemplateMappings) {
+        this.sharedFlowCache = sharedFlowCache;
+        this.sharedFlowChain = sharedFlowChain;
+        this.conditionMappings = conditionMappings;
+        this.assignMessageTemplateMappings = assignMessageTemplateMappings;
+    }
+
+    /**
+     * Creates a context that starts with the state collected by the parent context.
+     * Used to share the state collected from the shared flows with every APIProxy of a batch.
+     *
+     * @param parent the context to copy the collected state from
+     */
+    public MigrationContext(MigrationContext parent) {
+        this(parent.sharedFlowCache, parent.sharedFlowChain, parent.conditionMappings, parent.assignMessageTemplateMappings);
+        securityPolicies.addAll(parent.securityPolicies);
+        parent.cacheResources.forEach(this::addCacheResource);
+        parent.concurrentConnectionLimits.forEach(this::addConcurrentConnectionLimit);
+        messageLoggingConditions.addAll(parent.messageLoggingConditions);
+        parent.sharedPolicyGroupMessageLoggingConditions.forEach(this::addSharedPolicyGroupMessageLoggingConditions);
+        dictionaryEntries.putAll(parent.dictionaryEntries);
+    }
+
+    /**
+     * Creates an empty context sharing the shared flow cache and the mappings of this context, used to convert part of the migration
+     * on another thread. The state collected in it is added to this context with {@link #merge(MigrationContext)}.
+     *
+     * @return the child context
+     */
+    public MigrationContext createChildContext() {
+        return new MigrationContext(sharedFlowCache, sharedFlowChain, conditionMappings, assignMessageTemplateMappings);
+    }
+
+    /**
+     * Creates an empty context used to convert a shared flow called by this context.
+     * The state collected in it is cached with the converted shared flow and merged into every context that uses it.
+     *
+     * @param sharedFlowBundleLocation the location of the shared flow being converted
+     * @return the context of the shared flow, sharing the shared flow cache of this context
+     */
+    public MigrationContext forSharedFlow(String sharedFlowBundleLocation) {
+        List<String> chain = new ArrayList<>(sharedFlowChain);
+        chain.add(sharedFlowBundleLocation);
+        return new MigrationContext(sharedFlowCache, List.copyOf(chain), conditionMappings, assignMessageTemplateMappings);
+    }
+
+    /**
+     * Checks if the shared flow is already being converted by this context or one of its callers (FlowCallout cycle).
+     */
+    public boolean isConvertingSharedFlow(String sharedFlowBundleLocation) {
+        return sharedFlowChain.contains(sharedFlowBundleLocation);
+    }
+
+    /**
+     * Adds the state collected by another context, e.g. the context of a converted shared flow, to this context.
+     *
+     * @param other the context to merge into this context
+     */
+    public void merge(MigrationContext other) {
+        mergeCollectedState(other);
+        messageLoggingConditions.addAll(other.messageLoggingConditions);
+    }
+
+    /**
+     * Adds the state collected by the context of a shared flow converted to a shared policy group to this context.
+     * The MessageLogging conditions are kept by shared policy group, they only apply to the apis referencing it.
+     *
+     * @param sharedPolicyGroupName the name of the shared policy group
+     * @param other                 the context used to convert the steps of the shared policy group
+     */
+    public void mergeSharedPolicyGroup(String sharedPolicyGroupName, MigrationContext other) {
+        mergeCollectedState(other);
+        addSharedPolicyGroupMessageLoggingConditions(sharedPolicyGroupName, other.messageLoggingConditions);
+    }
+
+    private void mergeCollectedState(MigrationContext other) {
+        securityPolicies.addAll(other.securityPolicies);
+        other.cacheResources.forEach(this::addCacheResource);
+        other.concurrentConnectionLimits.forEach(this::addConcurrentConnectionLimit);
+        other.sharedPolicyGroupMessageLoggingConditions.forEach(this::addSharedPolicyGroupMessageLoggingConditions);
+        dictionaryEntries.putAll(other.dictionaryEntries);
+        for (String warning : other.warnings) {
+            // Already logged by the other context, and reported once even if the shared flow is used several times
+            if (!warnings.contains(warning)) {
+                warnings.add(warning);
+            }
+        }
+    }
+
+    public void addSecurityPolicy(String policyType) {
+        securityPolicies.add(policyType);
+    }
+
+    public void addCacheResource(String cacheName, long timeToLive) {
+        // The time to live of the resource bounds the time to live of the entries, so it is the longest one of the policies
+        cacheResources.merge(cacheName, timeToLive, Math::max);
+    }
+
+    public void addConcurrentConnectionLimit(String targetEndpointName, int limit) {
+        // The strictest limit wins when several policies limit the same target endpoint
+        concurrentConnectionLimits.merge(targetEndpointName, limit, Math::min);
+    }
+
+    public void addMessageLoggingCondition(String condition) {
+        messageLoggingConditions.add(condition != null ? condition : "");
+    }
+
+    private void addSharedPolicyGroupMessageLoggingConditions(String sharedPolicyGroupName, Set<String> conditions) {
+        if (!conditions.isEmpty()) {
+            sharedPolicyGroupMessageLoggingConditions.computeIfAbsent(sharedPolicyGroupName, name -> new LinkedHashSet<>()).addAll(conditions);
+        }
+    }
+
+    public void setFlowCondition(String flowCondition) {
+        this.flowCondition = flowCondition;
+    }
+
+    public void addDictionaryEntry(String key, String value) {
+        if (key != null && !key.isEmpty() && value != null && !value.isEmpty()) {
+            dictionaryEntries.put(key, value);
+        }
+    }
+
+    public void addWarning(String warning) {
+        log.warn(warning);
+        warnings.add(warning);
+    }
+}
@@ -0,0 +1,163 @@
+package com.gravitee.migration.converter.context;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.w3c.dom.Document;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Holds the shared flows read and converted during a single migration run, so a shared flow referenced by several
+ * FlowCallout policies is located, parsed and converted once per phase.
+ * The cache is shared by all contexts of a run and can be used by several threads at the same time, every value is
+ * loaded by one thread. The documents of a cached bundle are not read directly, see {@link SharedFlowBundle#copy()}.
+ */
+public class SharedFlowCache {
+
+    /**
+     * A parsed shared flow bundle (sharedflowbundle folder).
+     *
+     * @param location    The location of the sharedflowbundle folder, on the disk or inside a zip archive.
+     * @param symbolTable The policies of the shared flow, indexed by name.
+     * @param steps       The shared flow document that contains the steps (located in /sharedflowbundle/sharedflows).
+     */
+    public record SharedFlowBundle(String location, BundleSymbolTable symbolTable, Document steps) {
+
+        /**
+         * Copies the documents of the bundle for a conversion. A DOM is not thread safe even when it is only read (the nodes
+         * cache their child lists while they are read), so the documents of a cached bundle are only read while holding its
+         * lock, to copy them. The converters read the copy, owned by the calling thread.
+         *
+         * @return a bundle with a deep copy of every document
+         */
+        public SharedFlowBundle copy() {
+            synchronized (this) {
+                return new SharedFlowBundle(location, symbolTable.copy(), (Document) steps.cloneNode(true));
+            }
+        }
+    }
+
+    /**
+     * The steps of a shared flow converted for one phase, with the state collected while converting them.
+     *
+     * @param steps            The converted steps, must be copied before they are added to a flow.
+     * @param migrationContext The security policies, cache policies, dictionary entries and warnings of the shared flow.
+     */
+    public record ConvertedSharedFlow(ArrayNode steps, MigrationContext migrationContext) {
+    }
+
+    /**
+     * Loads a value that is missing from the cache.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws Exception;
+    }
+
+    private record ConvertedSharedFlowKey(String bundleLocation, String phase) {
+    }
+
+    // Location of the shared flow folder (or zip archive) referenced by the SharedFlowBundle element of a FlowCallout
+    private final Map<String, CompletableFuture<String>> sharedFlowLocations = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<SharedFlowBundle>> bundles = new ConcurrentHashMap<>();
+    private final Map<ConvertedSharedFlowKey, CompletableFuture<ConvertedSharedFlow>> convertedSharedFlows = new ConcurrentHashMap<>();
+
+    // Thread loading every value in progress, and value waited for by every thread (guarded by the loads map)
+    private final Map<CompletableFuture<?>, Thread> loads = new HashMap<>();
+    private final Map<Thread, CompletableFuture<?>> waits = new HashMap<>();
+
+    public String getSharedFlowLocation(String sharedFlowBundleName, Loader<String> locator) throws Exception {
+        return getOrLoad(sharedFlowLocations, sharedFlowBundleName, locator);
+    }
+
+    public SharedFlowBundle getBundle(String bundleLocation, Loader<SharedFlowBundle> reader) throws Exception {
+        return getOrLoad(bundles, bundleLocation, reader);
+    }
+
+    public ConvertedSharedFlow getConvertedSharedFlow(String bundleLocation, String phase, Loader<ConvertedSharedFlow> converter) throws Exception {
+        return getOrLoad(convertedSharedFlows, new ConvertedSharedFlowKey(bundleLocation, phase), converter);
+    }
+
+    /**
+     * Returns the cached value, or loads and caches it. Every value is loaded once: the first thread missing a key loads it,
+     * the other threads wait for its value. The loader is called outside the map, since converting a shared flow can
+     * load other shared flows. When waiting would deadlock (two shared flows calling each other, converted by two
+     * threads at the same time), the thread loads the value itself without caching it.
+     */
+    private <K, V> V getOrLoad(Map<K, CompletableFuture<V>> cache, K key, Loader<V> loader) throws Exception {
+        CompletableFuture<V> newLoad = new CompletableFuture<>();
+        CompletableFuture<V> load = cache.computeIfAbsent(key, k -> newLoad);
+        if (load == newLoad) {
+            return load(cache, key, load, loader);
+        }
+        if (load.isDone()) {
+            return await(load);
+        }
+        if (!startWaiting(load)) {
+            return loader.load();
+        }
+        try {
+            return await(load);
+        } finally {
+            synchronized (loads) {
+                waits.remove(Thread.currentThread());
+            }
+        }
+    }
+
+    private <K, V> V load(Map<K, CompletableFuture<V>> cache, K key, CompletableFuture<V> load, Loader<V> loader) throws Exception {
+        synchronized (loads) {
+            loads.put(load, Thread.currentThread());
+        }
+        try {
+            V value = loader.load();
+            load.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // A failed load is not cached, the threads waiting for it get the same error
+            cache.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (loads) {
+                loads.remove(load);
+            }
+        }
+    }
+
+    /**
+     * Registers the current thread as waiting for the load, unless the thread loading it waits (directly or through
+     * other threads) for a value loaded by the current thread.
+     */
+    private boolean startWaiting(CompletableFuture<?> load) {
+        Thread currentThread = Thread.currentThread();
+        synchronized (loads) {
+            Thread loadingThread = loads.get(load);
+            while (loadingThread != null) {
+                if (loadingThread == currentThread) {
+                    return false;
+                }
+                loadingThread = loads.get(waits.get(loadingThread));
+            }
+            waits.put(currentThread, load);
+            return true;
+        }
+    }
+
+    private <V> V await(CompletableFuture<V> load) throws Exception {
+        try {
+            return load.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
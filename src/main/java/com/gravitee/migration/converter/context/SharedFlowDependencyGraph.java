@@ -0,0 +1,117 @@
+package com.gravitee.migration.converter.context;
+
+import java.util.*;
+
+/**
+ * Dependency graph of the shared flows of a migration, built from the FlowCallout policies of every shared flow.
+ * Used to convert the shared flows leaves first: every shared flow of a level only calls shared flows of the
+ * previous levels, so the shared flows of a level can be converted at the same time.
+ */
+public class SharedFlowDependencyGraph {
+
+    // Shared flow name -> names of the shared flows it calls, sorted by name for a stable order
+    private final Map<String, Set<String>> dependencies = new TreeMap<>();
+    private final List<List<String>> levels = new ArrayList<>();
+    private final List<String> cyclicSharedFlows = new ArrayList<>();
+    private final List<List<String>> cycles = new ArrayList<>();
+
+    private SharedFlowDependencyGraph() {
+    }
+
+    /**
+     * Builds the graph and splits the shared flows in levels.
+     *
+     * @param dependencies The names of the shared flows called by every shared flow, all names must be keys of the map.
+     * @return The dependency graph of the shared flows.
+     */
+    public static SharedFlowDependencyGraph of(Map<String, Set<String>> dependencies) {
+        var graph = new SharedFlowDependencyGraph();
+        dependencies.forEach((sharedFlow, calledSharedFlows) -> graph.dependencies.put(sharedFlow, new TreeSet<>(calledSharedFlows)));
+
+        graph.computeLevels();
+        graph.computeCycles();
+        return graph;
+    }
+
+    /**
+     * Returns the shared flows that are not part of (or do not depend on) a cycle, grouped by level, leaves first.
+     */
+    public List<List<String>> getLevels() {
+        return Collections.unmodifiableList(levels);
+    }
+
+    /**
+     * Returns the shared flows that are part of a cycle, or call a shared flow that is part of a cycle.
+     * They cannot be ordered and are converted after all levels.
+     */
+    public List<String> getCyclicSharedFlows() {
+        return Collections.unmodifiableList(cyclicSharedFlows);
+    }
+
+    /**
+     * Returns the FlowCallout cycles, every cycle is a path that starts and ends with the same shared flow.
+     */
+    public List<List<String>> getCycles() {
+        return Collections.unmodifiableList(cycles);
+    }
+
+    private void computeLevels() {
+        // Number of shared flows called by every shared flow that are not converted yet
+        Map<String, Integer> pendingDependencies = new TreeMap<>();
+        // Shared flow name -> names of the shared flows calling it
+        Map<String, List<String>> callers = new HashMap<>();
+        dependencies.forEach((sharedFlow, calledSharedFlows) -> {
+            pendingDependencies.put(sharedFlow, calledSharedFlows.size());
+            calledSharedFlows.forEach(calledSharedFlow -> callers.computeIfAbsent(calledSharedFlow, key -> new ArrayList<>()).add(sharedFlow));
+        });
+
+        List<String> level = pendingDependencies.entrySet().stream()
+                .filter(entry -> entry.getValue() == 0)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        while (!level.isEmpty()) {
+            levels.add(level);
+            level.forEach(pendingDependencies::remove);
+
+            Set<String> nextLevel = new TreeSet<>();
+            for (String sharedFlow : level) {
+                for (String caller : callers.getOrDefault(sharedFlow, List.of())) {
+                    if (pendingDependencies.merge(caller, -1, Integer::sum) == 0) {
+                        nextLevel.add(caller);
+                    }
+                }
+            }
+            level = List.copyOf(nextLevel);
+        }
+
+        // Shared flows that could not be ordered are part of a cycle, or depend on one
+        cyclicSharedFlows.addAll(pendingDependencies.keySet());
+    }
+
+    private void computeCycles() {
+        Set<String> visited = new HashSet<>();
+        for (String sharedFlow : cyclicSharedFlows) {
+            findCycles(sharedFlow, new ArrayList<>(), visited);
+        }
+    }
+
+    private void findCycles(String sharedFlow, List<String> path, Set<String> visited) {
+        int index = path.indexOf(sharedFlow);
+        if (index >= 0) {
+            List<String> cycle = new ArrayList<>(path.subList(index, path.size()));
+            cycle.add(sharedFlow);
+            cycles.add(cycle);
+            return;
+        }
+        if (!visited.add(sharedFlow)) {
+            return;
+        }
+
+        path.add(sharedFlow);
+        for (String calledSharedFlow : dependencies.getOrDefault(sharedFlow, Set.of())) {
+            findCycles(calledSharedFlow, path, visited);
+        }
+        path.remove(path.size() - 1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.gravitee.migration.converter.object;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.MigrationContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.gravitee.migration.util.StringUtils.unwrapExpression;
+import static com.gravitee.migration.util.constants.CommonConstants.*;
+import static com.gravitee.migration.util.constants.object.ApiObjectConstants.*;
+import static com.gravitee.migration.util.constants.object.SharedFlowObjectConstants.PHASE;
+
+/**
+ * This class is responsible for the analytics settings of the api object in the Gravitee JSON.
+ * <p>
+ * The MessageLogging policies of Apigee send a message to a logging server for each request, usually from the PostClientFlow.
+ * Gravitee logs the requests of an api with its logging settings, the logs are sent by the reporters of the gateway once the
+ * response is sent, so logging never delays the response. Only a sample of the requests is logged and the headers and payloads
+ * are not logged unless configured, logging every message in full costs more than serving it at high throughput.
+ */
+@Component
+public class AnalyticsConverter {
+
+    // The type references (e.g. T(java.lang.Math).random()) are rejected by the default EL whitelist of the gateway, the requests
+    // are sampled by the milliseconds of their timestamp instead
+    private static final String SAMPLING_CONDITION_FORMAT = "#request.timestamp %% 1000 < %d";
+
+    @Value("${gravitee.logging.sampling-rate:0.1}")
+    private double samplingRate;
+
+    @Value("${gravitee.logging.content:false}")
+    private boolean logContent;
+
+    /**
+     * Creates the analytics object inside the api object when the api uses MessageLogging policies.
+     *
+     * @param apiNode          The api object in the Gravitee JSON.
+     * @param migrationContext The context of the current migration, holds the conditions of the MessageLogging policies.
+     */
+    public void mapAnalytics(ObjectNode apiNode, MigrationContext migrationContext) {
+        var loggingConditions = migrationContext.getMessageLoggingConditions();
+        if (loggingConditions.isEmpty()) {
+            return;
+        }
+
+        var analyticsNode = apiNode.putObject(ANALYTICS);
+        analyticsNode.put(ENABLED, true);
+
+        var loggingNode = analyticsNode.putObject(LOGGING);
+        var modeNode = loggingNode.putObject(MODE);
+        modeNode.put(ENTRYPOINT, true);
+        modeNode.put(ENDPOINT, false);
+
+        var phaseNode = loggingNode.putObject(PHASE);
+        phaseNode.put(REQUEST, true);
+        phaseNode.put(RESPONSE, true);
+
+        var contentNode = loggingNode.putObject(CONTENT);
+        contentNode.put(HEADERS, logContent);
+        contentNode.put(PAYLOAD, logContent);
+
+        var condition = buildLoggingCondition(loggingConditions);
+        if (!condition.isEmpty()) {
+            loggingNode.put(CONDITION, "{" + condition + "}");
+        }
+    }
+
+    private String buildLoggingCondition(Set<String> loggingConditions) {
+        List<String> conditions = new ArrayList<>();
+
+        // A request is logged when one of the MessageLogging policies applies, an unconditional policy applies to every request
+        if (!loggingConditions.contains("")) {
+            var policyConditions = loggingConditions.stream().map(condition -> "(" + unwrapExpression(condition) + ")").toList();
+            conditions.add(policyConditions.size() == 1 ? policyConditions.getFirst() : "(" + String.join(" || ", policyConditions) + ")");
+        }
+        if (samplingRate < 1) {
+            conditions.add(String.format(SAMPLING_CONDITION_FORMAT, Math.round(Math.max(samplingRate, 0) * 1000)));
+        }
+        return String.join(" && ", conditions);
+    }
+}
@@ -1,24 +1,31 @@
 package com.gravitee.migration.converter.object;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.util.DateUtils;
+import com.gravitee.migration.util.policy.CacheExpiryUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
-import static com.gravitee.migration.util.StringUtils.isNotNullOrEmpty;
-import static com.gravitee.migration.util.StringUtils.removeNewLines;
+import static com.gravitee.migration.util.StringUtils.*;
 import static com.gravitee.migration.util.constants.object.ApiObjectConstants.*;
 import static com.gravitee.migration.util.constants.CommonConstants.*;
 import static com.gravitee.migration.util.constants.folder.FolderConstants.RESOURCES;
+import static com.gravitee.migration.util.constants.object.PlanObjectConstants.CONNECT_TIMEOUT;
+import static com.gravitee.migration.util.constants.object.PlanObjectConstants.FOLLOW_REDIRECTS;
+import static com.gravitee.migration.util.constants.object.PlanObjectConstants.METHOD;
 
 /**
  * This class is responsible for mapping fields from the Apigee XML to the api object in the Gravitee JSON.
@@ -27,9 +34,53 @@ import static com.gravitee.migration.util.constants.folder.FolderConstants.RESOU
 @RequiredArgsConstructor
 public class ApiObjectConverter {
 
+    // Apigee defaults of the HTTPTargetConnection properties
+    private static final long DEFAULT_CONNECT_TIMEOUT_MILLIS = 3000;
+    private static final long DEFAULT_IO_TIMEOUT_MILLIS = 55000;
+    private static final long DEFAULT_KEEPALIVE_TIMEOUT_MILLIS = 60000;
+    private static final String CONNECT_TIMEOUT_PROPERTY = "connect.timeout.millis";
+    private static final String IO_TIMEOUT_PROPERTY = "io.timeout.millis";
+    private static final String KEEPALIVE_TIMEOUT_PROPERTY = "keepalive.timeout.millis";
+    private static final String COMPRESSION_ALGORITHM_PROPERTY = "compression.algorithm";
+    private static final String SUPPORTS_HTTP11_PROPERTY = "supports.http11";
+    private static final String NO_COMPRESSION = "NONE";
+    private static final String REDIS_CACHE_TYPE = "redis";
+    // Intervals (in seconds) a cron expression repeats at exactly: the divisors of a minute, of an hour and of a day
+    private static final int[] HEALTH_CHECK_INTERVALS = {1, 2, 3, 4, 5, 6, 10, 12, 15, 20, 30, 60, 120, 180, 240, 300, 360, 600, 720,
+            900, 1200, 1800, 3600, 7200, 10800, 14400, 21600, 28800, 43200, 86400};
+
     private final ObjectMapper objectMapper;
     private final XPath xPath;
-    private ArrayNode resourcesArray;
+
+    @Value("${gravitee.endpoint.max-concurrent-connections:100}")
+    private int maxConcurrentConnections;
+
+    @Value("${gravitee.cache.type:local}")
+    private String cacheType;
+
+    @Value("${gravitee.cache.max-entries-local-heap:1000}")
+    private int maxEntriesLocalHeap;
+
+    @Value("#{${gravitee.cache.max-entries-local-heap-per-resource:{:}}}")
+    private Map<String, Integer> maxEntriesLocalHeapPerResource;
+
+    @Value("${gravitee.cache.redis.host:localhost}")
+    private String redisHost;
+
+    @Value("${gravitee.cache.redis.port:6379}")
+    private int redisPort;
+
+    @Value("${gravitee.cache.redis.password:}")
+    private String redisPassword;
+
+    @Value("${gravitee.cache.redis.use-ssl:false}")
+    private boolean redisUseSsl;
+
+    @Value("${gravitee.cache.redis.timeout:2000}")
+    private int redisTimeout;
+
+    @Value("${gravitee.cache.redis.max-total:8}")
+    private int redisMaxTotal;
 
     /**
      * Creates the api object in the Gravitee JSON, with values mapped from Apigee XML.
@@ -37,8 +88,9 @@ public class ApiObjectConverter {
      * @param rootXml        the main xml document containing the <APIProxy> tag, located in the apiproxy folder
      * @param proxyXml       the document containing the proxy information located in proxies folder
      * @param graviteeConfig the root Gravitee JSON object
+     * @param migrationContext the context of the current migration, holds the resources of the api
      */
-    public void mapApiObject(Document rootXml, Document proxyXml, ObjectNode graviteeConfig, List<Document> targetEndpointXmls) throws XPathExpressionException {
+    public void mapApiObject(Document rootXml, Document proxyXml, ObjectNode graviteeConfig, List<Document> targetEndpointXmls, MigrationContext migrationContext) throws XPathExpressionException {
         var apiNode = graviteeConfig.putObject(API_OBJECT);
         // Hardcoded values for Gravitee
         apiNode.put(DEFINITION_VERSION, V4);
@@ -65,15 +117,20 @@ public class ApiObjectConverter {
         apiNode.put(UPDATED_AT, DateUtils.convertMillisToIso8601(Long.parseLong(updatedAtMillis)));
 
         mapListeners(proxyXml, apiNode);
-        mapEndpointGroups(apiNode, targetEndpointXmls, !apiName.isEmpty() ? apiName : UUID.randomUUID().toString());
+        mapEndpointGroups(apiNode, proxyXml, targetEndpointXmls, !apiName.isEmpty() ? apiName : UUID.randomUUID().toString(), migrationContext);
 
-        resourcesArray = objectMapper.createArrayNode();
-        apiNode.set(RESOURCES, resourcesArray);
+        apiNode.set(RESOURCES, migrationContext.getResources());
     }
 
-    public void buildResources(Document apiGeePolicy) throws XPathExpressionException {
-        // Extract the name of the cache resource from the policy
-        var cacheName = xPath.evaluate("/*/CacheResource", apiGeePolicy);
+    /**
+     * Creates the cache resource used by the cache policies of the api.
+     *
+     * @param cacheName        the name of the cache resource
+     * @param timeToLive       the longest time to live of the entries stored by the policies (Long.MAX_VALUE when an entry never expires)
+     * @param migrationContext the context of the current migration, holds the resources of the api
+     */
+    public void buildResources(String cacheName, long timeToLive, MigrationContext migrationContext) {
+        var resourcesArray = migrationContext.getResources();
 
         if (isResourcePresent(resourcesArray, cacheName)) {
             return;
@@ -82,15 +139,15 @@ public class ApiObjectConverter {
         // Create a new resource object if no match is found
         var resourceObject = resourcesArray.addObject();
         resourceObject.put(NAME, cacheName);
-        resourceObject.put(TYPE, "cache");
+        resourceObject.put(TYPE, REDIS_CACHE_TYPE.equalsIgnoreCase(cacheType) ? REDIS_CACHE_RESOURCE : CACHE_RESOURCE);
         resourceObject.put(ENABLED, true);
 
-        // Create the configuration as a JSON string - default values(not present in Apigee)
-        var configurationMap = new HashMap<>();
-        configurationMap.put("timeToIdleSeconds", 0);
-        configurationMap.put("timeToLiveSeconds", 0);
-        configurationMap.put("maxEntriesLocalHeap", 1000);
+        var resourceTimeToLive = timeToLive == Long.MAX_VALUE ? CacheExpiryUtil.NO_EXPIRY : timeToLive;
+        var configurationMap = REDIS_CACHE_TYPE.equalsIgnoreCase(cacheType)
+                ? createRedisCacheConfiguration(resourceTimeToLive)
+                : createLocalCacheConfiguration(cacheName, resourceTimeToLive);
 
+        // The configuration of the resources is a JSON string
         String configurationJson;
         try {
             configurationJson = objectMapper.writeValueAsString(configurationMap);
@@ -101,6 +158,68 @@ public class ApiObjectConverter {
         resourceObject.put("configuration", configurationJson);
     }
 
+    private Map<String, Object> createLocalCacheConfiguration(String cacheName, long timeToLive) {
+        var configurationMap = new LinkedHashMap<String, Object>();
+        configurationMap.put(TIME_TO_IDLE_SECONDS, 0);
+        configurationMap.put(TIME_TO_LIVE_SECONDS, timeToLive);
+        configurationMap.put(MAX_ENTRIES_LOCAL_HEAP, maxEntriesLocalHeapPerResource.getOrDefault(cacheName, maxEntriesLocalHeap));
+        return configurationMap;
+    }
+
+    private Map<String, Object> createRedisCacheConfiguration(long timeToLive) {
+        // The entries are shared by all the gateways of the deployment
+        var configurationMap = new LinkedHashMap<String, Object>();
+        configurationMap.put(RELEASE_CACHE, false);
+        configurationMap.put(MAX_TOTAL, redisMaxTotal);
+        configurationMap.put(PASSWORD, redisPassword);
+        configurationMap.put(TIME_TO_LIVE_SECONDS, timeToLive);
+        configurationMap.put(TIMEOUT, redisTimeout);
+        configurationMap.put(USE_SSL, redisUseSsl);
+
+        var standaloneMap = new LinkedHashMap<String, Object>();
+        standaloneMap.put(ENABLED, true);
+        standaloneMap.put(HOST, redisHost);
+        standaloneMap.put(PORT, redisPort);
+        configurationMap.put(STANDALONE, standaloneMap);
+        return configurationMap;
+    }
+
+    /**
+     * Applies the concurrent connection limits (ConcurrentRatelimit) collected from the flows to the endpoint groups of the targets.
+     *
+     * @param apiNode          the api object in the Gravitee JSON
+     * @param migrationContext the context of the current migration, holds the limits by target endpoint name
+     */
+    public void applyConcurrentConnectionLimits(ObjectNode apiNode, MigrationContext migrationContext) {
+        var endpointGroupsArray = apiNode.path(ENDPOINT_GROUPS);
+
+        migrationContext.getConcurrentConnectionLimits().forEach((targetName, limit) -> {
+            var endpointGroupNode = findEndpointGroup(endpointGroupsArray, targetName);
+            if (endpointGroupNode == null) {
+                // e.g. a dynamic target URL, routed through the default endpoint group
+                migrationContext.addWarning(String.format("Target endpoint '%s' has no endpoint group, its concurrent connection limit of %d is not applied", targetName, limit));
+                return;
+            }
+
+            // The limit of Gravitee applies to each endpoint of the group, the connections of the target are shared by its endpoints
+            var endpointCount = Math.max(endpointGroupNode.path(ENDPOINTS).size(), 1);
+            var httpNode = (ObjectNode) endpointGroupNode.path(SHARED_CONFIGURATION).path(HTTP_CONFIGURATION);
+            httpNode.put(MAX_CONCURRENT_CONNECTIONS, Math.max(limit / endpointCount, 1));
+
+            migrationContext.addWarning(String.format("Concurrent connection limit of target endpoint '%s' is enforced by each gateway, "
+                    + "the requests above the limit wait for a connection instead of being rejected", targetName));
+        });
+    }
+
+    private ObjectNode findEndpointGroup(JsonNode endpointGroupsArray, String endpointGroupName) {
+        for (var endpointGroup : endpointGroupsArray) {
+            if (endpointGroupName.equals(endpointGroup.path(NAME).asText())) {
+                return (ObjectNode) endpointGroup;
+            }
+        }
+        return null;
+    }
+
     private boolean isResourcePresent(ArrayNode resourcesArray, String cacheName) {
         for (var resource : resourcesArray) {
             if (resource.get(NAME).asText().equals(cacheName)) {
@@ -162,51 +281,314 @@ public class ApiObjectConverter {
         entrypointNode.putObject(CONFIGURATION);
     }
 
-    private void mapEndpointGroups(ObjectNode apiNode, List<Document> targetEndpointXmls, String apiName) throws XPathExpressionException {
+    /**
+     * Checks if the requests to the target endpoint are routed to its own endpoint group, i.e. the target has a static URL or a load balancer.
+     * Targets with a dynamic URL (flow variables, hosts resolved from the dictionary) are routed with the dynamic routing policy.
+     *
+     * @param targetXml the target endpoint document
+     * @return true if an endpoint group is created for the target endpoint
+     */
+    public boolean isRoutedToEndpointGroup(Document targetXml) throws XPathExpressionException {
+        if (isNotNullOrEmpty(xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/LoadBalancer/Server/@name", targetXml))) {
+            return true;
+        }
+
+        var targetUrl = xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/URL", targetXml);
+        return isNotNullOrEmpty(targetUrl) && isStaticUrl(targetUrl);
+    }
+
+    /**
+     * Finds the target endpoint of the first route rule without condition, the requests that match no other route rule are sent to it.
+     *
+     * @param proxyXml the document containing the proxy information located in proxies folder
+     * @return the name of the default target endpoint, or an empty string if every route rule has a condition
+     */
+    public String findDefaultTargetEndpoint(Document proxyXml) throws XPathExpressionException {
+        return xPath.evaluate("/ProxyEndpoint/RouteRule[not(normalize-space(Condition))][1]/TargetEndpoint", proxyXml).trim();
+    }
+
+    private void mapEndpointGroups(ObjectNode apiNode, Document proxyXml, List<Document> targetEndpointXmls, String apiName, MigrationContext migrationContext) throws XPathExpressionException {
         var endpointGroupsArray = apiNode.putArray(ENDPOINT_GROUPS);
+        var defaultTargetEndpoint = findDefaultTargetEndpoint(proxyXml);
+        Set<String> endpointNames = new HashSet<>();
 
+        // The first endpoint group is used when no endpoint is selected, it is the target of the default route rule
+        List<Document> orderedTargetEndpointXmls = new ArrayList<>(targetEndpointXmls);
         for (var targetXml : targetEndpointXmls) {
-            var loadBalancerServerNode = xPath.evaluate("TargetEndpoint/HTTPTargetConnection/LoadBalancer/Server/@name", targetXml);
-            if (isNotNullOrEmpty(loadBalancerServerNode)) {
-                createEndpointGroup(endpointGroupsArray, loadBalancerServerNode, apiName);
+            if (defaultTargetEndpoint.equals(xPath.evaluate("/TargetEndpoint/@name", targetXml))) {
+                orderedTargetEndpointXmls.remove(targetXml);
+                orderedTargetEndpointXmls.addFirst(targetXml);
+            }
+        }
+
+        for (var targetXml : orderedTargetEndpointXmls) {
+            if (isRoutedToEndpointGroup(targetXml)) {
+                createTargetEndpointGroup(endpointGroupsArray, targetXml, endpointNames, migrationContext);
+            }
+        }
+
+        if (endpointGroupsArray.isEmpty()) {
+            // Create the default endpoint group, the requests are routed with the dynamic routing policy
+            createEndpointGroup(endpointGroupsArray, DEFAULT_ENDPOINT, apiName, migrationContext);
+        }
+    }
+
+    private void createTargetEndpointGroup(ArrayNode endpointGroupsArray, Document targetXml, Set<String> endpointNames, MigrationContext migrationContext) throws XPathExpressionException {
+        var targetName = xPath.evaluate("/TargetEndpoint/@name", targetXml);
+        var endpointGroupNode = createEndpointGroupNode(endpointGroupsArray, targetName);
+        constructEndpointGroupSharedConfiguration(endpointGroupNode, targetName, readTargetProperties(targetXml), migrationContext);
+        configureSsl((ObjectNode) endpointGroupNode.get(SHARED_CONFIGURATION), targetXml, targetName, migrationContext);
+        var endpointsArray = endpointGroupNode.putArray(ENDPOINTS);
+
+        var servers = (NodeList) xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/LoadBalancer/Server", targetXml, XPathConstants.NODESET);
+        if (servers.getLength() == 0) {
+            // Static URL, a single endpoint
+            var targetUrl = xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/URL", targetXml).trim();
+            addEndpoint(endpointsArray, uniqueEndpointName(targetName, targetName, endpointNames), targetUrl);
+            return;
+        }
+
+        configureLoadBalancer(endpointGroupNode, targetXml, targetName, migrationContext);
+        configureHealthCheck(endpointGroupNode, targetXml, targetName, migrationContext);
+
+        // The servers of the load balancer are target servers of the Apigee environment, their host is not part of the bundle
+        var path = xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/Path", targetXml).trim();
+        for (int i = 0; i < servers.getLength(); i++) {
+            var server = servers.item(i);
+            if ("false".equalsIgnoreCase(xPath.evaluate("IsEnabled", server).trim())) {
+                continue;
+            }
+
+            var serverName = xPath.evaluate("@name", server);
+            var endpointNode = addEndpoint(endpointsArray, uniqueEndpointName(serverName, targetName, endpointNames), "https://changeMe-" + serverName + path);
+            endpointNode.put(WEIGHT, parsePositiveInt(xPath.evaluate("Weight", server), 1));
+            // Fallback servers only receive traffic when the other servers are down
+            endpointNode.put(SECONDARY, Boolean.parseBoolean(xPath.evaluate("IsFallback", server).trim()));
+        }
+
+        if (endpointsArray.isEmpty()) {
+            migrationContext.addWarning(String.format("All the servers of the load balancer of target endpoint '%s' are disabled", targetName));
+        }
+    }
+
+    private void configureLoadBalancer(ObjectNode endpointGroupNode, Document targetXml, String targetName, MigrationContext migrationContext) throws XPathExpressionException {
+        var algorithm = xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/LoadBalancer/Algorithm", targetXml).trim();
+        var loadBalancerNode = (ObjectNode) endpointGroupNode.get(LOAD_BALANCER);
+
+        switch (algorithm.toLowerCase()) {
+            case "weighted" -> loadBalancerNode.put(TYPE, WEIGHTED_ROUND_ROBIN);
+            case "", "roundrobin" -> loadBalancerNode.put(TYPE, ROUND_ROBIN);
+            default -> {
+                // e.g. LeastConnections, Gravitee has no equivalent
+                loadBalancerNode.put(TYPE, ROUND_ROBIN);
+                migrationContext.addWarning(String.format("Load balancer algorithm '%s' of target endpoint '%s' is not supported, ROUND_ROBIN is used", algorithm, targetName));
+            }
+        }
+    }
+
+    /**
+     * Maps the <HealthMonitor> of the target endpoint to the health check service of the endpoint group.
+     * The endpoints failing the health check are removed from the load balancer until they are healthy again.
+     */
+    private void configureHealthCheck(ObjectNode endpointGroupNode, Document targetXml, String targetName, MigrationContext migrationContext) throws XPathExpressionException {
+        var healthMonitor = (Node) xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/HealthMonitor", targetXml, XPathConstants.NODE);
+        var maxFailures = xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/LoadBalancer/MaxFailures", targetXml).trim();
+
+        if (healthMonitor == null || "false".equalsIgnoreCase(xPath.evaluate("IsEnabled", healthMonitor).trim())) {
+            if (isNotNullOrEmpty(maxFailures) && !"0".equals(maxFailures)) {
+                migrationContext.addWarning(String.format("MaxFailures of target endpoint '%s' requires a HealthMonitor, the failing servers are not removed from the load balancer", targetName));
+            }
+            return;
+        }
+
+        var httpMonitor = (Node) xPath.evaluate("HTTPMonitor", healthMonitor, XPathConstants.NODE);
+        if (httpMonitor == null) {
+            // e.g. TCPMonitor
+            migrationContext.addWarning(String.format("Only the HTTPMonitor of target endpoint '%s' can be migrated to a health check", targetName));
+            return;
+        }
+
+        var healthCheckNode = ((ObjectNode) endpointGroupNode.get(SERVICES)).putObject(HEALTH_CHECK);
+        healthCheckNode.put(ENABLED, true);
+        healthCheckNode.put(TYPE, HTTP_HEALTH_CHECK);
+        healthCheckNode.put(OVERRIDE_CONFIGURATION, false);
+
+        var configurationNode = healthCheckNode.putObject(CONFIGURATION);
+        configurationNode.put(SCHEDULE, toSchedule(parsePositiveInt(xPath.evaluate("IntervalInSec", healthMonitor), 5), targetName, migrationContext));
+        var verb = xPath.evaluate("Request/Verb", httpMonitor).trim();
+        var monitorPath = xPath.evaluate("Request/Path", httpMonitor).trim();
+        configurationNode.put(METHOD, !verb.isEmpty() ? verb.toUpperCase() : "GET");
+        configurationNode.put(TARGET, !monitorPath.isEmpty() ? monitorPath : "/");
+        configurationNode.put(OVERRIDE_ENDPOINT_PATH, true);
+
+        var headersArray = configurationNode.putArray(HEADERS);
+        var requestHeaders = (NodeList) xPath.evaluate("Request/Header", httpMonitor, XPathConstants.NODESET);
+        for (int i = 0; i < requestHeaders.getLength(); i++) {
+            var headerNode = headersArray.addObject();
+            headerNode.put(NAME, xPath.evaluate("@name", requestHeaders.item(i)));
+            headerNode.put(VALUE, requestHeaders.item(i).getTextContent().trim());
+        }
+
+        configurationNode.put(ASSERTION, buildHealthCheckAssertion(httpMonitor));
+        configurationNode.put(SUCCESS_THRESHOLD, 1);
+        configurationNode.put(FAILURE_THRESHOLD, parsePositiveInt(maxFailures, 1));
+    }
+
+    private String buildHealthCheckAssertion(Node httpMonitor) throws XPathExpressionException {
+        List<String> assertions = new ArrayList<>();
+
+        var responseCodes = (NodeList) xPath.evaluate("SuccessResponse/ResponseCode", httpMonitor, XPathConstants.NODESET);
+        List<String> statusAssertions = new ArrayList<>();
+        for (int i = 0; i < responseCodes.getLength(); i++) {
+            statusAssertions.add("#response.status == " + responseCodes.item(i).getTextContent().trim());
+        }
+        assertions.add(statusAssertions.isEmpty() ? "#response.status == 200" : "(" + String.join(" || ", statusAssertions) + ")");
+
+        var responseHeaders = (NodeList) xPath.evaluate("SuccessResponse/Header", httpMonitor, XPathConstants.NODESET);
+        for (int i = 0; i < responseHeaders.getLength(); i++) {
+            var headerName = xPath.evaluate("@name", responseHeaders.item(i));
+            assertions.add("#response.headers['" + headerName + "'][0] == '" + responseHeaders.item(i).getTextContent().trim().replace("'", "''") + "'");
+        }
+
+        return "{" + String.join(" && ", assertions) + "}";
+    }
+
+    private String toSchedule(int intervalInSeconds, String targetName, MigrationContext migrationContext) {
+        // A step of a cron field restarts with the next minute, hour or day, e.g. */7 seconds runs at 0, 7, ..., 56 and then 0
+        // again after 4 seconds, so only the intervals dividing the next unit of time are kept. The nearest one is used otherwise.
+        var interval = HEALTH_CHECK_INTERVALS[0];
+        for (var candidate : HEALTH_CHECK_INTERVALS) {
+            if (Math.abs(candidate - intervalInSeconds) < Math.abs(interval - intervalInSeconds)) {
+                interval = candidate;
             }
         }
+        if (interval != intervalInSeconds) {
+            migrationContext.addWarning(String.format("Health check interval of %d seconds of target endpoint '%s' can't be scheduled exactly, it runs every %d seconds",
+                    intervalInSeconds, targetName, interval));
+        }
 
-        // Create the default endpoint group
-        createEndpointGroup(endpointGroupsArray, DEFAULT_ENDPOINT, apiName);
+        // Cron expression with seconds, e.g. every 5 seconds
+        if (interval < 60) {
+            return "*/" + interval + " * * * * *";
+        } else if (interval < 3600) {
+            return "0 */" + interval / 60 + " * * * *";
+        } else if (interval < 86400) {
+            return "0 0 */" + interval / 3600 + " * * *";
+        }
+        return "0 0 0 * * *";
     }
 
-    private void createEndpointGroup(ArrayNode endpointGroupsArray, String endpointName, String apiName) {
+    private int parsePositiveInt(String value, int defaultValue) {
+        try {
+            var parsedValue = Integer.parseInt(value.trim());
+            return parsedValue > 0 ? parsedValue : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private String uniqueEndpointName(String name, String targetName, Set<String> endpointNames) {
+        // Endpoint names are unique across the endpoint groups of the api
+        var endpointName = endpointNames.contains(name) ? targetName + "-" + name : name;
+        endpointNames.add(endpointName);
+        return endpointName;
+    }
+
+    private boolean isStaticUrl(String url) {
+        // Flow variables ({...}) and dictionary references are resolved for every request, host names are case-insensitive
+        // so a host in upper case is static too
+        return url.contains("//") && !url.contains("{") && !url.contains(DICTIONARY_MARKER);
+    }
+
+    private void createEndpointGroup(ArrayNode endpointGroupsArray, String endpointName, String apiName, MigrationContext migrationContext) {
+        var endpointGroupNode = createEndpointGroupNode(endpointGroupsArray, endpointName);
+        constructEndpointGroupSharedConfiguration(endpointGroupNode, endpointName, Map.of(), migrationContext);
+        configureSsl((ObjectNode) endpointGroupNode.get(SHARED_CONFIGURATION));
+        constructEndpointGroupsEndpoints(endpointGroupNode, apiName);
+    }
+
+    private ObjectNode createEndpointGroupNode(ArrayNode endpointGroupsArray, String endpointGroupName) {
         var endpointGroupNode = endpointGroupsArray.addObject();
-        endpointGroupNode.put(NAME, endpointName);
+        endpointGroupNode.put(NAME, endpointGroupName);
         endpointGroupNode.put(TYPE, HTTP_PROXY);
         endpointGroupNode.putObject(SERVICES);
 
         var loadBalancerOptionsNode = endpointGroupNode.putObject(LOAD_BALANCER);
         loadBalancerOptionsNode.put(TYPE, ROUND_ROBIN);
 
-        constructEndpointGroupSharedConfiguration(endpointGroupNode);
-        constructEndpointGroupsEndpoints(endpointGroupNode, apiName);
+        return endpointGroupNode;
     }
 
-    private void constructEndpointGroupSharedConfiguration(ObjectNode endpointGroupNode) {
+    /**
+     * Creates the shared configuration of the endpoint group, the HTTP client settings are mapped from the properties of the HTTPTargetConnection.
+     * The Apigee defaults are used for the missing properties.
+     */
+    private void constructEndpointGroupSharedConfiguration(ObjectNode endpointGroupNode, String targetName, Map<String, String> properties, MigrationContext migrationContext) {
         var sharedConfigurationNode = endpointGroupNode.putObject(SHARED_CONFIGURATION);
-        configureSsl(sharedConfigurationNode);
+        var httpNode = sharedConfigurationNode.putObject(HTTP_CONFIGURATION);
+
+        var keepAliveTimeout = getMillisProperty(properties, KEEPALIVE_TIMEOUT_PROPERTY, DEFAULT_KEEPALIVE_TIMEOUT_MILLIS, targetName, migrationContext);
+        httpNode.put(CONNECT_TIMEOUT, getMillisProperty(properties, CONNECT_TIMEOUT_PROPERTY, DEFAULT_CONNECT_TIMEOUT_MILLIS, targetName, migrationContext));
+        httpNode.put(READ_TIMEOUT, getMillisProperty(properties, IO_TIMEOUT_PROPERTY, DEFAULT_IO_TIMEOUT_MILLIS, targetName, migrationContext));
+        // A keep-alive timeout of 0 disables the persistent connections
+        httpNode.put(KEEP_ALIVE, keepAliveTimeout > 0);
+        httpNode.put(KEEP_ALIVE_TIMEOUT, keepAliveTimeout > 0 ? keepAliveTimeout : DEFAULT_KEEPALIVE_TIMEOUT_MILLIS);
+        httpNode.put(IDLE_TIMEOUT, keepAliveTimeout);
+        httpNode.put(MAX_CONCURRENT_CONNECTIONS, maxConcurrentConnections);
+        httpNode.put(PIPELINING, false);
+        httpNode.put(USE_COMPRESSION, !NO_COMPRESSION.equalsIgnoreCase(properties.getOrDefault(COMPRESSION_ALGORITHM_PROPERTY, NO_COMPRESSION)));
+        httpNode.put(PROPAGATE_CLIENT_ACCEPT_ENCODING, false);
+        httpNode.put(FOLLOW_REDIRECTS, false);
+        httpNode.put(HTTP_VERSION, HTTP_1_1);
+
+        if ("false".equalsIgnoreCase(properties.get(SUPPORTS_HTTP11_PROPERTY))) {
+            migrationContext.addWarning(String.format("Target endpoint '%s' only supports HTTP/1.0, its endpoint group uses HTTP/1.1", targetName));
+        }
+    }
+
+    private Map<String, String> readTargetProperties(Document targetXml) throws XPathExpressionException {
+        Map<String, String> properties = new HashMap<>();
+        var propertyNodes = (NodeList) xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/Properties/Property", targetXml, XPathConstants.NODESET);
+
+        for (int i = 0; i < propertyNodes.getLength(); i++) {
+            var propertyNode = propertyNodes.item(i);
+            properties.put(xPath.evaluate("@name", propertyNode).trim(), propertyNode.getTextContent().trim());
+        }
+        return properties;
+    }
+
+    private long getMillisProperty(Map<String, String> properties, String propertyName, long defaultValue, String targetName, MigrationContext migrationContext) {
+        var value = properties.get(propertyName);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // e.g. a property set from a flow variable
+            migrationContext.addWarning(String.format("Invalid value '%s' of property '%s' in target endpoint '%s', the default value %d is used", value, propertyName, targetName, defaultValue));
+            return defaultValue;
+        }
     }
 
     private void constructEndpointGroupsEndpoints(ObjectNode endpointGroupNode, String apiName) {
         var endpointsArray = endpointGroupNode.putArray(ENDPOINTS);
 
-        // For each target endpoint in apiGee, create an endpoint in Gravitee
+        // Placeholder endpoint, the target is overridden by the dynamic routing policy
+        addEndpoint(endpointsArray, "Target Backend URL- " + apiName, "https://changeMe-" + apiName);
+    }
+
+    private ObjectNode addEndpoint(ArrayNode endpointsArray, String endpointName, String target) {
         var endpointNode = endpointsArray.addObject();
-        endpointNode.put(NAME, "Target Backend URL- " + apiName);
+        endpointNode.put(NAME, endpointName);
         endpointNode.put(TYPE, HTTP_PROXY);
         endpointNode.put(WEIGHT, 1);
         endpointNode.put(INHERIT_CONFIGURATION, true);
-        endpointNode.putObject(CONFIGURATION).put(TARGET, "https://changeMe-" + apiName);
+        endpointNode.putObject(CONFIGURATION).put(TARGET, target);
         endpointNode.putObject(SERVICES);
         endpointNode.put(SECONDARY, false);
-
+        return endpointNode;
     }
 
     private void configureSsl(ObjectNode sharedConfigurationNode) {
@@ -217,4 +599,21 @@ public class ApiObjectConverter {
         sslNode.putObject(KEY_STORE).put(TYPE, "");
         sslNode.putObject(TRUST_STORE).put(TYPE, "");
     }
+
+    private void configureSsl(ObjectNode sharedConfigurationNode, Document targetXml, String targetName, MigrationContext migrationContext) throws XPathExpressionException {
+        configureSsl(sharedConfigurationNode);
+
+        // Mapped from the <SSLInfo> tag, the certificates are not trusted when the validation errors are ignored
+        var ignoreValidationErrors = Boolean.parseBoolean(xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/SSLInfo/IgnoreValidationErrors", targetXml).trim());
+        var sslNode = (ObjectNode) sharedConfigurationNode.get(SSL);
+        sslNode.put(TRUST_ALL, ignoreValidationErrors);
+        sslNode.put(HOST_NAME_VERIFIER, !ignoreValidationErrors);
+
+        // The key stores and trust stores of Apigee are environment resources, they are not part of the bundle
+        var keyStore = xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/SSLInfo/KeyStore", targetXml).trim();
+        var trustStore = xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/SSLInfo/TrustStore", targetXml).trim();
+        if (isNotNullOrEmpty(keyStore) || isNotNullOrEmpty(trustStore)) {
+            migrationContext.addWarning(String.format("Target endpoint '%s' references Apigee key stores or trust stores in <SSLInfo>, they must be configured on its endpoint group", targetName));
+        }
+    }
 }
\ No newline at end of file
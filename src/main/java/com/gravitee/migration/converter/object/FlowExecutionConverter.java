@@ -0,0 +1,148 @@
+package com.gravitee.migration.converter.object;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+import static com.gravitee.migration.util.constants.CommonConstants.*;
+import static com.gravitee.migration.util.constants.object.ApiObjectConstants.*;
+import static com.gravitee.migration.util.constants.object.PlanObjectConstants.SELECTORS;
+
+/**
+ * This class is responsible for the flow execution settings of the api object in the Gravitee JSON.
+ * <p>
+ * Apigee executes the first conditional flow matching the request. When all the flows of the plan are selected by path only,
+ * the best-match flow execution of Gravitee is used: the flows sharing the same selectors are merged and the flows are ordered
+ * from the most to the least specific path, so a single flow is evaluated per request.
+ * Otherwise (unconditional PreFlow/PostFlow steps, EL conditions, flows of the RouteRules) the flows are kept in document order with
+ * the default flow execution. The flows of the RouteRules must run together with the conditional flows matching the same request,
+ * with the best-match execution a request to /a/b would only run the /a/b flow and never reach its target.
+ */
+@Component
+public class FlowExecutionConverter {
+
+    private static final String ROOT_PATH = "/";
+    private static final String PATH_SEPARATOR = "/";
+    private static final String PATH_PARAMETER_PREFIX = ":";
+    private static final List<String> FLOW_NAME_SUFFIXES = List.of("-Request", "-Response");
+
+    private static final Comparator<ObjectNode> MOST_SPECIFIC_PATH_FIRST = Comparator
+            .comparingInt((ObjectNode flow) -> countLiteralSegments(getPath(flow))).reversed()
+            .thenComparingInt(flow -> countParameterSegments(getPath(flow)))
+            .thenComparing(flow -> STARTS_WITH.equals(getHttpSelector(flow).path(PATH_OPERATOR).asText()))
+            .thenComparing(flow -> !getHttpSelector(flow).has(METHODS))
+            .thenComparing(FlowExecutionConverter::getPath);
+
+    /**
+     * Creates the flow execution object inside the api object and orders the flows of the plan for the best-match execution.
+     *
+     * @param apiNode        The api object in the Gravitee JSON.
+     * @param flowsArray     The flows of the plan.
+     * @param hasTargetFlows Indicates if the plan has flows of the target endpoints (RouteRules).
+     */
+    public void mapFlowExecution(ObjectNode apiNode, ArrayNode flowsArray, boolean hasTargetFlows) {
+        var flowExecution = apiNode.putObject(FLOW_EXECUTION);
+
+        if (hasTargetFlows || !isSelectedByPathOnly(flowsArray)) {
+            flowExecution.put(MODE, DEFAULT_FLOW_MODE);
+            flowExecution.put(MATCH_REQUIRED, false);
+            return;
+        }
+
+        // Only the best matching flow is executed, so the request and response steps of a path must be in the same flow
+        List<ObjectNode> flows = mergeFlowsWithSameSelectors(flowsArray);
+        flows.sort(MOST_SPECIFIC_PATH_FIRST);
+
+        flowsArray.removeAll();
+        flowsArray.addAll(flows);
+
+        flowExecution.put(MODE, BEST_MATCH_FLOW_MODE);
+        flowExecution.put(MATCH_REQUIRED, false);
+    }
+
+    private boolean isSelectedByPathOnly(ArrayNode flowsArray) {
+        if (flowsArray.isEmpty()) {
+            return false;
+        }
+
+        for (JsonNode flow : flowsArray) {
+            var selectors = flow.path(SELECTORS);
+            if (selectors.size() != 1 || !HTTP.equals(selectors.get(0).path(TYPE).asText())) {
+                // The flow has an EL condition
+                return false;
+            }
+
+            var httpSelector = selectors.get(0);
+            boolean matchesEveryRequest = ROOT_PATH.equals(httpSelector.path(PATH).asText())
+                    && STARTS_WITH.equals(httpSelector.path(PATH_OPERATOR).asText())
+                    && !httpSelector.has(METHODS);
+            if (matchesEveryRequest) {
+                // e.g. PreFlow and PostFlow, they must be executed together with the conditional flows
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<ObjectNode> mergeFlowsWithSameSelectors(ArrayNode flowsArray) {
+        Map<JsonNode, ObjectNode> flowsBySelectors = new LinkedHashMap<>();
+
+        for (JsonNode flow : flowsArray) {
+            var mergedFlow = flowsBySelectors.get(flow.get(SELECTORS));
+            if (mergedFlow == null) {
+                flowsBySelectors.put(flow.get(SELECTORS), (ObjectNode) flow);
+            } else {
+                mergeFlow(mergedFlow, (ObjectNode) flow);
+            }
+        }
+        return new ArrayList<>(flowsBySelectors.values());
+    }
+
+    private void mergeFlow(ObjectNode mergedFlow, ObjectNode flow) {
+        // The steps are appended in document order
+        for (String phase : List.of(REQUEST, RESPONSE)) {
+            if (flow.has(phase)) {
+                var phaseArray = mergedFlow.has(phase) ? (ArrayNode) mergedFlow.get(phase) : mergedFlow.putArray(phase);
+                phaseArray.addAll((ArrayNode) flow.get(phase));
+            }
+        }
+
+        // e.g. Flow-Request and Flow-Response are merged into Flow
+        var mergedFlowName = removeFlowNameSuffix(mergedFlow.path(NAME).asText());
+        if (!mergedFlowName.equals(mergedFlow.path(NAME).asText()) && mergedFlowName.equals(removeFlowNameSuffix(flow.path(NAME).asText()))) {
+            mergedFlow.put(NAME, mergedFlowName);
+        }
+    }
+
+    private String removeFlowNameSuffix(String flowName) {
+        for (String suffix : FLOW_NAME_SUFFIXES) {
+            if (flowName.endsWith(suffix)) {
+                return flowName.substring(0, flowName.length() - suffix.length());
+            }
+        }
+        return flowName;
+    }
+
+    private static JsonNode getHttpSelector(ObjectNode flow) {
+        return flow.path(SELECTORS).path(0);
+    }
+
+    private static String getPath(ObjectNode flow) {
+        return getHttpSelector(flow).path(PATH).asText();
+    }
+
+    private static int countLiteralSegments(String path) {
+        return (int) Arrays.stream(path.split(PATH_SEPARATOR))
+                .filter(segment -> !segment.isEmpty() && !segment.startsWith(PATH_PARAMETER_PREFIX))
+                .count();
+    }
+
+    private static int countParameterSegments(String path) {
+        return (int) Arrays.stream(path.split(PATH_SEPARATOR))
+                .filter(segment -> segment.startsWith(PATH_PARAMETER_PREFIX))
+                .count();
+    }
+}
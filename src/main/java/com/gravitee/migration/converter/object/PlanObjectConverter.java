@@ -4,9 +4,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.BundleSymbolTable;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.enums.SignatureEnum;
-import com.gravitee.migration.infrastructure.configuration.GraviteeELTranslator;
-import com.gravitee.migration.service.filewriter.FileWriterService;
 import com.gravitee.migration.util.policy.PolicyMapperUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,11 +23,13 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
-import static com.gravitee.migration.util.GraviteeCliUtils.constructCondition;
+import static com.gravitee.migration.util.GraviteeCliUtils.constructFlowSelectors;
 import static com.gravitee.migration.util.StringUtils.*;
 import static com.gravitee.migration.util.constants.CommonConstants.*;
+import static com.gravitee.migration.util.constants.object.ApiObjectConstants.API_OBJECT;
 import static com.gravitee.migration.util.constants.object.PlanObjectConstants.*;
 import static com.gravitee.migration.util.constants.policy.PolicyConstants.*;
+import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.ASSIGN_ATTRIBUTES;
 import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.DYNAMIC_ROUTING;
 import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.JWT;
 
@@ -45,21 +47,21 @@ public class PlanObjectConverter {
     private static final String ROUTING_POLICY_PATTERN = ".*";
 
     private final XPath xPath;
-    private final FileWriterService fileWriterService;
-    private final GraviteeELTranslator graviteeELTranslator;
     private final PolicyMapperUtil policyMapperUtil;
     private final ApiObjectConverter apiObjectConverter;
+    private final FlowExecutionConverter flowExecutionConverter;
+    private final AnalyticsConverter analyticsConverter;
 
     /**
      * Creates a plan node in the Gravitee API configuration.
      *
      * @param graviteeNode    The api node in the Gravitee configuration.
      * @param planName        The name of the plan to be created, extracted from the API name
-     * @param apiGeePolicies  The list of policies in ApiGee.
-     * @param targetEndpoints The list of target endpoints in ApiGee.
+     * @param symbolTable     The policies and target endpoints in ApiGee, indexed by name.
      * @param proxyXml        The proxy XML document.
+     * @param migrationContext The context of the current migration.
      */
-    public void createPlan(ObjectNode graviteeNode, String planName, List<Document> apiGeePolicies, List<Document> targetEndpoints, Document proxyXml, String apiProxyFolderLocation) throws XPathExpressionException, JsonProcessingException {
+    public void createPlan(ObjectNode graviteeNode, String planName, BundleSymbolTable symbolTable, Document proxyXml, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException, JsonProcessingException {
 
         var plansArray = graviteeNode.putArray(PLANS);
         // We are creating plans based on what type of policies are used in the API (JWT, API Key, etc.)
@@ -69,164 +71,247 @@ public class PlanObjectConverter {
         var flowsArray = planNode.putArray(FLOWS);
 
         // Map flows from the proxy XML located in the proxies folder
-        buildFlowsFromProxyXml(apiGeePolicies, proxyXml, targetEndpoints, flowsArray, apiProxyFolderLocation);
-        buildPlansSecurity(planNode, plansArray, planName);
-        processCachePolicies();
+        var hasTargetFlows = buildFlowsFromProxyXml(symbolTable, proxyXml, flowsArray, apiProxyFolderLocation, migrationContext);
+        // Set the flow execution mode of the api, path-based flows are ordered for the best-match execution
+        flowExecutionConverter.mapFlowExecution((ObjectNode) graviteeNode.get(API_OBJECT), flowsArray, hasTargetFlows);
+        buildPlansSecurity(planNode, plansArray, planName, migrationContext);
+        processCachePolicies(migrationContext);
+        apiObjectConverter.applyConcurrentConnectionLimits((ObjectNode) graviteeNode.get(API_OBJECT), migrationContext);
+        analyticsConverter.mapAnalytics((ObjectNode) graviteeNode.get(API_OBJECT), migrationContext);
     }
 
-    private void buildFlowsFromProxyXml(List<Document> apiGeePolicies, Document proxyXml, List<Document> targetEndpoints, ArrayNode flowsArray, String apiProxyFolderLocation) throws XPathExpressionException {
+    /**
+     * Maps the flows of the proxy XML, returns true when flows of the target endpoints (RouteRules) are added.
+     */
+    private boolean buildFlowsFromProxyXml(BundleSymbolTable symbolTable, Document proxyXml, ArrayNode flowsArray, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Add PreFlow Request steps to the request array
-        buildPreOrPostFlowSteps("/*/PreFlow/Request/Step", REQUEST, "PreFlow-Request", apiGeePolicies, proxyXml, flowsArray, apiProxyFolderLocation);
+        buildPreOrPostFlowSteps("/*/PreFlow/Request/Step", REQUEST, "PreFlow-Request", symbolTable, proxyXml, flowsArray, apiProxyFolderLocation, migrationContext);
 
         // Add Conditional flows to the flows array
-        buildConditionalFlows(proxyXml, flowsArray, apiGeePolicies, targetEndpoints, apiProxyFolderLocation);
+        var hasTargetFlows = buildConditionalFlows(proxyXml, flowsArray, symbolTable, apiProxyFolderLocation, migrationContext);
 
         // Add PreFlow Response steps to the response array
-        buildPreOrPostFlowSteps("/*/PostFlow/Response/Step", RESPONSE, "PostFlow-Response", apiGeePolicies, proxyXml, flowsArray, apiProxyFolderLocation);
+        buildPreOrPostFlowSteps("/*/PostFlow/Response/Step", RESPONSE, "PostFlow-Response", symbolTable, proxyXml, flowsArray, apiProxyFolderLocation, migrationContext);
+
+        // Add PostClientFlow Response steps, executed once the response is sent to the client
+        buildPostClientFlowSteps(symbolTable, proxyXml, flowsArray, apiProxyFolderLocation, migrationContext);
+        return hasTargetFlows;
+    }
+
+    private void buildPostClientFlowSteps(BundleSymbolTable symbolTable, Document proxyXml, ArrayNode flowsArray, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
+        var flowCount = flowsArray.size();
+        buildPreOrPostFlowSteps("/*/PostClientFlow/Response/Step", RESPONSE, "PostClientFlow-Response", symbolTable, proxyXml, flowsArray, apiProxyFolderLocation, migrationContext);
+
+        // The MessageLogging policies of the PostClientFlow are converted to the logging settings of the api, so the flow
+        // is usually left without policies. It is removed, so it doesn't delay the response.
+        if (flowsArray.size() > flowCount && flowsArray.get(flowsArray.size() - 1).path(RESPONSE).isEmpty()) {
+            flowsArray.remove(flowsArray.size() - 1);
+        }
     }
 
-    private void buildPreOrPostFlowSteps(String xpathExpression, String phase, String name, List<Document> apiGeePolicies, Document proxyXml, ArrayNode flowsArray, String apiProxyFolderLocation) throws XPathExpressionException {
+    private void buildPreOrPostFlowSteps(String xpathExpression, String phase, String name, BundleSymbolTable symbolTable, Document proxyXml, ArrayNode flowsArray, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         var flowNodes = (NodeList) xPath.evaluate(xpathExpression, proxyXml, XPathConstants.NODESET);
         // PreFlow and PostFlow have no conditions - they are always executed
-        buildProxyFlow(flowNodes, flowsArray, phase, name, apiGeePolicies, null, apiProxyFolderLocation);
+        buildProxyFlow(flowNodes, flowsArray, phase, name, symbolTable, null, apiProxyFolderLocation, migrationContext);
     }
 
-    private void buildConditionalFlows(Document proxyXml, ArrayNode flowsArray, List<Document> apiGeePolicies, List<Document> targetEndpoints, String apiProxyFolderLocation) throws XPathExpressionException {
+    private boolean buildConditionalFlows(Document proxyXml, ArrayNode flowsArray, BundleSymbolTable symbolTable, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract all conditional flows from the proxyXml
         var conditionalFlows = (NodeList) xPath.evaluate("/*/Flows/Flow", proxyXml, XPathConstants.NODESET);
 
         // For each flow add the request steps to the flows array
-        processConditionalFlowSteps(conditionalFlows, "Request/Step", REQUEST, "-Request", apiGeePolicies, flowsArray, apiProxyFolderLocation);
+        processConditionalFlowSteps(conditionalFlows, "Request/Step", REQUEST, "-Request", symbolTable, flowsArray, apiProxyFolderLocation, migrationContext);
 
         // Add PostFlow Request steps to the request array
-        buildPreOrPostFlowSteps("/*/PostFlow/Request/Step", REQUEST, "PostFlow-Request", apiGeePolicies, proxyXml, flowsArray, apiProxyFolderLocation);
+        buildPreOrPostFlowSteps("/*/PostFlow/Request/Step", REQUEST, "PostFlow-Request", symbolTable, proxyXml, flowsArray, apiProxyFolderLocation, migrationContext);
 
         // Build routing rules
-        buildRouteRules(apiGeePolicies, proxyXml, targetEndpoints, flowsArray, apiProxyFolderLocation);
+        var flowCount = flowsArray.size();
+        buildRouteRules(symbolTable, proxyXml, flowsArray, apiProxyFolderLocation, migrationContext);
+        var hasTargetFlows = flowsArray.size() > flowCount;
 
         // Add PreFlow Response steps to the response array
-        buildPreOrPostFlowSteps("/*/PreFlow/Response/Step", RESPONSE, "PreFlow-Response", apiGeePolicies, proxyXml, flowsArray, apiProxyFolderLocation);
+        buildPreOrPostFlowSteps("/*/PreFlow/Response/Step", RESPONSE, "PreFlow-Response", symbolTable, proxyXml, flowsArray, apiProxyFolderLocation, migrationContext);
 
         // For each flow add the response steps to the flows array
-        processConditionalFlowSteps(conditionalFlows, "Response/Step", RESPONSE, "-Response", apiGeePolicies, flowsArray, apiProxyFolderLocation);
+        processConditionalFlowSteps(conditionalFlows, "Response/Step", RESPONSE, "-Response", symbolTable, flowsArray, apiProxyFolderLocation, migrationContext);
+        return hasTargetFlows;
     }
 
-    private void processConditionalFlowSteps(NodeList conditionalFlows, String stepXPath, String phase, String suffix, List<Document> apiGeePolicies, ArrayNode flowsArray, String apiProxyFolderLocation) throws XPathExpressionException {
+    private void processConditionalFlowSteps(NodeList conditionalFlows, String stepXPath, String phase, String suffix, BundleSymbolTable symbolTable, ArrayNode flowsArray, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         for (int i = 0; i < conditionalFlows.getLength(); i++) {
             var conditionalFlow = conditionalFlows.item(i);
             var conditionalFlowName = xPath.evaluate("@name", conditionalFlow);
             var conditionalFlowCondition = xPath.evaluate("Condition", conditionalFlow);
 
             var flowNodes = (NodeList) xPath.evaluate(stepXPath, conditionalFlow, XPathConstants.NODESET);
-            buildProxyFlow(flowNodes, flowsArray, phase, conditionalFlowName.concat(suffix), apiGeePolicies, conditionalFlowCondition, apiProxyFolderLocation);
+            buildProxyFlow(flowNodes, flowsArray, phase, conditionalFlowName.concat(suffix), symbolTable, conditionalFlowCondition, apiProxyFolderLocation, migrationContext);
         }
     }
 
-    private void buildProxyFlow(NodeList steps, ArrayNode flowsArray, String phase, String name, List<Document> apiGeePolicies, String condition, String apiProxyFolderLocation) throws XPathExpressionException {
+    private void buildProxyFlow(NodeList steps, ArrayNode flowsArray, String phase, String name, BundleSymbolTable symbolTable, String condition, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         if (steps != null && steps.getLength() > 0) {
 
-            // Create the flow object
-            var flowObject = createFlowDefinition(name, condition, flowsArray);
+            // Create the flow object (one flow per path of the condition)
+            var flowSelectors = constructFlowSelectors(condition, migrationContext.getConditionMappings());
+            var flowObject = createFlowDefinition(name, flowSelectors.getFirst(), flowsArray);
             // Create the request or response array inside the flow object
             var scopeArray = flowObject.putArray(phase);
 
             // Process the steps inside the flow and map them to the corresponding policies
-            for (int i = 0; i < steps.getLength(); i++) {
-                var stepNode = steps.item(i);
-                policyMapperUtil.findAndApplyMatchingPolicy(stepNode, apiGeePolicies, scopeArray, phase, false, apiProxyFolderLocation);
+            migrationContext.setFlowCondition(condition);
+            try {
+                for (int i = 0; i < steps.getLength(); i++) {
+                    var stepNode = steps.item(i);
+                    policyMapperUtil.findAndApplyMatchingPolicy(stepNode, symbolTable, scopeArray, phase, false, apiProxyFolderLocation, migrationContext);
+                }
+            } finally {
+                migrationContext.setFlowCondition(null);
             }
+
+            addFlowsForOtherPaths(flowObject, flowSelectors, flowsArray);
         }
     }
 
-    private ObjectNode createFlowDefinition(String flowName, String flowCondition, ArrayNode flowsArray) {
+    private ObjectNode createFlowDefinition(String flowName, ArrayNode selectors, ArrayNode flowsArray) {
         var flowNode = flowsArray.addObject();
         flowNode.put(ID, UUID.randomUUID().toString());
         flowNode.put(NAME, flowName);
         flowNode.put(ENABLED, true);
 
-        // Create selectors array inside the flow node
-        var selectors = flowNode.putArray(SELECTORS);
-        var selectorsObject = selectors.addObject();
-        // Populate selectors based on the condition input
-        constructCondition(flowCondition, selectorsObject, graviteeELTranslator.getConditionMappings(), selectors);
+        // Set the selectors built from the condition
+        flowNode.set(SELECTORS, selectors);
 
         return flowNode;
     }
 
-    private void buildRouteRules(List<Document> apiGeePolicies, Document proxyXml, List<Document> targetEndpoints, ArrayNode flowsArray, String apiProxyFolderLocation) throws XPathExpressionException {
+    private void addFlowsForOtherPaths(ObjectNode flowObject, List<ArrayNode> flowSelectors, ArrayNode flowsArray) {
+        // The steps are converted once, the flows of the other (disjoint) paths are copies with their own selectors
+        for (var selectors : flowSelectors.subList(1, flowSelectors.size())) {
+            var flowCopy = flowObject.deepCopy();
+            flowCopy.put(ID, UUID.randomUUID().toString());
+            flowCopy.set(SELECTORS, selectors);
+            flowsArray.add(flowCopy);
+        }
+    }
+
+    private void buildRouteRules(BundleSymbolTable symbolTable, Document proxyXml, ArrayNode flowsArray, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract all route rules from the proxyXml
         NodeList routeRules = (NodeList) xPath.evaluate("/ProxyEndpoint/RouteRule", proxyXml, XPathConstants.NODESET);
+        // The target endpoint of the default route rule is the first endpoint group of the api
+        String defaultTargetEndpoint = apiObjectConverter.findDefaultTargetEndpoint(proxyXml);
 
         // Process each route rule
         for (int i = 0; i < routeRules.getLength(); i++) {
             Node routeRule = routeRules.item(i);
-            processRouteRule(routeRule, apiGeePolicies, targetEndpoints, flowsArray, apiProxyFolderLocation);
+            processRouteRule(routeRule, defaultTargetEndpoint, symbolTable, flowsArray, apiProxyFolderLocation, migrationContext);
         }
     }
 
-    private void processRouteRule(Node routeRule, List<Document> apiGeePolicies, List<Document> targetEndpoints, ArrayNode flowsArray, String apiProxyFolderLocation) throws XPathExpressionException {
+    private void processRouteRule(Node routeRule, String defaultTargetEndpoint, BundleSymbolTable symbolTable, ArrayNode flowsArray, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract the target endpoint name and condition
-        String routeRuleTargetEndpoint = xPath.evaluate("TargetEndpoint", routeRule);
+        String routeRuleTargetEndpoint = xPath.evaluate("TargetEndpoint", routeRule).trim();
         String condition = xPath.evaluate("Condition", routeRule);
+        boolean defaultRoute = condition.isBlank() && routeRuleTargetEndpoint.equals(defaultTargetEndpoint);
 
         // Find the matching target endpoint
-        Document matchingTargetEndpoint = findMatchingTargetEndpoint(routeRuleTargetEndpoint, targetEndpoints);
+        Document matchingTargetEndpoint = findMatchingTargetEndpoint(routeRuleTargetEndpoint, symbolTable, migrationContext);
         if (matchingTargetEndpoint != null) {
             // Build the flows for the matching target endpoint
-            buildTargetEndpointFlows(apiGeePolicies, matchingTargetEndpoint, flowsArray, condition, apiProxyFolderLocation);
+            buildTargetEndpointFlows(symbolTable, matchingTargetEndpoint, flowsArray, condition, defaultRoute, apiProxyFolderLocation, migrationContext);
         }
     }
 
-    private Document findMatchingTargetEndpoint(String routeRuleTargetEndpoint, List<Document> targetEndpoints) throws XPathExpressionException {
-        // Iterate through the target endpoints to find a match
-        for (Document targetEndpoint : targetEndpoints) {
-            // Extract target endpoint name
-            String targetEndpointName = xPath.evaluate("TargetEndpoint/@name", targetEndpoint);
-            if (routeRuleTargetEndpoint.equals(targetEndpointName)) {
-                var targetEndpointUrl = xPath.evaluate("TargetEndpoint/HTTPTargetConnection/URL", targetEndpoint);
+    private Document findMatchingTargetEndpoint(String routeRuleTargetEndpoint, BundleSymbolTable symbolTable, MigrationContext migrationContext) throws XPathExpressionException {
+        // Find the target endpoint by name (missing target endpoints are reported by the symbol table)
+        var targetEndpoint = symbolTable.findTarget(routeRuleTargetEndpoint, migrationContext);
 
-                if (isNotNullOrEmpty(targetEndpointUrl)) {
-                    var baseUrl = extractBaseUrl(targetEndpointUrl);
+        // Static URLs are set on the endpoints, only the hosts of dynamic URLs are resolved from the dictionary
+        if (targetEndpoint != null && !apiObjectConverter.isRoutedToEndpointGroup(targetEndpoint)) {
+            var targetEndpointUrl = xPath.evaluate("TargetEndpoint/HTTPTargetConnection/URL", targetEndpoint);
 
-                    var cleanedBaseUrl = removeCurlyBraces(baseUrl);
+            if (isNotNullOrEmpty(targetEndpointUrl)) {
+                var baseUrl = extractBaseUrl(targetEndpointUrl);
 
-                    fileWriterService.addValueToDictionaryMap(cleanedBaseUrl, CHANGE_ME);
-                }
-                return targetEndpoint;
+                var cleanedBaseUrl = removeCurlyBraces(baseUrl);
+
+                migrationContext.addDictionaryEntry(cleanedBaseUrl, CHANGE_ME);
             }
         }
-        return null;
+        return targetEndpoint;
     }
 
-    private void buildTargetEndpointFlows(List<Document> apiGeePolicies, Document targetEndpoint, ArrayNode flowsArray, String condition, String apiProxyFolderLocation) throws XPathExpressionException {
+    private void buildTargetEndpointFlows(BundleSymbolTable symbolTable, Document targetEndpoint, ArrayNode flowsArray, String condition, boolean defaultRoute, String apiProxyFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract flow name
         String targetEndpointName = xPath.evaluate("/TargetEndpoint/@name", targetEndpoint);
 
-        // Create the flow object for the target endpoint
-        ObjectNode flowObject = createFlowDefinition(targetEndpointName.concat("-flow"), condition, flowsArray);
+        // Create the flow object for the target endpoint (one flow per path of the condition)
+        var flowSelectors = constructFlowSelectors(condition, migrationContext.getConditionMappings());
+        ObjectNode flowObject = createFlowDefinition(targetEndpointName.concat("-flow"), flowSelectors.getFirst(), flowsArray);
 
         // Create request and response arrays in the flow object
         ArrayNode requestArray = flowObject.putArray(REQUEST);
         ArrayNode responseArray = flowObject.putArray(RESPONSE);
 
-        // Add PreFlow Request steps to the request array and PostFlow Request steps to the response array
-        processFlowNodes("/TargetEndpoint/PreFlow/Request/Step", targetEndpoint, apiGeePolicies, requestArray, REQUEST, apiProxyFolderLocation);
-        processFlowNodes("/TargetEndpoint/PostFlow/Request/Step", targetEndpoint, apiGeePolicies, requestArray, REQUEST, apiProxyFolderLocation);
+        // The steps of the target endpoint are only executed when the requests are routed to it
+        migrationContext.setFlowCondition(condition);
+        try {
+            // Add PreFlow Request steps to the request array and PostFlow Request steps to the response array
+            processFlowNodes("/TargetEndpoint/PreFlow/Request/Step", targetEndpoint, symbolTable, requestArray, REQUEST, apiProxyFolderLocation, migrationContext);
+            processFlowNodes("/TargetEndpoint/PostFlow/Request/Step", targetEndpoint, symbolTable, requestArray, REQUEST, apiProxyFolderLocation, migrationContext);
+
+            // Send the request to the endpoint group of the target endpoint, or override the url with dynamic routing
+            if (apiObjectConverter.isRoutedToEndpointGroup(targetEndpoint)) {
+                if (!defaultRoute) {
+                    buildEndpointSelectionPolicy(targetEndpointName, requestArray);
+                }
+            } else {
+                buildRoutingPolicy(targetEndpoint, requestArray);
+            }
+
+            // Add PreFlow Response steps to the response array and PostFlow Response steps to the response array
+            processFlowNodes("/TargetEndpoint/PreFlow/Response/Step", targetEndpoint, symbolTable, responseArray, RESPONSE, apiProxyFolderLocation, migrationContext);
+            processFlowNodes("/TargetEndpoint/PostFlow/Response/Step", targetEndpoint, symbolTable, responseArray, RESPONSE, apiProxyFolderLocation, migrationContext);
+        } finally {
+            migrationContext.setFlowCondition(null);
+        }
 
-        // Add dynamic routing to override the url and send request to the backend service specified in the target endpoint
-        buildRoutingPolicy(targetEndpoint, requestArray);
+        if (requestArray.isEmpty() && responseArray.isEmpty()) {
+            // Default route without steps, the requests go to the first endpoint group without any flow
+            flowsArray.remove(flowsArray.size() - 1);
+            return;
+        }
 
-        // Add PreFlow Response steps to the response array and PostFlow Response steps to the response array
-        processFlowNodes("/TargetEndpoint/PreFlow/Response/Step", targetEndpoint, apiGeePolicies, responseArray, RESPONSE, apiProxyFolderLocation);
-        processFlowNodes("/TargetEndpoint/PostFlow/Response/Step", targetEndpoint, apiGeePolicies, responseArray, RESPONSE, apiProxyFolderLocation);
+        addFlowsForOtherPaths(flowObject, flowSelectors, flowsArray);
     }
 
-    private void processFlowNodes(String xpathExpression, Document targetEndpoint, List<Document> apiGeePolicies, ArrayNode phaseArray, String phase, String apiGeeFolderLocation) throws XPathExpressionException {
+    private void processFlowNodes(String xpathExpression, Document targetEndpoint, BundleSymbolTable symbolTable, ArrayNode phaseArray, String phase, String apiGeeFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         NodeList flowNodes = (NodeList) xPath.evaluate(xpathExpression, targetEndpoint, XPathConstants.NODESET);
-        policyMapperUtil.applyPoliciesToFlowNodes(flowNodes, apiGeePolicies, phaseArray, phase, false, apiGeeFolderLocation);
+        policyMapperUtil.applyPoliciesToFlowNodes(flowNodes, symbolTable, phaseArray, phase, false, apiGeeFolderLocation, migrationContext);
+    }
+
+    private void buildEndpointSelectionPolicy(String targetEndpointName, ArrayNode requestArray) {
+        // Select the endpoint group of the target endpoint, the gateway routes to it without evaluating a routing pattern
+        var endpointSelectionPolicy = requestArray.addObject();
+
+        endpointSelectionPolicy.put(NAME, ROUTING_POLICY);
+        endpointSelectionPolicy.put(ENABLED, true);
+        endpointSelectionPolicy.put(POLICY, ASSIGN_ATTRIBUTES);
+
+        var configurationObject = endpointSelectionPolicy.putObject(CONFIGURATION);
+        configurationObject.put(SCOPE, REQUEST.toUpperCase());
+
+        var attributeNode = configurationObject.putArray(ATTRIBUTES).addObject();
+        attributeNode.put(NAME, REQUEST_ENDPOINT_ATTRIBUTE);
+        attributeNode.put(VALUE, String.format(ENDPOINT_REFERENCE_FORMAT, targetEndpointName));
     }
 
     private void buildRoutingPolicy(Document targetEndpoint, ArrayNode requestArray) throws XPathExpressionException {
+        if (xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/URL", targetEndpoint).isBlank()) {
+            // No HTTP target (e.g. LocalTargetConnection), there is nothing to route to
+            return;
+        }
+
         // Add routing policy to the request array
         var routingPolicy = requestArray.addObject();
 
@@ -246,13 +331,9 @@ public class PlanObjectConverter {
     private void setRoutingPolicyUrl(ObjectNode ruleObject, Document targetEndpoint) throws XPathExpressionException {
         var targetEndpointUrl = xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/URL", targetEndpoint);
 
-        if (isNotNullOrEmpty(targetEndpointUrl)) {
-            var targetUrl = constructEndpointsUrl(targetEndpointUrl, dictionaryName);
-            ruleObject.put(URL, targetUrl);
-        } else {
-            var loadBalancerServerUrl = xPath.evaluate("/TargetEndpoint/HTTPTargetConnection/LoadBalancer/Server/@name", targetEndpoint);
-            ruleObject.put(URL, "{#endpoints['" + loadBalancerServerUrl + "']}");
-        }
+        // Only dynamic URLs are routed with the dynamic routing policy (load balancers have their own endpoint group)
+        var targetUrl = constructEndpointsUrl(targetEndpointUrl, dictionaryName);
+        ruleObject.put(URL, targetUrl);
     }
 
     private ObjectNode buildPlanNode(String planName, ArrayNode plansArray) {
@@ -272,8 +353,8 @@ public class PlanObjectConverter {
         return plansNode;
     }
 
-    private void buildPlansSecurity(ObjectNode plansNode, ArrayNode plansArray, String planName) throws JsonProcessingException {
-        Set<String> collectedPolicies = policyMapperUtil.getCollectedPolicies();
+    private void buildPlansSecurity(ObjectNode plansNode, ArrayNode plansArray, String planName, MigrationContext migrationContext) throws JsonProcessingException {
+        Set<String> collectedPolicies = migrationContext.getSecurityPolicies();
 
         if (collectedPolicies.isEmpty()) {
             buildKeylessPlan(plansNode);
@@ -359,12 +440,8 @@ public class PlanObjectConverter {
         tokenTypValidation.put(IGNORE_CASE, false);
     }
 
-    private void processCachePolicies() throws XPathExpressionException {
-        var documents = policyMapperUtil.getCachePolicies();
-
-        for (var policy : documents) {
-            apiObjectConverter.buildResources(policy);
-        }
+    private void processCachePolicies(MigrationContext migrationContext) {
+        migrationContext.getCacheResources().forEach((cacheName, timeToLive) -> apiObjectConverter.buildResources(cacheName, timeToLive, migrationContext));
     }
 
 }
\ No newline at end of file
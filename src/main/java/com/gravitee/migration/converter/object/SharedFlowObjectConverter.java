@@ -2,16 +2,16 @@ package com.gravitee.migration.converter.object;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.BundleSymbolTable;
+import com.gravitee.migration.converter.context.MigrationContext;
+import com.gravitee.migration.converter.context.SharedFlowCache;
 import com.gravitee.migration.util.policy.PolicyMapperUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
 
 import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,23 +33,27 @@ public class SharedFlowObjectConverter {
      *
      * @param sharedFlowRootXml  The root XML document of the shared flow.
      * @param sharedFlowSteps    The steps document of the shared flow.
-     * @param sharedFlowPolicies The list of policies associated with the shared flow.
+     * @param symbolTable        The policies associated with the shared flow, indexed by name.
      * @param currentSharedFlowFolderLocation The location of the shared flow folder. (used for reading of JS, XSLT and XSLT policies, to reference the correct folder)
-     * @return A list of JSON strings representing the shared flow configurations.
+     * @param migrationContext The context of the current migration.
+     * @return The request and response shared flow configurations.
      * @throws Exception if an error occurs during the creation of the shared flow configurations.
      */
-    public List<String> createSharedFlow(Document sharedFlowRootXml, Document sharedFlowSteps, List<Document> sharedFlowPolicies, String currentSharedFlowFolderLocation) throws Exception {
-        List<String> sharedFlows = new ArrayList<>();
+    public List<ObjectNode> createSharedFlow(Document sharedFlowRootXml, Document sharedFlowSteps, BundleSymbolTable symbolTable, String currentSharedFlowFolderLocation, MigrationContext migrationContext) throws Exception {
+        List<ObjectNode> sharedFlows = new ArrayList<>();
+        // Cache the parsed bundle, so FlowCallout policies referencing this shared flow do not read it again
+        var sharedFlowBundle = migrationContext.getSharedFlowCache().getBundle(currentSharedFlowFolderLocation,
+                () -> new SharedFlowCache.SharedFlowBundle(currentSharedFlowFolderLocation, symbolTable, sharedFlowSteps));
 
         // Create and add the request shared flow configuration
         ObjectNode requestSharedFlowConfig = createSharedFlowConfig(sharedFlowRootXml, REQUEST.toUpperCase(), "-Request");
-        populateSteps(requestSharedFlowConfig, sharedFlowSteps, sharedFlowPolicies, REQUEST, currentSharedFlowFolderLocation);
-        sharedFlows.add(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(requestSharedFlowConfig));
+        populateSteps(requestSharedFlowConfig, sharedFlowBundle, REQUEST, migrationContext);
+        sharedFlows.add(requestSharedFlowConfig);
 
         // Create and add the response shared flow configuration
         ObjectNode responseSharedFlowConfig = createSharedFlowConfig(sharedFlowRootXml, RESPONSE.toUpperCase(), "-Response");
-        populateSteps(responseSharedFlowConfig, sharedFlowSteps, sharedFlowPolicies, RESPONSE, currentSharedFlowFolderLocation);
-        sharedFlows.add(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(responseSharedFlowConfig));
+        populateSteps(responseSharedFlowConfig, sharedFlowBundle, RESPONSE, migrationContext);
+        sharedFlows.add(responseSharedFlowConfig);
 
         return sharedFlows;
     }
@@ -67,10 +71,14 @@ public class SharedFlowObjectConverter {
         return sharedFlowConfig;
     }
 
-    private void populateSteps(ObjectNode sharedFlowConfig, Document sharedFlowSteps, List<Document> sharedFlowPolicies, String flowType, String currentSharedFlowFolderLocation) throws XPathExpressionException {
+    private void populateSteps(ObjectNode sharedFlowConfig, SharedFlowCache.SharedFlowBundle sharedFlowBundle, String flowType, MigrationContext migrationContext) throws Exception {
         var stepsArray = sharedFlowConfig.putArray(STEPS);
-        var sharedFlowNodeSteps = (NodeList) xPath.evaluate("/SharedFlow/Step", sharedFlowSteps, XPathConstants.NODESET);
-        policyMapperUtil.applyPoliciesToFlowNodes(sharedFlowNodeSteps, sharedFlowPolicies, stepsArray, flowType, true, currentSharedFlowFolderLocation);
+        // The steps are converted once per phase and reused by the FlowCallout policies referencing this shared flow
+        var sharedPolicyGroupContext = migrationContext.createChildContext();
+        policyMapperUtil.applySharedFlowSteps(sharedFlowBundle, stepsArray, flowType, sharedPolicyGroupContext);
+
+        // The MessageLogging policies of the shared policy group only apply to the apis referencing it (see SharedFlowConverter)
+        migrationContext.mergeSharedPolicyGroup(sharedFlowConfig.get(NAME).asText(), sharedPolicyGroupContext);
     }
 
 }
@@ -1,6 +1,7 @@
 package com.gravitee.migration.converter.policy;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import org.w3c.dom.Document;
 
 import java.util.Map;
@@ -8,10 +9,26 @@ import java.util.Map;
 /**
  * Interface for converting policies from one format to another.
  * Implementations of this interface should provide the logic to convert specific types of policies.
+ * Every implementation handles exactly one Apigee policy type, see {@link PolicyConverterRegistry}.
  */
 public interface PolicyConverter {
 
-    boolean supports(String policyType);
+    /**
+     * Returns the Apigee policy type handled by this converter, the root element name of the policy (e.g. AssignMessage).
+     */
+    String getPolicyType();
 
-    void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws Exception;
+    /**
+     * Converts the Apigee policy and adds the converted policy to the phase array.
+     *
+     * @param condition             The condition to be applied to the policy.
+     * @param apiGeePolicy          The policy document.
+     * @param phaseArray            The array node to which the converted policy will be added (e.g., request, response).
+     * @param phase                 The phase of the policy (e.g., request, response).
+     * @param conditionMappings     The condition mappings from Apigee to Gravitee.
+     * @param currentFolderLocation The location of the bundle folder, used by policies referencing other files of the bundle (e.g. JavaScript, XSLT).
+     * @param migrationContext      The context of the current migration.
+     * @throws Exception if an error occurs during conversion.
+     */
+    void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception;
 }
@@ -0,0 +1,37 @@
+package com.gravitee.migration.converter.policy;
+
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of the policy converters by Apigee policy type, built once at startup.
+ * Used to find the converter of every step without testing all converters.
+ */
+@Component
+public class PolicyConverterRegistry {
+
+    private final Map<String, PolicyConverter> converters = new HashMap<>();
+
+    public PolicyConverterRegistry(List<PolicyConverter> policyConverters) {
+        for (PolicyConverter policyConverter : policyConverters) {
+            var existingConverter = converters.putIfAbsent(policyConverter.getPolicyType(), policyConverter);
+            if (existingConverter != null) {
+                throw new IllegalStateException(String.format("Policy type '%s' is handled by both %s and %s",
+                        policyConverter.getPolicyType(), existingConverter.getClass().getSimpleName(), policyConverter.getClass().getSimpleName()));
+            }
+        }
+    }
+
+    /**
+     * Returns the converter of the given policy type.
+     *
+     * @param policyType The Apigee policy type (root element name of the policy).
+     * @return The converter, or null if the policy type is not supported.
+     */
+    public PolicyConverter getConverter(String policyType) {
+        return converters.get(policyType);
+    }
+}
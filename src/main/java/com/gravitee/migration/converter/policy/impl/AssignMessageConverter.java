@@ -2,8 +2,8 @@ package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
-import com.gravitee.migration.infrastructure.configuration.GraviteeELTranslator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
@@ -16,7 +16,7 @@ import javax.xml.xpath.XPathExpressionException;
 
 import java.util.Map;
 
-import static com.gravitee.migration.util.GraviteeCliUtils.convertApigeeConditionToGravitee;
+import static com.gravitee.migration.util.GraviteeCliUtils.convertApigeeTemplateToGravitee;
 import static com.gravitee.migration.util.GraviteeCliUtils.createBasePhaseObject;
 import static com.gravitee.migration.util.StringUtils.*;
 import static com.gravitee.migration.util.constants.CommonConstants.*;
@@ -36,11 +36,10 @@ import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.*
 public class AssignMessageConverter implements PolicyConverter {
 
     private final XPath xPath;
-    private final GraviteeELTranslator graviteeELTranslator;
 
     @Override
-    public boolean supports(String policyType) {
-        return ASSIGN_MESSAGE.equals(policyType);
+    public String getPolicyType() {
+        return ASSIGN_MESSAGE;
     }
 
     /**
@@ -53,25 +52,25 @@ public class AssignMessageConverter implements PolicyConverter {
      * @throws XPathExpressionException if an error occurs during XPath evaluation.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws XPathExpressionException {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract properties
         var name = xPath.evaluate("/AssignMessage/@name", apiGeePolicy);
 
-        constructAssignMessagePolicies(name, condition, apiGeePolicy, phaseArray, phase, conditionMappings);
+        constructAssignMessagePolicies(name, condition, apiGeePolicy, phaseArray, phase, conditionMappings, migrationContext.getAssignMessageTemplateMappings());
     }
 
     /**
      * Constructs the AssignMessage policies.
      * The policy in Apigee is split into multiple Gravitee policies depending on the present tags.
      */
-    private void constructAssignMessagePolicies(String name, String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws XPathExpressionException {
-        addAssignVariablePolicy(name, condition, apiGeePolicy, phaseArray, phase, conditionMappings);
+    private void constructAssignMessagePolicies(String name, String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, Map<String, String> templateMappings) throws XPathExpressionException {
+        addAssignVariablePolicy(name, condition, apiGeePolicy, phaseArray, phase, conditionMappings, templateMappings);
         addSetHeadersPolicy(name, condition, apiGeePolicy, phaseArray, phase, conditionMappings);
         addSetVerbPolicy(name, condition, apiGeePolicy, phaseArray, phase, conditionMappings);
         addSetPayloadPolicy(name, condition, apiGeePolicy, phaseArray, phase, conditionMappings);
     }
 
-    private void addAssignVariablePolicy(String name, String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws XPathExpressionException {
+    private void addAssignVariablePolicy(String name, String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, Map<String, String> templateMappings) throws XPathExpressionException {
         // Extracts the <AssignVariable> nodes from the <AssignMessage> tag
         var assignVariableNodes = (NodeList) xPath.evaluate("//AssignVariable", apiGeePolicy, XPathConstants.NODESET);
 
@@ -88,7 +87,7 @@ public class AssignMessageConverter implements PolicyConverter {
                 var variableName = xPath.evaluate("Name", assignVariableNode);
                 attributeNode.put(NAME, variableName);
 
-                addValue(assignVariableNode, attributeNode);
+                addValue(assignVariableNode, attributeNode, templateMappings);
             }
         }
     }
@@ -101,7 +100,7 @@ public class AssignMessageConverter implements PolicyConverter {
         return configurationObject.putArray(ATTRIBUTES);
     }
 
-    private void addValue(Node assignVariableNode, ObjectNode attributeNode) throws XPathExpressionException {
+    private void addValue(Node assignVariableNode, ObjectNode attributeNode, Map<String, String> templateMappings) throws XPathExpressionException {
         // Value can be either a <Value> or a <Template> tag
         var value = xPath.evaluate("Value", assignVariableNode);
         var template = xPath.evaluate("Template", assignVariableNode);
@@ -110,8 +109,7 @@ public class AssignMessageConverter implements PolicyConverter {
         if (isNotNullOrEmpty(value)) {
             attributeNode.put(VALUE, value);
         } else if (isNotNullOrEmpty(template)) {
-            graviteeELTranslator.loadAssignMessageTemplateMappings();
-            attributeNode.put(VALUE, convertApigeeConditionToGravitee(template, graviteeELTranslator.getAssignMessageTemplateMappings()));
+            attributeNode.put(VALUE, convertApigeeTemplateToGravitee(template, templateMappings));
         } else if (isNotNullOrEmpty(ref)) {
             attributeNode.put(VALUE, wrapValueInContextAttributes(ref));
         } else {
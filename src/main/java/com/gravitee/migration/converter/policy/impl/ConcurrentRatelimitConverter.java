@@ -0,0 +1,75 @@
+package com.gravitee.migration.converter.policy.impl;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
+import com.gravitee.migration.converter.policy.PolicyConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpressionException;
+import java.util.Map;
+
+import static com.gravitee.migration.util.constants.policy.PolicyConstants.CONCURRENT_RATE_LIMIT;
+
+/**
+ * <p>Converts the ConcurrentRatelimit policy from Apigee to Gravitee.</p>
+ *
+ * <p>Gravitee has no policy limiting the requests in flight to a backend, the limit is a setting of the HTTP client of the
+ * endpoint group. The converter collects the limit of the target endpoint, it is applied to the endpoint group of the target
+ * once the flows are converted (see ApiObjectConverter). No flow policy is created.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ConcurrentRatelimitConverter implements PolicyConverter {
+
+    private final XPath xPath;
+
+    @Override
+    public String getPolicyType() {
+        return CONCURRENT_RATE_LIMIT;
+    }
+
+    /**
+     * Converts the ConcurrentRatelimit policy from Apigee to Gravitee.
+     *
+     * @param condition    The condition to be applied to the policy.
+     * @param apiGeePolicy The Apigee policy document.
+     * @param phaseArray   The array node to which the converted policy will be added (e.g., request, response).
+     * @param phase        The phase of the policy (e.g., request, response).
+     * @throws XPathExpressionException if an error occurs during XPath evaluation.
+     */
+    @Override
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
+        // Extract properties
+        var policyName = xPath.evaluate("/ConcurrentRatelimit/@name", apiGeePolicy);
+        var count = xPath.evaluate("/ConcurrentRatelimit/AllowConnections/@count", apiGeePolicy).trim();
+        // The policy is attached to a target endpoint, the identifier names it
+        var targetEndpointName = xPath.evaluate("/ConcurrentRatelimit/TargetIdentifier/@name", apiGeePolicy).trim();
+
+        if (targetEndpointName.isEmpty()) {
+            throw new IllegalArgumentException(String.format("ConcurrentRatelimit policy '%s' has no TargetIdentifier, it can't be converted", policyName));
+        }
+
+        var limit = parseCount(count);
+        if (limit <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid AllowConnections count '%s' of ConcurrentRatelimit policy '%s'", count, policyName));
+        }
+        if (condition != null && !condition.isBlank()) {
+            migrationContext.addWarning(String.format("Condition of ConcurrentRatelimit policy '%s' is ignored, the limit always applies to target endpoint '%s'",
+                    policyName, targetEndpointName));
+        }
+
+        // The policy is attached to the request, response and fault flows of the target, the limit is collected once per target
+        migrationContext.addConcurrentConnectionLimit(targetEndpointName, limit);
+    }
+
+    private int parseCount(String count) {
+        try {
+            return Integer.parseInt(count);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
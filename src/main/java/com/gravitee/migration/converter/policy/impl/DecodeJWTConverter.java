@@ -1,6 +1,7 @@
 package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import com.gravitee.migration.util.constants.policy.PolicyConstants;
 import lombok.RequiredArgsConstructor;
@@ -41,8 +42,8 @@ public class DecodeJWTConverter implements PolicyConverter {
             """;
 
     @Override
-    public boolean supports(String policyType) {
-        return PolicyConstants.DECODE_JWT.equals(policyType);
+    public String getPolicyType() {
+        return PolicyConstants.DECODE_JWT;
     }
 
     /**
@@ -55,7 +56,7 @@ public class DecodeJWTConverter implements PolicyConverter {
      * @throws Exception if an error occurs during conversion.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         System.out.println(WARNING);
         var policyName = xPath.evaluate("/DecodeJWT/@name", apiGeePolicy);
 
@@ -1,6 +1,7 @@
 package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -37,8 +38,8 @@ public class ExtractVariablesConverter implements PolicyConverter {
     private final XPath xPath;
 
     @Override
-    public boolean supports(String policyType) {
-        return EXTRACT_VARIABLES.equals(policyType);
+    public String getPolicyType() {
+        return EXTRACT_VARIABLES;
     }
 
     /**
@@ -51,7 +52,7 @@ public class ExtractVariablesConverter implements PolicyConverter {
      * @throws XPathExpressionException if an error occurs during XPath evaluation.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws XPathExpressionException {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract properties
         var policyName = xPath.evaluate("/ExtractVariables/@name", apiGeePolicy);
         var prefix = xPath.evaluate("/ExtractVariables/VariablePrefix", apiGeePolicy);
@@ -1,7 +1,9 @@
 package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.gravitee.migration.converter.policy.AdvancedPolicyConverter;
+import com.gravitee.migration.converter.context.MigrationContext;
+import com.gravitee.migration.converter.context.SharedFlowCache;
+import com.gravitee.migration.converter.policy.PolicyConverter;
 import com.gravitee.migration.service.filereader.impl.FileReaderServiceImpl;
 import com.gravitee.migration.util.policy.PolicyMapperUtil;
 import lombok.extern.slf4j.Slf4j;
@@ -9,12 +11,13 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
 
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import java.util.List;
+import java.io.IOException;
 import java.util.Map;
 
 import static com.gravitee.migration.util.constants.folder.FolderConstants.*;
@@ -27,61 +30,67 @@ import static com.gravitee.migration.util.constants.policy.PolicyConstants.FLOW_
  */
 @Component
 @Slf4j
-public class FlowCalloutConverter implements AdvancedPolicyConverter {
+public class FlowCalloutConverter implements PolicyConverter {
 
     public final FileReaderServiceImpl fileReaderService;
     private final XPath xPath;
     @Lazy
     private final PolicyMapperUtil policyMapperUtil;
+    private final SharedFlowConverter sharedFlowConverter;
 
     @Lazy
-    public FlowCalloutConverter(FileReaderServiceImpl fileReaderService, XPath xPath, PolicyMapperUtil policyMapperUtil) {
+    public FlowCalloutConverter(FileReaderServiceImpl fileReaderService, XPath xPath, PolicyMapperUtil policyMapperUtil, SharedFlowConverter sharedFlowConverter) {
         this.fileReaderService = fileReaderService;
         this.xPath = xPath;
         this.policyMapperUtil = policyMapperUtil;
+        this.sharedFlowConverter = sharedFlowConverter;
     }
 
 
     @Override
-    public boolean supports(String policyType) {
-        return FLOW_CALLOUT.equals(policyType);
+    public String getPolicyType() {
+        return FLOW_CALLOUT;
     }
 
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation) throws XPathExpressionException {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         var sharedFlowBundleNode = (Node) xPath.evaluate("/FlowCallout/SharedFlowBundle", apiGeePolicy, XPathConstants.NODE);
         var sharedFlowBundleFolderName = sharedFlowBundleNode != null ? sharedFlowBundleNode.getTextContent() : null;
 
-        extractSharedFlowDocuments(sharedFlowBundleFolderName, phaseArray, phase, currentFolderLocation);
+        extractSharedFlowDocuments(sharedFlowBundleFolderName, condition, apiGeePolicy, phaseArray, phase, conditionMappings, currentFolderLocation, migrationContext);
     }
 
-    private void extractSharedFlowDocuments(String sharedFlowBundleFolderName, ArrayNode phaseArray, String phase, String currentFolderLocation) {
+    private void extractSharedFlowDocuments(String sharedFlowBundleFolderName, String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) {
         if (sharedFlowBundleFolderName != null && !sharedFlowBundleFolderName.isEmpty()) {
             try {
-                var sharedFlowFolder = fileReaderService.findFolderStartingWith(currentFolderLocation, sharedFlowBundleFolderName);
-                if (sharedFlowFolder == null) {
-                    log.warn("SharedFlow folder not found: {}", sharedFlowBundleFolderName);
-                    return; // Exit early if the folder is not found
+                var sharedFlowCache = migrationContext.getSharedFlowCache();
+                // Folder or zip archive of the shared flow, located once per run
+                var sharedFlowFolderPath = sharedFlowCache.getSharedFlowLocation(sharedFlowBundleFolderName,
+                        () -> fileReaderService.findFolderStartingWith(currentFolderLocation, sharedFlowBundleFolderName));
+                var sharedFlowBundleLocation = fileReaderService.readAbsolutePathOfDirectory(sharedFlowFolderPath, SHARED_FLOW_BUNDLE);
+
+                if (migrationContext.isConvertingSharedFlow(sharedFlowBundleLocation)) {
+                    // The shared flow calls itself (directly or through other shared flows), reference it instead of inlining it
+                    migrationContext.addWarning("FlowCallout cycle detected for SharedFlow '" + sharedFlowBundleFolderName + "', it is referenced as a shared policy group instead");
+                    sharedFlowConverter.convert(condition, apiGeePolicy, phaseArray, phase, conditionMappings, migrationContext);
+                    return;
                 }
 
-                var sharedFlowFolderPath = sharedFlowFolder.getAbsolutePath();
-
-                // Read the sharedflowbundle folder and extract the shared flow steps and policies
-                var sharedFlowBundle = fileReaderService.readAbsolutePathOfDirectory(sharedFlowFolderPath, SHARED_FLOW_BUNDLE);
-                var sharedFlowPolicies = fileReaderService.readFiles(sharedFlowBundle,  POLICIES);
-                var sharedFlow = fileReaderService.readFiles(sharedFlowBundle, SHARED_FLOWS).getFirst();
+                // Read the sharedflowbundle folder and extract the shared flow steps and policies, once per run
+                var sharedFlowBundle = sharedFlowCache.getBundle(sharedFlowBundleLocation, () -> readSharedFlowBundle(sharedFlowBundleLocation));
 
                 // Process the shared flow steps
-                processSharedFlowBundleSteps(sharedFlow, phaseArray, sharedFlowPolicies, phase, sharedFlowBundle);
+                policyMapperUtil.applySharedFlowSteps(sharedFlowBundle, phaseArray, phase, migrationContext);
             } catch (Exception e) {
-                log.warn("Error processing SharedFlow folder '{}': {}", sharedFlowBundleFolderName, e.getMessage());
+                migrationContext.addWarning("Error processing SharedFlow folder '" + sharedFlowBundleFolderName + "': " + e.getMessage());
             }
         }
     }
 
-    private void processSharedFlowBundleSteps(Document sharedFlow, ArrayNode phaseArray, List<Document> sharedFlowPolicies, String scope, String sharedFlowBundle) throws XPathExpressionException {
-        var steps = (NodeList) xPath.evaluate("/SharedFlow/Step", sharedFlow, XPathConstants.NODESET);
+    private SharedFlowCache.SharedFlowBundle readSharedFlowBundle(String sharedFlowBundleLocation) throws ParserConfigurationException, IOException, SAXException {
+        var symbolTable = fileReaderService.readSymbolTable(sharedFlowBundleLocation);
+        var sharedFlow = fileReaderService.readFiles(sharedFlowBundleLocation, SHARED_FLOWS).getFirst();
 
-        policyMapperUtil.applyPoliciesToFlowNodes(steps, sharedFlowPolicies, phaseArray, scope, false, sharedFlowBundle);
+        return new SharedFlowCache.SharedFlowBundle(sharedFlowBundleLocation, symbolTable, sharedFlow);
     }
 }
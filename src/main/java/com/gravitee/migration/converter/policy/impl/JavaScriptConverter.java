@@ -1,7 +1,8 @@
 package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.gravitee.migration.converter.policy.AdvancedPolicyConverter;
+import com.gravitee.migration.converter.context.MigrationContext;
+import com.gravitee.migration.converter.policy.PolicyConverter;
 import com.gravitee.migration.service.filereader.FileReaderService;
 import com.gravitee.migration.util.constants.policy.PolicyTypeConstants;
 import lombok.RequiredArgsConstructor;
@@ -28,14 +29,14 @@ import static com.gravitee.migration.util.constants.policy.PolicyConstants.JAVAS
  */
 @Component
 @RequiredArgsConstructor
-public class JavaScriptConverter implements AdvancedPolicyConverter {
+public class JavaScriptConverter implements PolicyConverter {
 
     private final XPath xPath;
     private final FileReaderService fileReaderService;
 
     @Override
-    public boolean supports(String policyType) {
-        return JAVASCRIPT.equals(policyType);
+    public String getPolicyType() {
+        return JAVASCRIPT;
     }
 
     /**
@@ -48,7 +49,7 @@ public class JavaScriptConverter implements AdvancedPolicyConverter {
      * @throws Exception if an error occurs during conversion.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         // Extract the policy name and JavaScript content
         var policyName = xPath.evaluate("/Javascript/@name", apiGeePolicy);
         var javaScriptContent = extractJavaScriptContent(apiGeePolicy, currentFolderLocation);
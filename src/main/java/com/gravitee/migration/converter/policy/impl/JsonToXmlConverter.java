@@ -1,6 +1,7 @@
 package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import com.gravitee.migration.converter.dto.JsonToXmlDto;
 import lombok.RequiredArgsConstructor;
@@ -46,8 +47,8 @@ public class JsonToXmlConverter implements PolicyConverter {
             """;
 
     @Override
-    public boolean supports(String policyType) {
-        return JSON_TO_XML.equals(policyType);
+    public String getPolicyType() {
+        return JSON_TO_XML;
     }
 
     /**
@@ -61,7 +62,7 @@ public class JsonToXmlConverter implements PolicyConverter {
      * @throws Exception if an error occurs during conversion.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         System.out.println(WARNING);
         // Extract values
         var properties = new JsonToXmlDto(
@@ -2,8 +2,8 @@ package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
-import com.gravitee.migration.service.filewriter.FileWriterService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -36,11 +36,10 @@ public class KeyValueMapOperationsConverter implements PolicyConverter {
     private String dictionaryName;
 
     private final XPath xPath;
-    private final FileWriterService fileWriterService;
 
     @Override
-    public boolean supports(String policyType) {
-        return KVM.equals(policyType);
+    public String getPolicyType() {
+        return KVM;
     }
 
     /**
@@ -54,15 +53,15 @@ public class KeyValueMapOperationsConverter implements PolicyConverter {
      * @throws Exception if an error occurs during conversion.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         // Extract properties
         var policyName = xPath.evaluate("/KeyValueMapOperations/@name", apiGeePolicy);
         var phaseObjectNode = createBasePhaseObject(condition, policyName, ASSIGN_ATTRIBUTES, phaseArray, conditionMappings);
 
         var attributesArray = createAttributesArrayInConfigurationObject(phaseObjectNode, phase);
 
-        processGetNodes(apiGeePolicy, attributesArray);
-        processPutNodes(apiGeePolicy);
+        processGetNodes(apiGeePolicy, attributesArray, migrationContext);
+        processPutNodes(apiGeePolicy, migrationContext);
     }
 
     private ArrayNode createAttributesArrayInConfigurationObject(ObjectNode phaseObjectNode, String phase) {
@@ -72,17 +71,17 @@ public class KeyValueMapOperationsConverter implements PolicyConverter {
         return configurationObject.putArray(ATTRIBUTES);
     }
 
-    private void processGetNodes(Document apiGeePolicy, ArrayNode attributesArray) throws XPathExpressionException {
+    private void processGetNodes(Document apiGeePolicy, ArrayNode attributesArray, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract the "Get" nodes from the XML document
         var getNodes = (NodeList) xPath.evaluate("/KeyValueMapOperations/Get", apiGeePolicy, XPathConstants.NODESET);
 
         for (int i = 0; i < getNodes.getLength(); i++) {
             var getNode = getNodes.item(i);
-            addAttribute(getNode, attributesArray);
+            addAttribute(getNode, attributesArray, migrationContext);
         }
     }
 
-    private void addAttribute(Node getNode, ArrayNode attributesArray) throws XPathExpressionException {
+    private void addAttribute(Node getNode, ArrayNode attributesArray, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract the "assignTo" attribute value
         String assignToValue = xPath.evaluate("@assignTo", getNode);
         var attributeObject = createAttributeObject(attributesArray, assignToValue);
@@ -93,7 +92,7 @@ public class KeyValueMapOperationsConverter implements PolicyConverter {
         if (isRefValuePresent(refValue)) {
             handleRefValue(attributeObject, refValue);
         } else {
-            handleParameterValue(getNode, attributeObject);
+            handleParameterValue(getNode, attributeObject, migrationContext);
         }
     }
 
@@ -118,15 +117,15 @@ public class KeyValueMapOperationsConverter implements PolicyConverter {
         }
     }
 
-    private void handleParameterValue(Node getNode, ObjectNode attributeObject) throws XPathExpressionException {
+    private void handleParameterValue(Node getNode, ObjectNode attributeObject, MigrationContext migrationContext) throws XPathExpressionException {
         // Handle the parameter value when "ref" is not present
         String parameterTextContent = xPath.evaluate("Key/Parameter/text()", getNode);
         // Add the parameter value to the dictionary, with a value that needs to be replaced
-        fileWriterService.addValueToDictionaryMap(parameterTextContent, CHANGE_ME);
+        migrationContext.addDictionaryEntry(parameterTextContent, CHANGE_ME);
         attributeObject.put(VALUE, String.format(DICTIONARY_FORMAT_WRAPPED, dictionaryName, parameterTextContent));
     }
 
-    private void processPutNodes(Document apiGeePolicy) throws XPathExpressionException {
+    private void processPutNodes(Document apiGeePolicy, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract the "Put" nodes from the XML document
         var putParameters = (NodeList) xPath.evaluate("/KeyValueMapOperations/Put", apiGeePolicy, XPathConstants.NODESET);
 
@@ -135,7 +134,7 @@ public class KeyValueMapOperationsConverter implements PolicyConverter {
             var putParameter = putParameters.item(i);
             var parameterName = xPath.evaluate("Key/Parameter/text()", putParameter);
             var parameterValue = xPath.evaluate("Value", putParameter);
-            fileWriterService.addValueToDictionaryMap(parameterName, parameterValue);
+            migrationContext.addDictionaryEntry(parameterName, parameterValue);
         }
     }
 }
\ No newline at end of file
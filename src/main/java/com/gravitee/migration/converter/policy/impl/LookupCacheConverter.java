@@ -2,6 +2,7 @@ package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,6 +19,7 @@ import java.util.Map;
 
 import static com.gravitee.migration.util.GraviteeCliUtils.createBasePhaseObject;
 import static com.gravitee.migration.util.StringUtils.buildCacheKey;
+import static com.gravitee.migration.util.StringUtils.cacheResourceName;
 import static com.gravitee.migration.util.StringUtils.readGroovyPolicy;
 import static com.gravitee.migration.util.constants.CommonConstants.*;
 import static com.gravitee.migration.util.constants.object.PlanObjectConstants.CACHE_KEY;
@@ -41,8 +43,8 @@ public class LookupCacheConverter implements PolicyConverter {
 
     private final XPath xPath;
 
-    public boolean supports(String policyType) {
-        return LOOKUP_CACHE.equals(policyType);
+    public String getPolicyType() {
+        return LOOKUP_CACHE;
     }
     /**
      * Converts the LookupCache policy from Apigee to Gravitee.
@@ -54,10 +56,10 @@ public class LookupCacheConverter implements PolicyConverter {
      * @throws XPathExpressionException if an error occurs during XPath evaluation.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws XPathExpressionException, IOException {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException, IOException {
         // Extract properties
         var policyName = xPath.evaluate("/LookupCache/@name", apiGeePolicy);
-        var cacheResource = xPath.evaluate("/LookupCache/CacheResource", apiGeePolicy);
+        var cacheResource = cacheResourceName(xPath.evaluate("/LookupCache/CacheResource", apiGeePolicy));
         var cacheKeyFragments = (NodeList) xPath.evaluate("/LookupCache/CacheKey/KeyFragment", apiGeePolicy, XPathConstants.NODESET);
         var prefix = xPath.evaluate("/LookupCache/CacheKey/Prefix", apiGeePolicy);
 
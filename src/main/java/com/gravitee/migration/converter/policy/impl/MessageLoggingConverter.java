@@ -0,0 +1,85 @@
+package com.gravitee.migration.converter.policy.impl;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
+import com.gravitee.migration.converter.policy.PolicyConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpressionException;
+import java.util.Map;
+
+import static com.gravitee.migration.util.GraviteeCliUtils.describeConditions;
+import static com.gravitee.migration.util.GraviteeCliUtils.translateApigeeConditions;
+import static com.gravitee.migration.util.constants.policy.PolicyConstants.MESSAGE_LOGGING;
+
+/**
+ * <p>Converts the MessageLogging policy from Apigee to Gravitee.</p>
+ *
+ * <p>Gravitee has no policy sending a message to a logging server, the requests are logged with the logging settings of the api
+ * and sent by the reporters of the gateway. The converter collects the condition of the policy, the logging settings are created
+ * once the flows are converted (see AnalyticsConverter). No flow policy is created.</p>
+ *
+ * <p>The policy only applies when both the condition of its step and the condition of its conditional flow are met, so the
+ * collected condition combines them. A condition that can't be translated to Gravitee EL is reported, the policy is skipped.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class MessageLoggingConverter implements PolicyConverter {
+
+    private final XPath xPath;
+
+    @Override
+    public String getPolicyType() {
+        return MESSAGE_LOGGING;
+    }
+
+    /**
+     * Converts the MessageLogging policy from Apigee to Gravitee.
+     *
+     * @param condition    The condition to be applied to the policy.
+     * @param apiGeePolicy The Apigee policy document.
+     * @param phaseArray   The array node to which the converted policy will be added (e.g., request, response).
+     * @param phase        The phase of the policy (e.g., request, response).
+     * @throws XPathExpressionException if an error occurs during XPath evaluation.
+     */
+    @Override
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
+        // Extract properties
+        var policyName = xPath.evaluate("/MessageLogging/@name", apiGeePolicy);
+        var syslogHost = xPath.evaluate("/MessageLogging/Syslog/Host", apiGeePolicy).trim();
+        var syslogPort = xPath.evaluate("/MessageLogging/Syslog/Port", apiGeePolicy).trim();
+        var cloudLoggingName = xPath.evaluate("/MessageLogging/CloudLogging/LogName", apiGeePolicy).trim();
+
+        if (!collectLoggingCondition(policyName, condition, conditionMappings, migrationContext)) {
+            return;
+        }
+
+        // The destination and the message template are settings of the reporters, they are not part of the api
+        if (!syslogHost.isEmpty()) {
+            migrationContext.addWarning(String.format("MessageLogging policy '%s' sends its messages to the syslog server %s:%s, configure a reporter of the gateway (e.g. TCP reporter) to send the api logs",
+                    policyName, syslogHost, syslogPort));
+        } else if (!cloudLoggingName.isEmpty()) {
+            migrationContext.addWarning(String.format("MessageLogging policy '%s' sends its messages to the Cloud Logging log '%s', configure a reporter of the gateway to send the api logs",
+                    policyName, cloudLoggingName));
+        } else {
+            migrationContext.addWarning(String.format("MessageLogging policy '%s' is converted to the logging settings of the api, its message is not kept", policyName));
+        }
+    }
+
+    private boolean collectLoggingCondition(String policyName, String condition, Map<String, String> conditionMappings, MigrationContext migrationContext) {
+        var flowCondition = migrationContext.getFlowCondition();
+        var loggingCondition = translateApigeeConditions(conditionMappings, flowCondition, condition);
+        if (loggingCondition == null) {
+            // The raw Apigee condition would be an invalid EL condition of the logging settings
+            migrationContext.addWarning(String.format("Condition '%s' of MessageLogging policy '%s' can't be translated to Gravitee EL, the policy is skipped",
+                    describeConditions(flowCondition, condition), policyName));
+            return false;
+        }
+
+        migrationContext.addMessageLoggingCondition(loggingCondition);
+        return true;
+    }
+}
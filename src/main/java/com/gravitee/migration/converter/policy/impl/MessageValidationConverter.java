@@ -1,6 +1,7 @@
 package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -33,8 +34,8 @@ public class MessageValidationConverter implements PolicyConverter {
     private final XPath xPath;
 
     @Override
-    public boolean supports(String policyType) {
-        return MESSAGE_VALIDATION.equals(policyType);
+    public String getPolicyType() {
+        return MESSAGE_VALIDATION;
     }
 
     /**
@@ -49,7 +50,7 @@ public class MessageValidationConverter implements PolicyConverter {
      * @throws Exception if an error occurs during conversion.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         // Extract the policy name
         var policyName = xPath.evaluate("/MessageValidation/@name", apiGeePolicy);
         // Create a base phase node for the policy
@@ -2,7 +2,9 @@ package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
+import com.gravitee.migration.util.policy.CacheExpiryUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
@@ -15,10 +17,12 @@ import java.util.Map;
 
 import static com.gravitee.migration.util.GraviteeCliUtils.createBasePhaseObject;
 import static com.gravitee.migration.util.StringUtils.buildCacheKey;
+import static com.gravitee.migration.util.StringUtils.cacheResourceName;
 import static com.gravitee.migration.util.StringUtils.wrapValueInContextAttributes;
 import static com.gravitee.migration.util.constants.CommonConstants.*;
 import static com.gravitee.migration.util.constants.object.PlanObjectConstants.CACHE_KEY;
 import static com.gravitee.migration.util.constants.object.PlanObjectConstants.DEFAULT_OPERATION;
+import static com.gravitee.migration.util.constants.object.PlanObjectConstants.TIME_TO_LIVE;
 import static com.gravitee.migration.util.constants.policy.PolicyConstants.POPULATE_CACHE;
 import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.DATA_CACHE;
 
@@ -35,8 +39,8 @@ public class PopulateCacheConverter implements PolicyConverter {
     private final XPath xPath;
 
     @Override
-    public boolean supports(String policyType) {
-        return POPULATE_CACHE.equals(policyType);
+    public String getPolicyType() {
+        return POPULATE_CACHE;
     }
 
     /**
@@ -49,26 +53,35 @@ public class PopulateCacheConverter implements PolicyConverter {
      * @throws Exception if an error occurs during conversion.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         // Extract properties
         var policyName = xPath.evaluate("/PopulateCache/@name", apiGeePolicy);
-        var cacheResourceName = xPath.evaluate("/PopulateCache/CacheResource", apiGeePolicy);
+        var cacheResourceName = cacheResourceName(xPath.evaluate("/PopulateCache/CacheResource", apiGeePolicy));
         var cacheKeyFragments = (NodeList) xPath.evaluate("/PopulateCache/CacheKey/KeyFragment", apiGeePolicy, XPathConstants.NODESET);
         var prefix = xPath.evaluate("/PopulateCache/CacheKey/Prefix", apiGeePolicy);
 
         var key = buildCacheKey(cacheKeyFragments, prefix);
 
         var objectNode = createBasePhaseObject(condition, policyName, DATA_CACHE, phaseArray, conditionMappings);
-        configureCache(objectNode, cacheResourceName, key, apiGeePolicy);
+        configureCache(objectNode, cacheResourceName, key, apiGeePolicy, migrationContext);
     }
 
-    private void configureCache(ObjectNode objectNode, String cacheResourceName, String key, Document apiGeePolicy) throws XPathExpressionException {
+    private void configureCache(ObjectNode objectNode, String cacheResourceName, String key, Document apiGeePolicy, MigrationContext migrationContext) throws XPathExpressionException {
         // Create data-cache policy which sets a value in the cache
         var configurationObject = objectNode.putObject(CONFIGURATION);
         configurationObject.put(RESOURCE, cacheResourceName);
         configurationObject.put(CACHE_KEY, key);
         configurationObject.put(DEFAULT_OPERATION, "SET");
         configureSourceValue(configurationObject, apiGeePolicy);
+        configureTimeToLive(configurationObject, apiGeePolicy, migrationContext);
+    }
+
+    private void configureTimeToLive(ObjectNode configurationObject, Document apiGeePolicy, MigrationContext migrationContext) throws XPathExpressionException {
+        // Without ExpirySettings the entries live as long as allowed by the cache resource
+        var timeToLive = CacheExpiryUtil.resolveTimeToLiveSeconds(xPath, apiGeePolicy, migrationContext::addWarning);
+        if (timeToLive != CacheExpiryUtil.NO_EXPIRY) {
+            configurationObject.put(TIME_TO_LIVE, timeToLive);
+        }
     }
 
     private void configureSourceValue(ObjectNode configurationObject, Document apiGeePolicy) throws XPathExpressionException {
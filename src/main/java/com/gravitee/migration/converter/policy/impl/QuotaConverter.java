@@ -0,0 +1,179 @@
+package com.gravitee.migration.converter.policy.impl;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.condition.ConditionElEmitter;
+import com.gravitee.migration.converter.context.MigrationContext;
+import com.gravitee.migration.converter.policy.PolicyConverter;
+import com.gravitee.migration.enums.RateLimitIntervalMapper;
+import com.gravitee.migration.util.constants.policy.PolicyTypeConstants;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpressionException;
+import java.util.List;
+import java.util.Map;
+
+import static com.gravitee.migration.util.GraviteeCliUtils.createBasePhaseObject;
+import static com.gravitee.migration.util.StringUtils.removeCurlyBraces;
+import static com.gravitee.migration.util.constants.CommonConstants.*;
+import static com.gravitee.migration.util.constants.object.PlanObjectConstants.*;
+import static com.gravitee.migration.util.constants.policy.PolicyConstants.QUOTA;
+import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.RATE_LIMIT;
+
+/**
+ * <p>Converts the Quota policy from Apigee to Gravitee format.</p>
+ *
+ * <p>Implements the PolicyConverter interface and provides the logic
+ *  to convert the Quota policy.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class QuotaConverter implements PolicyConverter {
+
+    // Time units supported by the quota policy of Gravitee, the shorter ones are handled by the rate-limit policy
+    private static final List<String> QUOTA_TIME_UNITS = List.of("HOURS", "DAYS", "WEEKS", "MONTHS");
+
+    private final XPath xPath;
+
+    @Value("${gravitee.rate-limit.async:false}")
+    private boolean asyncRateLimit;
+
+    @Override
+    public String getPolicyType() {
+        return QUOTA;
+    }
+
+    /**
+     * Converts the Quota policy from Apigee to Gravitee.
+     *
+     * @param condition    The condition to be applied to the policy.
+     * @param apiGeePolicy The Apigee policy document.
+     * @param phaseArray   The array node to which the converted policy will be added (e.g., request, response).
+     * @param phase        The phase of the policy (e.g., request, response).
+     * @throws XPathExpressionException if an error occurs during XPath evaluation.
+     */
+    @Override
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
+        // Extract properties
+        var policyName = xPath.evaluate("/Quota/@name", apiGeePolicy);
+        var limit = parseAllowCount(policyName, apiGeePolicy);
+        var periodTime = parseInterval(policyName, apiGeePolicy, migrationContext);
+        var periodTimeUnit = RateLimitIntervalMapper.mapTimeUnit(readValue("TimeUnit", "hour", policyName, apiGeePolicy, migrationContext));
+
+        // The quota policy of Gravitee counts by hours at least, the shorter quotas are rate limits
+        var isQuota = QUOTA_TIME_UNITS.contains(periodTimeUnit);
+        var scopeNode = createBasePhaseObject(condition, policyName, isQuota ? PolicyTypeConstants.QUOTA : RATE_LIMIT, phaseArray, conditionMappings);
+
+        var configurationNode = scopeNode.putObject(CONFIGURATION);
+        configurationNode.put(ASYNC, isAsync(apiGeePolicy));
+        configurationNode.put(ADD_HEADERS, true);
+
+        var dynamicLimit = buildDynamicLimit(limit, policyName, apiGeePolicy, migrationContext);
+        var rateNode = configurationNode.putObject(isQuota ? QUOTA_RATE : RATE);
+        // The dynamic limit is only read when the limit is 0, the count of the policy is its fallback
+        rateNode.put(LIMIT, dynamicLimit != null ? 0 : limit);
+        rateNode.put(PERIOD_TIME, periodTime);
+        rateNode.put(PERIOD_TIME_UNIT, periodTimeUnit);
+        configureKey(rateNode, apiGeePolicy);
+        if (dynamicLimit != null) {
+            rateNode.put(DYNAMIC_LIMIT, dynamicLimit);
+        }
+
+        reportUnsupportedSettings(policyName, apiGeePolicy, migrationContext);
+    }
+
+    private boolean isAsync(Document apiGeePolicy) throws XPathExpressionException {
+        // Apigee only synchronizes the counters on each request when the quota is distributed and synchronous,
+        // otherwise the counters are updated in the background like the async mode of Gravitee
+        var distributed = Boolean.parseBoolean(xPath.evaluate("/Quota/Distributed", apiGeePolicy).trim());
+        var synchronous = Boolean.parseBoolean(xPath.evaluate("/Quota/Synchronous", apiGeePolicy).trim());
+        return asyncRateLimit || !(distributed && synchronous);
+    }
+
+    private int parseAllowCount(String policyName, Document apiGeePolicy) throws XPathExpressionException {
+        var count = xPath.evaluate("/Quota/Allow/@count", apiGeePolicy).trim();
+        if (count.isEmpty()) {
+            // Count of the first class, the classes are reported as not supported
+            count = xPath.evaluate("/Quota/Allow/Class/Allow/@count", apiGeePolicy).trim();
+        }
+        var countRef = xPath.evaluate("/Quota/Allow/@countRef", apiGeePolicy).trim();
+
+        if (count.isEmpty() && countRef.isEmpty()) {
+            throw new IllegalArgumentException(String.format("Quota policy '%s' has no Allow count, it can't be converted", policyName));
+        }
+        try {
+            // Without count, the limit only comes from the variable (0 means no static count)
+            return count.isEmpty() ? 0 : Integer.parseInt(count);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid Allow count '%s' of Quota policy '%s'", count, policyName));
+        }
+    }
+
+    private int parseInterval(String policyName, Document apiGeePolicy, MigrationContext migrationContext) throws XPathExpressionException {
+        var interval = readValue("Interval", "1", policyName, apiGeePolicy, migrationContext);
+        try {
+            return Integer.parseInt(interval);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("Invalid Interval '%s' of Quota policy '%s'", interval, policyName));
+        }
+    }
+
+    private String readValue(String element, String defaultValue, String policyName, Document apiGeePolicy, MigrationContext migrationContext) throws XPathExpressionException {
+        var value = xPath.evaluate("/Quota/" + element, apiGeePolicy).trim();
+        var reference = xPath.evaluate("/Quota/" + element + "/@ref", apiGeePolicy).trim();
+
+        // Values read from a variable (e.g. the quota settings of the API product) are only known at runtime
+        if (!reference.isEmpty()) {
+            migrationContext.addWarning(String.format("Quota policy '%s' reads its %s from the variable '%s', the value '%s' is used instead",
+                    policyName, element, reference, value.isEmpty() ? defaultValue : value));
+        }
+        return value.isEmpty() ? defaultValue : value;
+    }
+
+    private void configureKey(ObjectNode rateNode, Document apiGeePolicy) throws XPathExpressionException {
+        // The requests are counted per identifier
+        var identifier = xPath.evaluate("/Quota/Identifier/@ref", apiGeePolicy).trim();
+        if (!identifier.isEmpty()) {
+            rateNode.put(KEY, ConditionElEmitter.emitValue(identifier));
+        }
+    }
+
+    private String buildDynamicLimit(int limit, String policyName, Document apiGeePolicy, MigrationContext migrationContext) throws XPathExpressionException {
+        var countRef = xPath.evaluate("/Quota/Allow/@countRef", apiGeePolicy).trim();
+        var messageWeight = xPath.evaluate("/Quota/MessageWeight/@ref", apiGeePolicy).trim();
+
+        // The count of the variable takes precedence over the count of the policy, which is used when the variable is not set
+        var count = String.valueOf(limit);
+        if (!countRef.isEmpty()) {
+            var countVariable = removeCurlyBraces(ConditionElEmitter.emitValue(countRef));
+            count = limit > 0 ? "(" + countVariable + " != null ? " + countVariable + " : " + limit + ")" : countVariable;
+        }
+
+        if (!messageWeight.isEmpty()) {
+            migrationContext.addWarning(String.format("Quota policy '%s' weights the requests with '%s', the limit is divided by the weight of each request instead, the weight must be a number",
+                    policyName, messageWeight));
+            return String.format(WEIGHTED_LIMIT_FORMAT, removeCurlyBraces(ConditionElEmitter.emitValue(messageWeight)), count);
+        }
+        return !countRef.isEmpty() ? "{" + count + "}" : null;
+    }
+
+    private void reportUnsupportedSettings(String policyName, Document apiGeePolicy, MigrationContext migrationContext) throws XPathExpressionException {
+        var type = xPath.evaluate("/Quota/@type", apiGeePolicy).trim();
+        if ("rollingwindow".equalsIgnoreCase(type) || "flexi".equalsIgnoreCase(type)) {
+            migrationContext.addWarning(String.format("Quota policy '%s' of type '%s' is converted to a quota with fixed periods", policyName, type));
+        }
+        if (!xPath.evaluate("/Quota/StartTime", apiGeePolicy).trim().isEmpty()) {
+            migrationContext.addWarning(String.format("StartTime of Quota policy '%s' is not supported, the periods start with the first request", policyName));
+        }
+        if (!xPath.evaluate("/Quota/Allow/Class/@ref", apiGeePolicy).trim().isEmpty()) {
+            migrationContext.addWarning(String.format("Allow classes of Quota policy '%s' are not supported, the count of the policy is used for every class", policyName));
+        }
+        if (!xPath.evaluate("/Quota/UseQuotaConfigInAPIProduct/@stepName", apiGeePolicy).trim().isEmpty()) {
+            migrationContext.addWarning(String.format("Quota policy '%s' uses the quota of the API product, configure the quota on the Gravitee plan instead", policyName));
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -35,8 +36,8 @@ public class RaiseFaultConverter implements PolicyConverter {
     private final XPath xPath;
 
     @Override
-    public boolean supports(String policyType) {
-        return RAISE_FAULT.equals(policyType);
+    public String getPolicyType() {
+        return RAISE_FAULT;
     }
 
     /**
@@ -50,7 +51,7 @@ public class RaiseFaultConverter implements PolicyConverter {
      * @throws Exception if an error occurs during conversion.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         // Extract values
         var policyName = xPath.evaluate("/RaiseFault/@name", apiGeePolicy);
         var status = xPath.evaluate("/RaiseFault/FaultResponse/Set/StatusCode", apiGeePolicy);
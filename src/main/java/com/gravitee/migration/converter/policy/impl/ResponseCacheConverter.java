@@ -0,0 +1,148 @@
+package com.gravitee.migration.converter.policy.impl;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.condition.ConditionElEmitter;
+import com.gravitee.migration.converter.context.MigrationContext;
+import com.gravitee.migration.converter.policy.PolicyConverter;
+import com.gravitee.migration.util.policy.CacheExpiryUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import java.util.List;
+import java.util.Map;
+
+import static com.gravitee.migration.util.GraviteeCliUtils.createBasePhaseObject;
+import static com.gravitee.migration.util.GraviteeCliUtils.translateApigeeCondition;
+import static com.gravitee.migration.util.StringUtils.*;
+import static com.gravitee.migration.util.constants.CommonConstants.*;
+import static com.gravitee.migration.util.constants.object.ApiObjectConstants.TIME_TO_LIVE_SECONDS;
+import static com.gravitee.migration.util.constants.object.PlanObjectConstants.*;
+import static com.gravitee.migration.util.constants.policy.PolicyConstants.RESPONSE_CACHE;
+import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.CACHE;
+import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.TRANSFORM_HEADERS;
+
+/**
+ * <p>Converts ResponseCache policy from Apigee to Gravitee.</p>
+ *
+ * <p>This class implements the PolicyConverter interface and provides the logic
+ * to convert the ResponseCache policy. The cache policy of Gravitee looks up the response in the request phase and stores it
+ * once the backend has responded, so the ResponseCache is only converted in the request phase.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheConverter implements PolicyConverter {
+
+    // Request headers appended to the key by Apigee when UseAcceptHeader is enabled
+    private static final List<String> ACCEPT_HEADER_VARIABLES = List.of("request.header.Accept", "request.header.Accept-Encoding",
+            "request.header.Accept-Language", "request.header.Accept-Charset");
+    private static final String SUCCESSFUL_RESPONSE_CONDITION = "#response.status >= 200 && #response.status < 300";
+    private static final String API_SCOPE = "API";
+
+    private final XPath xPath;
+
+    @Override
+    public String getPolicyType() {
+        return RESPONSE_CACHE;
+    }
+
+    /**
+     * Converts the ResponseCache policy from Apigee to Gravitee.
+     *
+     * @param condition    The condition to be applied to the policy.
+     * @param apiGeePolicy The Apigee policy document.
+     * @param phaseArray   The array node to which the converted policy will be added (e.g., request, response).
+     * @param phase        The phase of the policy (e.g., request, response).
+     * @throws XPathExpressionException if an error occurs during XPath evaluation.
+     */
+    @Override
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
+        // Extract properties
+        var policyName = xPath.evaluate("/ResponseCache/@name", apiGeePolicy);
+        var cacheResource = cacheResourceName(xPath.evaluate("/ResponseCache/CacheResource", apiGeePolicy));
+        var cacheKeyFragments = (NodeList) xPath.evaluate("/ResponseCache/CacheKey/KeyFragment", apiGeePolicy, XPathConstants.NODESET);
+        var prefix = xPath.evaluate("/ResponseCache/CacheKey/Prefix", apiGeePolicy);
+
+        var key = addAcceptHeadersToKey(buildCacheKey(cacheKeyFragments, prefix), apiGeePolicy);
+
+        addSkipCacheLookupPolicy(condition, policyName, phaseArray, phase, apiGeePolicy, conditionMappings);
+
+        var objectNode = createBasePhaseObject(condition, policyName, CACHE, phaseArray, conditionMappings);
+        configureCache(objectNode, policyName, cacheResource, key, apiGeePolicy, conditionMappings, migrationContext);
+    }
+
+    private String addAcceptHeadersToKey(String key, Document apiGeePolicy) throws XPathExpressionException {
+        if (!Boolean.parseBoolean(xPath.evaluate("/ResponseCache/UseAcceptHeader", apiGeePolicy).trim())) {
+            return key;
+        }
+
+        // Responses negotiated with different Accept headers are stored separately, the headers follow the key
+        var keyWithHeaders = key.isEmpty() ? ConditionElEmitter.emitValue("request.uri") : key;
+        for (var acceptHeader : ACCEPT_HEADER_VARIABLES) {
+            keyWithHeaders = addPrefixToKey(keyWithHeaders, ConditionElEmitter.emitValue(acceptHeader));
+        }
+        return keyWithHeaders;
+    }
+
+    private void addSkipCacheLookupPolicy(String condition, String policyName, ArrayNode phaseArray, String phase, Document apiGeePolicy, Map<String, String> conditionMappings) throws XPathExpressionException {
+        var skipCacheLookup = xPath.evaluate("/ResponseCache/SkipCacheLookup", apiGeePolicy).trim();
+        if (skipCacheLookup.isEmpty()) {
+            return;
+        }
+
+        // The cache policy of Gravitee skips the lookup and refreshes the entry when the X-Gravitee-Cache header is REFRESH
+        var skipCondition = condition == null || condition.isBlank() ? skipCacheLookup : "(" + condition.trim() + ") and (" + skipCacheLookup + ")";
+        var scopeObject = createBasePhaseObject(skipCondition, policyName.concat("-Skip-Cache-Lookup"), TRANSFORM_HEADERS, phaseArray, conditionMappings);
+        var configurationObject = scopeObject.putObject(CONFIGURATION);
+        configurationObject.put(SCOPE, phase.toUpperCase());
+
+        var headersArray = configurationObject.putArray(ADD_HEADERS);
+        var headerObject = headersArray.addObject();
+        headerObject.put(NAME, X_GRAVITEE_CACHE);
+        headerObject.put(VALUE, REFRESH_CACHE);
+    }
+
+    private void configureCache(ObjectNode objectNode, String policyName, String cacheResource, String key, Document apiGeePolicy, Map<String, String> conditionMappings, MigrationContext migrationContext) throws XPathExpressionException {
+        var configurationObject = objectNode.putObject(CONFIGURATION);
+        configurationObject.put(CACHE_NAME, cacheResource);
+        configurationObject.put(KEY, key);
+        configurationObject.put(SCOPE, API_SCOPE);
+
+        // Without ExpirySettings the default time to live of the cache policy is used
+        var timeToLive = CacheExpiryUtil.resolveTimeToLiveSeconds(xPath, apiGeePolicy, migrationContext::addWarning);
+        if (timeToLive != CacheExpiryUtil.NO_EXPIRY) {
+            configurationObject.put(TIME_TO_LIVE_SECONDS, timeToLive);
+        }
+
+        configurationObject.put(USE_RESPONSE_CACHE_HEADERS, Boolean.parseBoolean(xPath.evaluate("/ResponseCache/UseResponseCacheHeaders", apiGeePolicy).trim()));
+
+        // Apigee only caches the responses of GET requests
+        configurationObject.putArray(METHODS).add(HttpMethod.GET.name());
+
+        configureResponseCondition(configurationObject, policyName, apiGeePolicy, conditionMappings, migrationContext);
+    }
+
+    private void configureResponseCondition(ObjectNode configurationObject, String policyName, Document apiGeePolicy, Map<String, String> conditionMappings, MigrationContext migrationContext) throws XPathExpressionException {
+        var skipCachePopulation = xPath.evaluate("/ResponseCache/SkipCachePopulation", apiGeePolicy).trim();
+        if (skipCachePopulation.isEmpty()) {
+            return;
+        }
+
+        var populationCondition = translateApigeeCondition(skipCachePopulation, conditionMappings);
+        if (populationCondition == null) {
+            // The raw Apigee condition would be an invalid EL condition, the default condition of the cache policy is kept
+            migrationContext.addWarning(String.format("SkipCachePopulation condition '%s' of ResponseCache policy '%s' can't be translated to Gravitee EL, every successful response is cached",
+                    skipCachePopulation, policyName));
+            return;
+        }
+
+        // The response condition replaces the default condition of the cache policy (successful responses only), so it is kept
+        configurationObject.put(RESPONSE_CONDITION, "{" + SUCCESSFUL_RESPONSE_CONDITION + " && !(" + unwrapExpression(populationCondition) + ")}");
+    }
+}
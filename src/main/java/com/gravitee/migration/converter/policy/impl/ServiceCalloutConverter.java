@@ -2,6 +2,7 @@ package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -42,8 +43,8 @@ public class ServiceCalloutConverter implements PolicyConverter {
     private static final String PATH_DELIMITER = "/";
 
     @Override
-    public boolean supports(String policyType) {
-        return SERVICE_CALLOUT.equals(policyType);
+    public String getPolicyType() {
+        return SERVICE_CALLOUT;
     }
 
     /**
@@ -56,7 +57,7 @@ public class ServiceCalloutConverter implements PolicyConverter {
      * @throws XPathExpressionException if an error occurs during XPath evaluation.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws XPathExpressionException {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract properties
         var policyName = xPath.evaluate("/ServiceCallout/@name", apiGeePolicy);
         var headersNodeList = (NodeList) xPath.evaluate("/ServiceCallout/Request/Set/Headers/Header", apiGeePolicy, XPathConstants.NODESET);
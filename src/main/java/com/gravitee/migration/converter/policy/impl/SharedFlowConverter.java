@@ -1,15 +1,20 @@
 package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
 
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
+import java.util.List;
 import java.util.Map;
 
+import static com.gravitee.migration.util.GraviteeCliUtils.combineGraviteeConditions;
 import static com.gravitee.migration.util.GraviteeCliUtils.createBasePhaseObject;
+import static com.gravitee.migration.util.GraviteeCliUtils.describeConditions;
+import static com.gravitee.migration.util.GraviteeCliUtils.translateApigeeConditions;
 import static com.gravitee.migration.util.constants.CommonConstants.*;
 import static com.gravitee.migration.util.constants.object.PlanObjectConstants.SHARED_POLICY_GROUP_ID;
 import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.SHARED_POLICY_GROUP;
@@ -23,7 +28,7 @@ public class SharedFlowConverter {
 
     private final XPath xPath;
 
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws XPathExpressionException {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, MigrationContext migrationContext) throws XPathExpressionException {
         var flowCalloutName = xPath.evaluate("/FlowCallout/SharedFlowBundle", apiGeePolicy);
         var policyName = xPath.evaluate("/FlowCallout/@name", apiGeePolicy);
 
@@ -35,5 +40,26 @@ public class SharedFlowConverter {
 
         var configuration = phaseArrayObject.putObject(CONFIGURATION);
         configuration.put(SHARED_POLICY_GROUP_ID, extendedPolicyName);
+
+        collectMessageLoggingConditions(extendedPolicyName, policyName, condition, conditionMappings, migrationContext);
+    }
+
+    private void collectMessageLoggingConditions(String sharedPolicyGroupName, String policyName, String condition, Map<String, String> conditionMappings, MigrationContext migrationContext) {
+        var loggingConditions = migrationContext.getSharedPolicyGroupMessageLoggingConditions().get(sharedPolicyGroupName);
+        if (loggingConditions == null) {
+            return;
+        }
+
+        // The MessageLogging policies of the shared policy group only apply when the FlowCallout and its flow are executed
+        var flowCondition = migrationContext.getFlowCondition();
+        var flowCalloutCondition = translateApigeeConditions(conditionMappings, flowCondition, condition);
+        if (flowCalloutCondition == null) {
+            migrationContext.addWarning(String.format("Condition '%s' of FlowCallout policy '%s' can't be translated to Gravitee EL, the MessageLogging policies of shared policy group '%s' are skipped",
+                    describeConditions(flowCondition, condition), policyName, sharedPolicyGroupName));
+            return;
+        }
+        for (var loggingCondition : loggingConditions) {
+            migrationContext.addMessageLoggingCondition(combineGraviteeConditions(List.of(flowCalloutCondition, loggingCondition)));
+        }
     }
 }
@@ -2,24 +2,33 @@ package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.condition.ConditionElEmitter;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import com.gravitee.migration.enums.RateLimitIntervalMapper;
 import com.gravitee.migration.util.constants.policy.PolicyTypeConstants;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
 
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathExpressionException;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static com.gravitee.migration.util.GraviteeCliUtils.createBasePhaseObject;
-import static com.gravitee.migration.util.StringUtils.wrapValueInContextAttributes;
+import static com.gravitee.migration.util.StringUtils.removeCurlyBraces;
 import static com.gravitee.migration.util.constants.CommonConstants.*;
 import static com.gravitee.migration.util.constants.object.PlanObjectConstants.ADD_HEADERS;
+import static com.gravitee.migration.util.constants.object.PlanObjectConstants.DYNAMIC_LIMIT;
+import static com.gravitee.migration.util.constants.object.PlanObjectConstants.RATE;
 import static com.gravitee.migration.util.constants.object.PlanObjectConstants.SPIKE;
+import static com.gravitee.migration.util.constants.object.PlanObjectConstants.WEIGHTED_LIMIT_FORMAT;
 import static com.gravitee.migration.util.constants.policy.PolicyConstants.SPIKE_ARREST;
 import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.ASSIGN_ATTRIBUTES;
+import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.RATE_LIMIT;
 
 /**
  * <p>Converts the SpikeArrest policy from Apigee to Gravitee format.</p>
@@ -31,11 +40,16 @@ import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.A
 @RequiredArgsConstructor
 public class SpikeArrestConverter implements PolicyConverter {
 
+    private static final Pattern RATE_PATTERN = Pattern.compile("(\\d+)\\s*(ps|pm)", Pattern.CASE_INSENSITIVE);
+
     private final XPath xPath;
 
+    @Value("${gravitee.rate-limit.async:false}")
+    private boolean asyncRateLimit;
+
     @Override
-    public boolean supports(String policyType) {
-        return SPIKE_ARREST.equals(policyType);
+    public String getPolicyType() {
+        return SPIKE_ARREST;
     }
 
     /**
@@ -48,52 +62,80 @@ public class SpikeArrestConverter implements PolicyConverter {
      * @throws XPathExpressionException if an error occurs during XPath evaluation.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws XPathExpressionException {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract properties
         var policyName = xPath.evaluate("/SpikeArrest/@name", apiGeePolicy);
-        var scopeNode = createBasePhaseObject(condition, policyName, PolicyTypeConstants.SPIKE_ARREST, phaseArray, conditionMappings);
-        var identifier = xPath.evaluate("/SpikeArrest/Identifier/@ref", apiGeePolicy);
+        var identifier = xPath.evaluate("/SpikeArrest/Identifier/@ref", apiGeePolicy).trim();
+        var rate = parseRate(policyName, apiGeePolicy, migrationContext);
 
-        constructRequestConfiguration(scopeNode, apiGeePolicy);
-        addAttributeToContext(condition, policyName, identifier, phaseArray, conditionMappings, phase);
+        // Apigee smooths the requests unless the effective count is used, which counts the requests of the whole period like a rate limit
+        var useEffectiveCount = Boolean.parseBoolean(xPath.evaluate("/SpikeArrest/UseEffectiveCount", apiGeePolicy).trim());
+        var scopeNode = createBasePhaseObject(condition, policyName, useEffectiveCount ? RATE_LIMIT : PolicyTypeConstants.SPIKE_ARREST, phaseArray, conditionMappings);
+
+        constructRequestConfiguration(scopeNode, apiGeePolicy, rate, useEffectiveCount ? RATE : SPIKE, identifier, policyName, migrationContext);
+        if (!identifier.isEmpty()) {
+            addAttributeToContext(condition, policyName, identifier, phaseArray, conditionMappings, phase);
+        }
     }
 
     private void addAttributeToContext(String condition, String policyName, String identifier, ArrayNode phaseArray, Map<String, String> conditionMappings, String phase) {
-    var phaseObject = createBasePhaseObject(condition, policyName.concat("-Set-Differentiator"), ASSIGN_ATTRIBUTES, phaseArray, conditionMappings);
-    var configurationObject = phaseObject.putObject(CONFIGURATION);
-    configurationObject.put(SCOPE, phase.toUpperCase());
-
-    var attributesArray = configurationObject.putArray(ATTRIBUTES);
-    var attributeNode = attributesArray.addObject();
-    attributeNode.put(NAME, "SpikeArrest.Differentiator");
-    attributeNode.put(VALUE, wrapValueInContextAttributes(identifier));
+        var phaseObject = createBasePhaseObject(condition, policyName.concat("-Set-Differentiator"), ASSIGN_ATTRIBUTES, phaseArray, conditionMappings);
+        var configurationObject = phaseObject.putObject(CONFIGURATION);
+        configurationObject.put(SCOPE, phase.toUpperCase());
+
+        var attributesArray = configurationObject.putArray(ATTRIBUTES);
+        var attributeNode = attributesArray.addObject();
+        attributeNode.put(NAME, "SpikeArrest.Differentiator");
+        attributeNode.put(VALUE, ConditionElEmitter.emitValue(identifier));
     }
 
-    private void constructRequestConfiguration(ObjectNode requestNode, Document apiGeePolicy) throws XPathExpressionException {
+    private Matcher parseRate(String policyName, Document apiGeePolicy, MigrationContext migrationContext) throws XPathExpressionException {
+        var rate = xPath.evaluate("/SpikeArrest/Rate", apiGeePolicy).trim();
+        var rateRef = xPath.evaluate("/SpikeArrest/Rate/@ref", apiGeePolicy).trim();
+
+        if (!rateRef.isEmpty()) {
+            if (rate.isEmpty()) {
+                throw new IllegalArgumentException(String.format("SpikeArrest policy '%s' reads its rate from the variable '%s' without default rate, it can't be converted", policyName, rateRef));
+            }
+            migrationContext.addWarning(String.format("SpikeArrest policy '%s' reads its rate from the variable '%s', the default rate %s is used instead", policyName, rateRef, rate));
+        }
+
+        var matcher = RATE_PATTERN.matcher(rate);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(String.format("Invalid rate '%s' of SpikeArrest policy '%s'", rate, policyName));
+        }
+        return matcher;
+    }
+
+    private void constructRequestConfiguration(ObjectNode requestNode, Document apiGeePolicy, Matcher rate, String rateNodeName, String identifier, String policyName, MigrationContext migrationContext) throws XPathExpressionException {
         // Create configuration
         var configurationNode = requestNode.putObject(CONFIGURATION);
         var async = xPath.evaluate("/SpikeArrest/@async", apiGeePolicy);
 
-        configurationNode.put(ASYNC, Boolean.parseBoolean(async));
+        // Async mode updates the counters in the background instead of a repository call on each request, at the cost of strictness
+        configurationNode.put(ASYNC, asyncRateLimit || Boolean.parseBoolean(async));
         configurationNode.put(ADD_HEADERS, true);
-        constructRequestRateLimit(configurationNode, apiGeePolicy);
+        constructRequestRateLimit(configurationNode.putObject(rateNodeName), apiGeePolicy, rate, identifier, policyName, migrationContext);
     }
 
-    private void constructRequestRateLimit(ObjectNode configurationNode, Document apiGeePolicy) throws XPathExpressionException {
-        var spikeNode = configurationNode.putObject(SPIKE);
-        var rate = xPath.evaluate("/SpikeArrest/Rate", apiGeePolicy);
-
-        var limit = Integer.parseInt(rate.replaceAll("\\D+", "")); // Extract only the numeric part
-        spikeNode.put(LIMIT, limit);
-
-        var rateString = rate.replaceAll("\\d+", ""); // Extract only the string part
-        spikeNode.put(PERIOD_TIME, RateLimitIntervalMapper.mapShorthandRateToInt(rateString));
-        spikeNode.put(PERIOD_TIME_UNIT, RateLimitIntervalMapper.mapShorthandRate(rateString));
+    private void constructRequestRateLimit(ObjectNode rateNode, Document apiGeePolicy, Matcher rate, String identifier, String policyName, MigrationContext migrationContext) throws XPathExpressionException {
+        // Like Apigee, the spike arrest of Gravitee spreads the limit over the period, e.g. 30pm allows one request every 2 seconds
+        var limit = Integer.parseInt(rate.group(1));
+        var messageWeight = xPath.evaluate("/SpikeArrest/MessageWeight/@ref", apiGeePolicy).trim();
+        // The dynamic limit is only read when the limit is 0, the rate is the fallback of the dynamic limit
+        rateNode.put(LIMIT, messageWeight.isEmpty() ? limit : 0);
+        rateNode.put(PERIOD_TIME, RateLimitIntervalMapper.mapShorthandRateToInt(rate.group(2)));
+        rateNode.put(PERIOD_TIME_UNIT, RateLimitIntervalMapper.mapShorthandRate(rate.group(2)));
+
+        // The requests are counted per identifier
+        if (!identifier.isEmpty()) {
+            rateNode.put(KEY, ConditionElEmitter.emitValue(identifier));
+        }
 
-        var identifierRef = xPath.evaluate("/SpikeArrest/Identifier/@ref", apiGeePolicy);
-        // Wrap the identifierRef value in context attributes
-        if (identifierRef.equals("request.header.Origin")) {
-            spikeNode.put(KEY, String.format(REQUEST_HEADER_WRAPPED, "origin"));
+        if (!messageWeight.isEmpty()) {
+            rateNode.put(DYNAMIC_LIMIT, String.format(WEIGHTED_LIMIT_FORMAT, removeCurlyBraces(ConditionElEmitter.emitValue(messageWeight)), limit));
+            migrationContext.addWarning(String.format("SpikeArrest policy '%s' weights the requests with '%s', the limit is divided by the weight of each request instead, the weight must be a number",
+                    policyName, messageWeight));
         }
     }
 }
@@ -1,6 +1,7 @@
 package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -32,8 +33,8 @@ public class VerifyAPIKeyConverter implements PolicyConverter {
     private final XPath xPath;
 
     @Override
-    public boolean supports(String policyType) {
-        return VERIFY_API_KEY.equals(policyType);
+    public String getPolicyType() {
+        return VERIFY_API_KEY;
     }
 
     /**
@@ -48,7 +49,7 @@ public class VerifyAPIKeyConverter implements PolicyConverter {
      * @throws Exception if an error occurs during conversion.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         // Extract values
         var policyName = xPath.evaluate("/VerifyAPIKey/@name", apiGeePolicy);
         var apiKeyRef = xPath.evaluate("/VerifyAPIKey/APIKey/@ref", apiGeePolicy);
@@ -2,6 +2,7 @@ package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
@@ -32,8 +33,8 @@ public class VerifyJWTConverter implements PolicyConverter {
 
     private final XPath xPath;
 
-    public boolean supports(String policyType) {
-        return VERIFY_JWT.equals(policyType);
+    public String getPolicyType() {
+        return VERIFY_JWT;
     }
 
     /**
@@ -46,7 +47,7 @@ public class VerifyJWTConverter implements PolicyConverter {
      * @throws Exception if an error occurs during conversion.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         // Extract properties
         var policyName = xPath.evaluate("/VerifyJWT/@name", apiGeePolicy);
         var algorithm = xPath.evaluate("/VerifyJWT/Algorithm", apiGeePolicy);
@@ -1,6 +1,7 @@
 package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
 import com.gravitee.migration.converter.policy.PolicyConverter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
@@ -48,8 +49,8 @@ public class XMLToJson implements PolicyConverter {
             """;
 
     @Override
-    public boolean supports(String policyType) {
-        return XML_TO_JSON.equals(policyType);
+    public String getPolicyType() {
+        return XML_TO_JSON;
     }
 
     /**
@@ -63,7 +64,7 @@ public class XMLToJson implements PolicyConverter {
      * @throws Exception if an error occurs during conversion.
      */
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         System.out.println(WARNING);
         // Extract values
         var name = xPath.evaluate("/XMLToJSON/@name", apiGeePolicy);
@@ -2,7 +2,8 @@ package com.gravitee.migration.converter.policy.impl;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.gravitee.migration.converter.policy.AdvancedPolicyConverter;
+import com.gravitee.migration.converter.context.MigrationContext;
+import com.gravitee.migration.converter.policy.PolicyConverter;
 import com.gravitee.migration.service.filereader.FileReaderService;
 import com.gravitee.migration.util.constants.policy.PolicyTypeConstants;
 import lombok.RequiredArgsConstructor;
@@ -37,18 +38,18 @@ import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.A
  */
 @Component
 @RequiredArgsConstructor
-public class XSLTConverter implements AdvancedPolicyConverter {
+public class XSLTConverter implements PolicyConverter {
 
     private final XPath xPath;
     private final FileReaderService fileReaderService;
 
     @Override
-    public boolean supports(String policyType) {
-        return XSLT.equals(policyType);
+    public String getPolicyType() {
+        return XSLT;
     }
 
     @Override
-    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation) throws Exception {
+    public void convert(String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, Map<String, String> conditionMappings, String currentFolderLocation, MigrationContext migrationContext) throws Exception {
         // Extract properties
         var policyName = xPath.evaluate("/XSL/@name", apiGeePolicy);
         var outputVariable = xPath.evaluate("/XSL/OutputVariable", apiGeePolicy);
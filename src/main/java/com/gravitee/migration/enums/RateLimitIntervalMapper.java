@@ -2,37 +2,67 @@ package com.gravitee.migration.enums;
 
 public class RateLimitIntervalMapper {
 
+    private static final String PER_SECOND = "ps";
+    private static final String PER_MINUTE = "pm";
+
     private RateLimitIntervalMapper() {
     }
 
     /**
      * Maps a shorthand rate interval to its full unit.
      *
-     * @param interval the shorthand interval (e.g., "ps").
-     * @return the mapped time unit (e.g., "SECONDS").
+     * @param interval the shorthand interval (e.g., "ps", "pm").
+     * @return the mapped time unit (e.g., "SECONDS", "MINUTES").
+     * @throws IllegalArgumentException if the interval is not recognized.
      */
     public static String mapShorthandRate(String interval) {
         if (interval == null || interval.isEmpty()) {
             throw new IllegalArgumentException("Interval cannot be null or empty");
         }
-        return "ps".equals(interval) ? "SECONDS" : interval;
+        return switch (interval.trim().toLowerCase()) {
+            case PER_SECOND -> "SECONDS";
+            case PER_MINUTE -> "MINUTES";
+            default -> throw new IllegalArgumentException("Unsupported interval: " + interval);
+        };
     }
 
     /**
      * Maps a shorthand rate interval to its numeric equivalent.
      *
      * @param interval the shorthand interval (e.g., "ps").
-     * @return the numeric equivalent of the interval (e.g., 1 for "ps").
+     * @return the numeric equivalent of the interval (e.g., 1 for "ps", 1 for "pm").
      * @throws IllegalArgumentException if the interval is not recognized.
      */
     public static int mapShorthandRateToInt(String interval) {
         if (interval == null || interval.isEmpty()) {
             throw new IllegalArgumentException("Interval cannot be null or empty");
         }
-        // per second
-        if ("ps".equals(interval)) {
+        // per second, per minute
+        if (PER_SECOND.equalsIgnoreCase(interval.trim()) || PER_MINUTE.equalsIgnoreCase(interval.trim())) {
             return 1;
         }
         throw new IllegalArgumentException("Unsupported interval: " + interval);
     }
+
+    /**
+     * Maps a time unit of a Quota policy to its full unit.
+     *
+     * @param timeUnit the time unit (e.g., "minute", "month").
+     * @return the mapped time unit (e.g., "MINUTES", "MONTHS").
+     * @throws IllegalArgumentException if the time unit is not recognized.
+     */
+    public static String mapTimeUnit(String timeUnit) {
+        if (timeUnit == null || timeUnit.isEmpty()) {
+            throw new IllegalArgumentException("Time unit cannot be null or empty");
+        }
+        return switch (timeUnit.trim().toLowerCase()) {
+            case "second" -> "SECONDS";
+            case "minute" -> "MINUTES";
+            case "hour" -> "HOURS";
+            case "day" -> "DAYS";
+            case "week" -> "WEEKS";
+            case "month" -> "MONTHS";
+            default -> throw new IllegalArgumentException("Unsupported time unit: " + timeUnit);
+        };
+    }
 }
@@ -5,7 +5,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import javax.xml.xpath.XPath;
-import javax.xml.xpath.XPathFactory;
 
 @Configuration
 public class AppConfig {
@@ -17,7 +16,8 @@ public class AppConfig {
 
     @Bean
     public XPath xPath() {
-        return XPathFactory.newInstance().newXPath();
+        // Shared by all converters, which can run on several threads at the same time
+        return new PooledXPath();
     }
 
 }
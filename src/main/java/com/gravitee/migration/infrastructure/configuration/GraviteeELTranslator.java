@@ -1,62 +1,191 @@
 package com.gravitee.migration.infrastructure.configuration;
 
+import com.gravitee.migration.converter.condition.ConditionCanonicalizer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
 import java.io.*;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 /*
  * This class is responsible for loading and translating Gravitee EL expressions
  * This is a template solution to handle the translation of Apigee policies to Gravitee policies. (hardcoded translations from the map)
+ *
+ * The mappings are loaded once at startup into an immutable snapshot. Optional external files override the mappings of the classpath,
+ * when they change the snapshot is reloaded and swapped atomically, so running migrations keep a consistent view of the mappings.
  */
+@Slf4j
 @Configuration
 public class GraviteeELTranslator {
 
+    private static final String MAPPING_SEPARATOR = "->";
+
     @Value("${gravitee.apigee-to-gravitee-conditions}")
     private String conditionMappingsFilePath;
 
     @Value("${gravitee.apigee-to-gravitee-assign-message-templates}")
     private String assignMessageTemplateMappingsFilePath;
 
-    private static final Map<String, String> conditionMappings = new HashMap<>();
-    private static final Map<String, String> assignMessageTemplateMappings = new HashMap<>();
+    @Value("${gravitee.mappings.external-conditions:}")
+    private String externalConditionMappingsFilePath;
+
+    @Value("${gravitee.mappings.external-assign-message-templates:}")
+    private String externalAssignMessageTemplateMappingsFilePath;
+
+    @Value("${gravitee.mappings.watch:true}")
+    private boolean watchExternalMappings;
 
-    public Map<String, String> getConditionMappings() {
-        return conditionMappings;
+    private final AtomicReference<MappingSnapshot> mappings = new AtomicReference<>(new MappingSnapshot(Map.of(), Map.of()));
+    private WatchService watchService;
+
+    /**
+     * Immutable view of the mappings, replaced as a whole when the external files change.
+     * The condition mappings are keyed by canonical Apigee condition (see {@link ConditionCanonicalizer}), the template
+     * mappings by trimmed Apigee template, templates are free text where case, parentheses and whitespace are meaningful.
+     */
+    public record MappingSnapshot(Map<String, String> conditionMappings, Map<String, String> assignMessageTemplateMappings) {
     }
 
-    public Map<String, String> getAssignMessageTemplateMappings() {
-        return assignMessageTemplateMappings;
+    @PostConstruct
+    public void init() throws IOException {
+        reloadMappings();
+
+        if (watchExternalMappings) {
+            watchExternalMappingFiles();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
     }
 
-    public void loadConditionMappings() {
-        loadMappings(conditionMappingsFilePath, conditionMappings);
+    /**
+     * Returns the current mappings, a migration takes them once when it starts so all its conditions and templates are
+     * translated with the same mappings.
+     */
+    public MappingSnapshot getMappings() {
+        return mappings.get();
     }
 
-    public void loadAssignMessageTemplateMappings() {
-        loadMappings(assignMessageTemplateMappingsFilePath, assignMessageTemplateMappings);
+    /**
+     * Loads the mappings from the classpath and the external files, and replaces the current snapshot.
+     */
+    public void reloadMappings() {
+        var conditionMappings = loadMappings(conditionMappingsFilePath, externalConditionMappingsFilePath, ConditionCanonicalizer::canonicalize);
+        var assignMessageTemplateMappings = loadMappings(assignMessageTemplateMappingsFilePath, externalAssignMessageTemplateMappingsFilePath, String::trim);
+
+        mappings.set(new MappingSnapshot(conditionMappings, assignMessageTemplateMappings));
     }
 
-    private void loadMappings(String filePath, Map<String, String> mappings) {
-        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(filePath)) {
+    private Map<String, String> loadMappings(String resourcePath, String externalFilePath, UnaryOperator<String> keyNormalizer) {
+        Map<String, String> loadedMappings = new LinkedHashMap<>();
+
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(resourcePath)) {
             if (inputStream == null) {
-                throw new FileNotFoundException("Resource not found: " + filePath);
+                throw new FileNotFoundException("Resource not found: " + resourcePath);
             }
+            readMappings(inputStream, loadedMappings, keyNormalizer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error loading mappings from resource: " + resourcePath, e);
+        }
 
-            try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-                reader.lines()
-                        .filter(line -> !line.trim().isEmpty() && line.contains("->"))
-                        .forEach(line -> {
-                            String[] parts = line.split("->", 2);
-                            String key = parts[0].trim();
-                            String value = parts[1].trim();
-                            mappings.putIfAbsent(key, value);
-                        });
+        if (isExternalFileConfigured(externalFilePath)) {
+            // The external mappings override the mappings of the classpath
+            Map<String, String> externalMappings = new LinkedHashMap<>();
+            try (InputStream inputStream = Files.newInputStream(Path.of(externalFilePath))) {
+                readMappings(inputStream, externalMappings, keyNormalizer);
+                loadedMappings.putAll(externalMappings);
+            } catch (IOException e) {
+                log.warn("Failed to load the mappings from {}, only the default mappings are used: {}", externalFilePath, e.getMessage());
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Error loading mappings from resource: " + filePath, e);
+        }
+
+        return Collections.unmodifiableMap(loadedMappings);
+    }
+
+    private void readMappings(InputStream inputStream, Map<String, String> mappings, UnaryOperator<String> keyNormalizer) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            reader.lines()
+                    .filter(line -> !line.trim().isEmpty() && line.contains(MAPPING_SEPARATOR))
+                    .forEach(line -> {
+                        String[] parts = line.split(MAPPING_SEPARATOR, 2);
+                        // Conditions that only differ in formatting share the same key, templates are only trimmed
+                        String key = keyNormalizer.apply(parts[0]);
+                        String value = parts[1].trim();
+                        mappings.putIfAbsent(key, value);
+                    });
+        }
+    }
+
+    private boolean isExternalFileConfigured(String externalFilePath) {
+        return externalFilePath != null && !externalFilePath.isBlank();
+    }
+
+    /**
+     * Watches the folders of the external mapping files, the mappings are reloaded when one of the files is created or modified.
+     * A folder that can't be watched (e.g. it doesn't exist yet) is skipped with a warning, the mappings loaded at startup are kept.
+     */
+    private void watchExternalMappingFiles() throws IOException {
+        Set<Path> watchedFiles = new HashSet<>();
+        for (String externalFilePath : List.of(externalConditionMappingsFilePath, externalAssignMessageTemplateMappingsFilePath)) {
+            if (isExternalFileConfigured(externalFilePath)) {
+                watchedFiles.add(Path.of(externalFilePath).toAbsolutePath().normalize());
+            }
+        }
+        if (watchedFiles.isEmpty()) {
+            return;
+        }
+
+        watchService = FileSystems.getDefault().newWatchService();
+        boolean watching = false;
+        for (Path folder : watchedFiles.stream().map(Path::getParent).distinct().toList()) {
+            try {
+                folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                watching = true;
+            } catch (IOException e) {
+                log.warn("Can't watch the folder {} of the external mappings, changes to its files are not reloaded: {}", folder, e.toString());
+            }
+        }
+        if (!watching) {
+            watchService.close();
+            watchService = null;
+            return;
+        }
+
+        Thread watcher = new Thread(() -> watchForChanges(watchedFiles), "mapping-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchForChanges(Set<Path> watchedFiles) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                var folder = (Path) key.watchable();
+                boolean changed = key.pollEvents().stream()
+                        .filter(event -> event.context() instanceof Path)
+                        .anyMatch(event -> watchedFiles.contains(folder.resolve((Path) event.context())));
+                key.reset();
+
+                if (changed) {
+                    reloadMappings();
+                    log.info("Reloaded the condition and template mappings");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // The application is shutting down
         }
     }
 }
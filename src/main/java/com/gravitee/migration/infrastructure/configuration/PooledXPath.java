@@ -0,0 +1,200 @@
+package com.gravitee.migration.infrastructure.configuration;
+
+import org.xml.sax.InputSource;
+
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.xpath.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * XPath that delegates to a pool of XPath instances.
+ * XPath instances are not thread safe, this allows the XPath bean to be shared by converters running in parallel.
+ * <p>
+ * The converters evaluate the same literal expressions for every policy, so every expression is compiled once per
+ * pooled instance and the compiled expression is reused for the following evaluations. An instance is borrowed for a
+ * single evaluation and returned to the pool afterwards, so the compiled expressions are reused by every thread,
+ * including the short-lived virtual threads reading and parsing the bundles, which would recompile every expression
+ * with a registry per thread. The pool grows to the number of evaluations running at the same time.
+ * <p>
+ * The resolvers and the namespace context apply to every pooled instance, changing them discards the pooled instances.
+ */
+public class PooledXPath implements XPath {
+
+    private final XPathFactory xPathFactory = XPathFactory.newInstance();
+    // Idle instances, the most recently used first
+    private final ConcurrentLinkedDeque<PooledInstance> idleInstances = new ConcurrentLinkedDeque<>();
+
+    private volatile XPathVariableResolver variableResolver;
+    private volatile XPathFunctionResolver functionResolver;
+    private volatile NamespaceContext namespaceContext;
+    // Incremented when the configuration changes, the instances created with an older configuration are not reused
+    private volatile int configurationVersion;
+
+    /**
+     * XPath instance of the pool with its compiled expressions, used by a single thread at a time.
+     */
+    private record PooledInstance(XPath xPath, Map<String, XPathExpression> compiledExpressions, int configurationVersion) {
+
+        private XPathExpression getCompiledExpression(String expression) throws XPathExpressionException {
+            var compiledExpression = compiledExpressions.get(expression);
+            if (compiledExpression == null) {
+                compiledExpression = xPath.compile(expression);
+                compiledExpressions.put(expression, compiledExpression);
+            }
+            return compiledExpression;
+        }
+    }
+
+    private PooledInstance borrow() {
+        var version = configurationVersion;
+        PooledInstance instance;
+        while ((instance = idleInstances.pollFirst()) != null) {
+            if (instance.configurationVersion() == version) {
+                return instance;
+            }
+        }
+        return newInstance(version);
+    }
+
+    private void release(PooledInstance instance) {
+        if (instance.configurationVersion() == configurationVersion) {
+            idleInstances.offerFirst(instance);
+        }
+    }
+
+    private PooledInstance newInstance(int version) {
+        XPath xPath;
+        // XPathFactory is not thread safe either, instances are created one at a time
+        synchronized (xPathFactory) {
+            xPath = xPathFactory.newXPath();
+        }
+        if (variableResolver != null) {
+            xPath.setXPathVariableResolver(variableResolver);
+        }
+        if (functionResolver != null) {
+            xPath.setXPathFunctionResolver(functionResolver);
+        }
+        if (namespaceContext != null) {
+            xPath.setNamespaceContext(namespaceContext);
+        }
+        return new PooledInstance(xPath, new HashMap<>(), version);
+    }
+
+    private synchronized void configurationChanged() {
+        configurationVersion++;
+        idleInstances.clear();
+    }
+
+    @Override
+    public void reset() {
+        variableResolver = null;
+        functionResolver = null;
+        namespaceContext = null;
+        configurationChanged();
+    }
+
+    @Override
+    public void setXPathVariableResolver(XPathVariableResolver resolver) {
+        if (resolver == null) {
+            throw new NullPointerException("XPathVariableResolver can not be null");
+        }
+        variableResolver = resolver;
+        configurationChanged();
+    }
+
+    @Override
+    public XPathVariableResolver getXPathVariableResolver() {
+        return variableResolver;
+    }
+
+    @Override
+    public void setXPathFunctionResolver(XPathFunctionResolver resolver) {
+        if (resolver == null) {
+            throw new NullPointerException("XPathFunctionResolver can not be null");
+        }
+        functionResolver = resolver;
+        configurationChanged();
+    }
+
+    @Override
+    public XPathFunctionResolver getXPathFunctionResolver() {
+        return functionResolver;
+    }
+
+    @Override
+    public void setNamespaceContext(NamespaceContext nsContext) {
+        if (nsContext == null) {
+            throw new NullPointerException("NamespaceContext can not be null");
+        }
+        namespaceContext = nsContext;
+        configurationChanged();
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return namespaceContext;
+    }
+
+    /**
+     * Compiles a new expression, the returned expression is owned by the caller and not shared with the pool.
+     */
+    @Override
+    public XPathExpression compile(String expression) throws XPathExpressionException {
+        var instance = borrow();
+        try {
+            return instance.xPath().compile(expression);
+        } finally {
+            release(instance);
+        }
+    }
+
+    @Override
+    public Object evaluate(String expression, Object item, QName returnType) throws XPathExpressionException {
+        var instance = borrow();
+        try {
+            return getCompiledExpression(instance, expression).evaluate(item, returnType);
+        } finally {
+            release(instance);
+        }
+    }
+
+    @Override
+    public String evaluate(String expression, Object item) throws XPathExpressionException {
+        var instance = borrow();
+        try {
+            return getCompiledExpression(instance, expression).evaluate(item);
+        } finally {
+            release(instance);
+        }
+    }
+
+    @Override
+    public Object evaluate(String expression, InputSource source, QName returnType) throws XPathExpressionException {
+        var instance = borrow();
+        try {
+            return getCompiledExpression(instance, expression).evaluate(source, returnType);
+        } finally {
+            release(instance);
+        }
+    }
+
+    @Override
+    public String evaluate(String expression, InputSource source) throws XPathExpressionException {
+        var instance = borrow();
+        try {
+            return getCompiledExpression(instance, expression).evaluate(source);
+        } finally {
+            release(instance);
+        }
+    }
+
+    private XPathExpression getCompiledExpression(PooledInstance instance, String expression) throws XPathExpressionException {
+        if (expression == null) {
+            throw new NullPointerException("XPath expression can not be null");
+        }
+        return instance.getCompiledExpression(expression);
+    }
+}
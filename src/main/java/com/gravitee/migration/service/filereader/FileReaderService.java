@@ -1,10 +1,10 @@
 package com.gravitee.migration.service.filereader;
 
+import com.gravitee.migration.converter.context.BundleSymbolTable;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
 import javax.xml.parsers.ParserConfigurationException;
-import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
@@ -16,21 +16,32 @@ public interface FileReaderService {
 
     /**
      * Reads the absolute path of a directory based on the provided folder location and folder name.
+     * If the folder location is a zip archive, the directory is read from the root of the archive and
+     * the returned location points inside the archive (jar:file:///path/to/bundle.zip!/apiproxy).
      *
-     * @param folderLocation The root folder location.
+     * @param folderLocation The root folder location, or a zip archive.
      * @param folderName     The name of the subfolder.
      * @return The absolute path of the specified directory.
      */
     String readAbsolutePathOfDirectory(String folderLocation, String folderName);
 
     /**
-     * Finds a folder that starts with the specified prefix within the given shared flows folder.
+     * Checks if the location is an existing directory, on the disk or inside a zip archive.
      *
-     * @param sharedFlowsFolder The root folder location to search for subfolders.
+     * @param location The location to check.
+     * @return true if the location is a directory.
+     */
+    boolean isDirectory(String location);
+
+    /**
+     * Finds a folder or zip archive that starts with the specified prefix, next to the bundle of the given location.
+     *
+     * @param sharedFlowsFolder The location of the current sharedflowbundle folder.
      * @param folderNamePrefix  The prefix of the folder name to search for.
-     * @return The found folder, or null if not found.
+     * @return The location of the found folder or zip archive.
+     * @throws IllegalArgumentException if no folder is found.
      */
-    File findFolderStartingWith(String sharedFlowsFolder, String folderNamePrefix);
+    String findFolderStartingWith(String sharedFlowsFolder, String folderNamePrefix);
 
     /**
      * Parses XML files from the specified folder location and folder name.
@@ -41,6 +52,14 @@ public interface FileReaderService {
      */
     List<Document> readFiles(String folderLocation, String folderName) throws ParserConfigurationException, IOException, SAXException;
 
+    /**
+     * Parses the policies and target endpoints of a bundle and indexes them by name.
+     *
+     * @param bundleLocation The location of the bundle folder (apiproxy or sharedflowbundle).
+     * @return The symbol table of the bundle.
+     */
+    BundleSymbolTable readSymbolTable(String bundleLocation) throws ParserConfigurationException, IOException, SAXException;
+
     /**
      * Finds a document by its name in the provided list of documents.
      *
@@ -60,4 +79,16 @@ public interface FileReaderService {
      */
     Map<String, String> readJavaScriptFiles(String folderLocation, String folderName) throws IOException;
 
+    /**
+     * Closes the zip archive containing the location, if the location points inside a zip archive.
+     *
+     * @param location The location inside the archive.
+     */
+    void closeArchive(String location);
+
+    /**
+     * Closes all the zip archives opened during the migration.
+     */
+    void closeArchives();
+
 }
@@ -1,8 +1,12 @@
 package com.gravitee.migration.service.filereader.impl;
 
+import com.gravitee.migration.converter.context.BundleSymbolTable;
 import com.gravitee.migration.service.filereader.FileReaderService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
@@ -12,64 +16,144 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.gravitee.migration.util.constants.folder.FolderConstants.*;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FileReaderServiceImpl implements FileReaderService {
 
+    // Maximum number of files parsed at the same time (0 = available processors, 1 = sequential parsing)
+    @Value("${gravitee.reader.parallelism:0}")
+    private int parallelism;
+
+    // Secured builders are expensive to create, every parsing thread keeps its own and resets it after each file
+    private final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(this::createDocumentBuilder);
+    private ExecutorService parsingExecutor;
+
+    // Zip archives are read through a zip file system, opened once per archive and closed at the end of the migration
+    private final Map<Path, FileSystem> openArchives = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void initParsingExecutor() {
+        int parsingThreads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        if (parsingThreads > 1) {
+            // Shared by all migrations, so the number of parsing threads stays bounded when APIProxies are read in parallel
+            AtomicInteger threadCount = new AtomicInteger();
+            parsingExecutor = Executors.newFixedThreadPool(parsingThreads, runnable -> {
+                Thread thread = new Thread(runnable, "xml-parser-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdownParsingExecutor() {
+        if (parsingExecutor != null) {
+            parsingExecutor.shutdownNow();
+        }
+        closeArchives();
+    }
+
     public String readAbsolutePathOfDirectory(String folderLocation, String folderName) {
+        if (isArchiveLocation(folderLocation)) {
+            // Location inside a zip archive
+            return toLocation(resolve(folderLocation, folderName));
+        }
+
         // Used if folder has whitespaces
         folderLocation = folderLocation.replace(",", " ");
 
-        File folder = new File(folderLocation, folderName);
+        File folder = new File(folderLocation);
+        if (isArchive(folder)) {
+            // The folder is read from the root of the zip archive
+            return toLocation(resolve(openArchive(folder.toPath()).getPath("/"), folderName));
+        }
+
+        return new File(folder, folderName).getAbsolutePath();
+    }
 
-        return folder.getAbsolutePath();
+    @Override
+    public boolean isDirectory(String location) {
+        return Files.isDirectory(toPath(location));
     }
 
     @Override
     public List<Document> readFiles(String folderLocation, String folderName) throws ParserConfigurationException, IOException, SAXException {
-        File filesFolder = getFolder(folderLocation, folderName);
-        File[] files = listFiles(filesFolder);
+        List<Path> files = listFiles(resolve(folderLocation, folderName), ".xml", ".xsl", ".xslt");
         List<Document> policyDocuments = new ArrayList<>();
 
-        if (files != null) {
-            for (File policyFile : files) {
-                policyDocuments.add(parseXmlFile(getSecureDocumentBuilder(), policyFile));
+        if (parsingExecutor == null || files.size() < 2) {
+            for (Path policyFile : files) {
+                policyDocuments.add(parseXmlFile(policyFile));
             }
+            return policyDocuments;
+        }
+
+        // Parse the files in parallel, the documents are returned in the same order as the files
+        List<Future<Document>> parsedFiles = new ArrayList<>(files.size());
+        for (Path policyFile : files) {
+            parsedFiles.add(parsingExecutor.submit(() -> parseXmlFile(policyFile)));
+        }
+        for (Future<Document> parsedFile : parsedFiles) {
+            policyDocuments.add(awaitParsedFile(parsedFile));
         }
         return policyDocuments;
     }
 
+    @Override
+    public BundleSymbolTable readSymbolTable(String bundleLocation) throws ParserConfigurationException, IOException, SAXException {
+        // The bundle is named after the folder (or zip archive) containing the apiproxy or sharedflowbundle folder
+        var bundleContainer = getBundleContainer(toPath(bundleLocation));
+        var bundleName = bundleContainer.getFileName().toString();
+        if (bundleName.endsWith(ZIP_EXTENSION)) {
+            bundleName = bundleName.substring(0, bundleName.length() - ZIP_EXTENSION.length());
+        }
+
+        return BundleSymbolTable.of(bundleName, readFiles(bundleLocation, POLICIES), readFiles(bundleLocation, TARGETS));
+    }
+
     @Override
     public Map<String, String> readJavaScriptFiles(String folderLocation, String folderName) throws IOException {
-        File jsFilesFolder = getFolder(folderLocation, folderName);
-        File[] jsFiles = listJavaScriptFiles(jsFilesFolder);
         Map<String, String> jsFileContents = new HashMap<>();
 
-        if (jsFiles != null) {
-            for (File jsFile : jsFiles) {
-                String fileName = jsFile.getName();
-                String fileContent = new String(java.nio.file.Files.readAllBytes(jsFile.toPath()));
-                jsFileContents.put(fileName, fileContent);
-            }
+        for (Path jsFile : listFiles(resolve(folderLocation, folderName), ".js")) {
+            jsFileContents.put(jsFile.getFileName().toString(), Files.readString(jsFile, StandardCharsets.UTF_8));
         }
         return jsFileContents;
     }
 
     @Override
-    public File findFolderStartingWith(String sharedFlowsFolder, String folderNamePrefix) {
-        File sharedFlowsDirectory = new File(sharedFlowsFolder).getParentFile().getParentFile();
-
-        if (sharedFlowsDirectory.exists() && sharedFlowsDirectory.isDirectory()) {
-            // List all subdirectories and find the first one that starts with the prefix
-            File[] matchingFolders = sharedFlowsDirectory.listFiles((dir, name) -> name.startsWith(folderNamePrefix) && new File(dir, name).isDirectory());
-            if (matchingFolders != null && matchingFolders.length > 0) {
-                return matchingFolders[0];
+    public String findFolderStartingWith(String sharedFlowsFolder, String folderNamePrefix) {
+        // The shared flow folders (or zip archives) are located next to the folder containing the current bundle
+        Path sharedFlowsDirectory = getBundleContainer(toPath(sharedFlowsFolder)).getParent();
+
+        if (sharedFlowsDirectory != null && Files.isDirectory(sharedFlowsDirectory)) {
+            try (var entries = Files.list(sharedFlowsDirectory)) {
+                // Find the first folder or zip archive that starts with the prefix, an exact match is preferred
+                var matchingBundle = entries
+                        .filter(entry -> entry.getFileName().toString().startsWith(folderNamePrefix))
+                        .filter(entry -> Files.isDirectory(entry) || isArchive(entry.toFile()))
+                        .min(Comparator.comparing((Path entry) -> !isExactMatch(entry, folderNamePrefix))
+                                .thenComparing(entry -> entry.getFileName().toString()));
+                if (matchingBundle.isPresent()) {
+                    return matchingBundle.get().toAbsolutePath().toString();
+                }
+            } catch (IOException e) {
+                log.warn("Failed to list the shared flows in {}: {}", sharedFlowsDirectory, e.getMessage());
             }
         }
 
@@ -87,44 +171,186 @@ public class FileReaderServiceImpl implements FileReaderService {
         return null;
     }
 
+    @Override
+    public void closeArchive(String location) {
+        if (isArchiveLocation(location)) {
+            var archive = Path.of(URI.create(location.substring(ARCHIVE_LOCATION_PREFIX.length(), location.indexOf(ARCHIVE_ENTRY_SEPARATOR))));
+            closeArchive(archive, openArchives.remove(archive));
+        }
+    }
+
+    @Override
+    public void closeArchives() {
+        for (var archive : new ArrayList<>(openArchives.keySet())) {
+            closeArchive(archive, openArchives.remove(archive));
+        }
+    }
+
+    private void closeArchive(Path archive, FileSystem fileSystem) {
+        if (fileSystem == null) {
+            return;
+        }
+        try {
+            fileSystem.close();
+        } catch (IOException e) {
+            log.warn("Failed to close the zip archive {}: {}", archive, e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the zip file system of the archive, or returns it if it is already open.
+     *
+     * @param archive The zip archive.
+     * @return The file system used to read the entries of the archive without extracting them.
+     */
+    private FileSystem openArchive(Path archive) {
+        return openArchives.computeIfAbsent(archive.toAbsolutePath().normalize(), absoluteArchive -> {
+            try {
+                return FileSystems.newFileSystem(absoluteArchive);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Failed to open the zip archive: " + absoluteArchive, e);
+            }
+        });
+    }
+
     /**
-     * Creates file object for the specified folder location and folder name, if folder name is null it keeps the root folder.
+     * Converts a location to a path. A location is either a path on the disk, or an entry of a zip archive
+     * in the form jar:file:///path/to/bundle.zip!/apiproxy/policies.
      *
-     * @param folderLocation The root folder location to search for the XML file.
-     * @return The found XML file.
-     * @throws IllegalArgumentException if no XML file is found in the specified folder.
+     * @param location The location to convert.
+     * @return The path of the location, in the zip file system for entries of a zip archive.
+     */
+    private Path toPath(String location) {
+        if (isArchiveLocation(location)) {
+            int separatorIndex = location.indexOf(ARCHIVE_ENTRY_SEPARATOR);
+            var archive = Path.of(URI.create(location.substring(ARCHIVE_LOCATION_PREFIX.length(), separatorIndex)));
+            return openArchive(archive).getPath(location.substring(separatorIndex + 1));
+        }
+        return Path.of(location);
+    }
+
+    /**
+     * Converts a path back to a location, the inverse of {@link #toPath(String)}.
+     */
+    private String toLocation(Path path) {
+        if (path.getFileSystem() == FileSystems.getDefault()) {
+            return path.toAbsolutePath().toString();
+        }
+        return ARCHIVE_LOCATION_PREFIX + getArchive(path.getFileSystem()).toUri() + "!" + path.toAbsolutePath();
+    }
+
+    private Path getArchive(FileSystem fileSystem) {
+        return openArchives.entrySet().stream()
+                .filter(entry -> entry.getValue() == fileSystem)
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Zip archive is not open"));
+    }
+
+    /**
+     * Returns the folder containing the bundle folder (apiproxy or sharedflowbundle), or the zip archive when the bundle is read from an archive.
      */
-    private File getFolder(String folderLocation, String folderName) {
+    private Path getBundleContainer(Path bundle) {
+        var parent = bundle.toAbsolutePath().getParent();
+        if (bundle.getFileSystem() != FileSystems.getDefault() && (parent == null || parent.getParent() == null)) {
+            return getArchive(bundle.getFileSystem());
+        }
+        return parent;
+    }
+
+    private boolean isExactMatch(Path entry, String folderName) {
+        var entryName = entry.getFileName().toString();
+        return entryName.equals(folderName) || entryName.equals(folderName + ZIP_EXTENSION);
+    }
+
+    private boolean isArchive(File file) {
+        return file.isFile() && file.getName().toLowerCase(Locale.ROOT).endsWith(ZIP_EXTENSION);
+    }
+
+    private boolean isArchiveLocation(String location) {
+        return location.startsWith(ARCHIVE_LOCATION_PREFIX) && location.contains(ARCHIVE_ENTRY_SEPARATOR);
+    }
+
+    /**
+     * Creates the path for the specified folder location and folder name, if folder name is null it keeps the root folder.
+     *
+     * @param folderLocation The root folder location.
+     * @param folderName     The name of the subfolder.
+     * @return The path of the folder.
+     */
+    private Path resolve(String folderLocation, String folderName) {
+        return resolve(toPath(folderLocation), folderName);
+    }
+
+    private Path resolve(Path folder, String folderName) {
         if (folderName == null || folderName.isEmpty()) {
-            return new File(folderLocation);
-        } else {
-            return new File(folderLocation, folderName);
+            return folder;
         }
+        return folder.resolve(folderName);
     }
 
     /**
-     * Lists all files in the specified folder.
+     * Lists the files with one of the given extensions in the specified folder, sorted by name.
      *
-     * @param folder The folder to search for the files.
-     * @return An array of the files found in the folder.
+     * @param folder     The folder to search for the files.
+     * @param extensions The accepted file extensions.
+     * @return The files found in the folder, empty if the folder does not exist.
      */
-    private File[] listFiles(File folder) {
-        return folder.listFiles((dir, name) ->
-                name.endsWith(".xml") || name.endsWith(".xsl") || name.endsWith(".xslt")
-        );
+    private List<Path> listFiles(Path folder, String... extensions) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return List.of();
+        }
+
+        try (var entries = Files.list(folder)) {
+            return entries
+                    .filter(Files::isRegularFile)
+                    .filter(file -> Arrays.stream(extensions).anyMatch(extension -> file.getFileName().toString().endsWith(extension)))
+                    .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                    .toList();
+        }
     }
 
     /**
-     * Parses the specified XML file and returns a Document object.
+     * Parses the specified XML file with the DocumentBuilder of the current thread and returns a Document object.
+     * Files of a zip archive are streamed from the archive, the system id keeps the location of the file.
      *
-     * @param builder The DocumentBuilder instance to use for parsing.
      * @param xmlFile The XML file to parse.
      * @return The parsed Document object.
      */
-    private Document parseXmlFile(DocumentBuilder builder, File xmlFile) throws IOException, SAXException {
-        Document document = builder.parse(xmlFile);
-        document.getDocumentElement().normalize();
-        return document;
+    private Document parseXmlFile(Path xmlFile) throws IOException, SAXException {
+        DocumentBuilder builder = documentBuilder.get();
+        try (InputStream inputStream = Files.newInputStream(xmlFile)) {
+            String systemId = xmlFile.getFileSystem() == FileSystems.getDefault() ? xmlFile.toUri().toString() : toLocation(xmlFile);
+            Document document = builder.parse(inputStream, systemId);
+            document.getDocumentElement().normalize();
+            return document;
+        } finally {
+            builder.reset();
+        }
+    }
+
+    private Document awaitParsedFile(Future<Document> parsedFile) throws IOException, SAXException {
+        try {
+            return parsedFile.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while parsing xml files", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            } else if (e.getCause() instanceof SAXException saxException) {
+                throw saxException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private DocumentBuilder createDocumentBuilder() {
+        try {
+            return getSecureDocumentBuilder();
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("Failed to create a secure DocumentBuilder", e);
+        }
     }
 
     /**
@@ -148,14 +374,4 @@ public class FileReaderServiceImpl implements FileReaderService {
 
         return factory.newDocumentBuilder();
     }
-
-    /**
-     * Lists all JavaScript files in the specified folder.
-     *
-     * @param folder The folder to search for JavaScript files.
-     * @return An array of JavaScript files found in the folder.
-     */
-    private File[] listJavaScriptFiles(File folder) {
-        return folder.listFiles((dir, name) -> name.endsWith(".js"));
-    }
 }
@@ -1,18 +1,32 @@
 package com.gravitee.migration.service.filewriter;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 public interface FileWriterService {
 
     /**
-     * This method is used to save the given Gravitee JSON string to a file.
+     * This method is used to save the given Gravitee JSON to a file.
+     *
+     * @param graviteeJson The Gravitee JSON to be saved.
+     * @throws IOException If an I/O error occurs while writing to the file.
+     */
+    void saveJsonToFile(JsonNode graviteeJson) throws IOException;
+
+    /**
+     * This method is used to save the given Gravitee JSON to a file inside the given output folder.
+     * The JSON is streamed to the file, without creating an intermediate string. The folder is created if it does not exist.
      *
-     * @param graviteeJson The Gravitee JSON string to be saved.
+     * @param graviteeJson The Gravitee JSON to be saved.
+     * @param outputFolder The folder where the JSON file will be saved.
+     * @return The created JSON file.
      * @throws IOException If an I/O error occurs while writing to the file.
      */
-    void saveJsonToFile(String graviteeJson) throws IOException;
+    File saveJsonToFile(JsonNode graviteeJson, File outputFolder) throws IOException;
 
     /**
      * This method is used to create a directory for exporting shared flows.
@@ -34,27 +48,21 @@ public interface FileWriterService {
     /**
      * This method is used to generate a cURL script from the given Gravitee JSON and save it to a file.
      *
-     * @param graviteeJson         The Gravitee JSON string.
+     * @param graviteeJson         The request and response Gravitee JSON of the shared flow.
      * @param sharedFlowName       The name of the shared flow.
      * @param sharedFlowExportFile The file where the cURL script will be saved.
      * @throws IOException If an I/O error occurs while writing to the file.
      */
-    void generateAndSaveCurlScript(List<String> graviteeJson, String sharedFlowName, File sharedFlowExportFile) throws IOException;
-
-    /**
-     * This method is used to write the dictionary map to a file.
-     *
-     * @param key   The key to be added to the dictionary map.
-     * @param value The value to be added to the dictionary map.
-     */
-    void addValueToDictionaryMap(String key, String value);
+    void generateAndSaveCurlScript(List<? extends JsonNode> graviteeJson, String sharedFlowName, File sharedFlowExportFile) throws IOException;
 
     /**
-     * This method is used to write the dictionary map to a CSV file.
+     * This method is used to write the dictionary entries to a CSV file.
+     * Entries already present in the file are kept, only the new keys are appended.
      *
-     * @param outputCsv The path to the output CSV file.
+     * @param dictionaryEntries The dictionary entries collected during the migration.
+     * @param outputCsv         The path to the output CSV file.
      * @throws IOException If an I/O error occurs while writing to the file.
      */
-    void dictionaryMapToCsv(String outputCsv) throws IOException;
+    void dictionaryMapToCsv(Map<String, String> dictionaryEntries, String outputCsv) throws IOException;
 
 }
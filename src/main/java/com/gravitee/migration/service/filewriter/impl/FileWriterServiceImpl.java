@@ -1,10 +1,17 @@
 package com.gravitee.migration.service.filewriter.impl;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.gravitee.migration.service.filewriter.FileWriterService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
@@ -14,25 +21,37 @@ import static com.gravitee.migration.util.constants.groovy.GroovyConstants.CURL_
 import static com.gravitee.migration.util.constants.groovy.GroovyConstants.MASTER_SCRIPT;
 
 @Service
+@RequiredArgsConstructor
 public class FileWriterServiceImpl implements FileWriterService {
 
     private static final String API_PROXY_OUTPUT = "gravitee_api_output.json";
     private static final String SHARED_FLOW_OUTPUT = "SharedFlowsExport";
     private static final String MASTER_SCRIPT_OUTPUT = "execute_all_scripts.bat";
 
-    private final Map<String, String> dictionaryMap = new HashMap<>();
+    private final ObjectMapper objectMapper;
+
+    @Value("${gravitee.output.pretty-print:true}")
+    private boolean prettyPrint;
 
     @Override
-    public void saveJsonToFile(String graviteeJson) throws IOException {
+    public void saveJsonToFile(JsonNode graviteeJson) throws IOException {
         // Write the JSON string to the specified output file.
         String jarDir = Paths.get("").toAbsolutePath().toString();
-        File outputFile = new File(jarDir, API_PROXY_OUTPUT);
-        try (OutputStream os = new FileOutputStream(outputFile)) {
-            os.write(graviteeJson.getBytes(StandardCharsets.UTF_8));
-        }
+        File outputFile = saveJsonToFile(graviteeJson, new File(jarDir));
         System.out.println("Gravitee JSON configuration saved to: " + outputFile.getAbsolutePath());
     }
 
+    @Override
+    public File saveJsonToFile(JsonNode graviteeJson, File outputFolder) throws IOException {
+        if (!outputFolder.exists() && !outputFolder.mkdirs()) {
+            throw new IOException("Failed to create directory: " + outputFolder.getAbsolutePath());
+        }
+
+        File outputFile = new File(outputFolder, API_PROXY_OUTPUT);
+        writeJson(outputFile, graviteeJson);
+        return outputFile;
+    }
+
     @Override
     public File createExportDirectory(String jarDir) throws IOException {
         File exportDir = new File(jarDir, SHARED_FLOW_OUTPUT);
@@ -59,7 +78,7 @@ public class FileWriterServiceImpl implements FileWriterService {
     }
 
     @Override
-    public void generateAndSaveCurlScript(List<String> graviteeJson, String sharedFlowName, File sharedFlowExportFile) throws IOException {
+    public void generateAndSaveCurlScript(List<? extends JsonNode> graviteeJson, String sharedFlowName, File sharedFlowExportFile) throws IOException {
         validateJsonList(graviteeJson);
 
         File sharedFlowDir = createDirectories(sharedFlowName, sharedFlowExportFile);
@@ -81,23 +100,27 @@ public class FileWriterServiceImpl implements FileWriterService {
     }
 
     @Override
-    public void addValueToDictionaryMap(String key, String value) {
-        if (key != null && !key.isEmpty() && value != null && !value.isEmpty()) {
-            dictionaryMap.put(key, value);
-        }
-    }
-
-    @Override
-    public void dictionaryMapToCsv(String outputCsv) throws IOException {
+    public void dictionaryMapToCsv(Map<String, String> dictionaryEntries, String outputCsv) throws IOException {
         File file = new File(outputCsv);
         Map<String, String> existingEntries = readExistingEntries(file);
-        writeNewEntries(file, existingEntries);
+        writeNewEntries(file, dictionaryEntries, existingEntries);
     }
 
-    private void saveJsonFile(File sharedFlowDir, String jsonFileName, String jsonContent) throws IOException {
-        File jsonFile = new File(sharedFlowDir, jsonFileName);
-        try (OutputStream os = new FileOutputStream(jsonFile)) {
-            os.write(jsonContent.getBytes(StandardCharsets.UTF_8));
+    private void saveJsonFile(File sharedFlowDir, String jsonFileName, JsonNode jsonContent) throws IOException {
+        writeJson(new File(sharedFlowDir, jsonFileName), jsonContent);
+    }
+
+    /**
+     * Streams the JSON to the file with a generator, the generator buffers the output itself.
+     * Large definitions (embedded scripts, stylesheets, documentation) are never held as a string or a byte array.
+     */
+    private void writeJson(File file, JsonNode json) throws IOException {
+        try (OutputStream os = Files.newOutputStream(file.toPath());
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(os, JsonEncoding.UTF8)) {
+            if (prettyPrint) {
+                generator.useDefaultPrettyPrinter();
+            }
+            objectMapper.writeTree(generator, json);
         }
     }
 
@@ -126,9 +149,9 @@ public class FileWriterServiceImpl implements FileWriterService {
         return existingEntries;
     }
 
-    private void writeNewEntries(File file, Map<String, String> existingEntries) throws IOException {
+    private void writeNewEntries(File file, Map<String, String> dictionaryEntries, Map<String, String> existingEntries) throws IOException {
         try (FileWriter writer = new FileWriter(file, true)) { // 'true' enables appending to the file
-            for (Map.Entry<String, String> entry : dictionaryMap.entrySet()) {
+            for (Map.Entry<String, String> entry : dictionaryEntries.entrySet()) {
                 if (!existingEntries.containsKey(entry.getKey())) {
                     writer.write(entry.getKey() + "," + entry.getValue() + "\n");
                 }
@@ -137,7 +160,7 @@ public class FileWriterServiceImpl implements FileWriterService {
         }
     }
 
-    private void validateJsonList(List<String> graviteeJson) {
+    private void validateJsonList(List<? extends JsonNode> graviteeJson) {
         if (graviteeJson == null || graviteeJson.isEmpty()) {
             throw new IllegalArgumentException("The JSON list must contain at least one element.");
         }
@@ -9,4 +9,15 @@ public interface MigrationService {
      */
     String start(String folderLocationString);
 
+    /**
+     * Starts the migration process for every APIProxy in the given folder and the shared flows next to them.
+     * APIProxies are read and written concurrently, failures are isolated per APIProxy.
+     *
+     * @param folderLocationString The folder containing the APIProxy folders that need to be migrated.
+     * @param outputFolderString   The folder where a sub folder with the output is created for every APIProxy.
+     * @param parallelism          The maximum number of APIProxies converted at the same time (0 uses the number of available processors).
+     * @return A summary of the migration of every APIProxy.
+     */
+    String startBatch(String folderLocationString, String outputFolderString, int parallelism);
+
 }
\ No newline at end of file
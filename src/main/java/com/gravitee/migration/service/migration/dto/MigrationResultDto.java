@@ -0,0 +1,11 @@
+package com.gravitee.migration.service.migration.dto;
+
+import java.util.List;
+
+public record MigrationResultDto(
+        String apiProxyName,
+        boolean successful,
+        long durationMillis,
+        String message,
+        List<String> warnings
+) {}
@@ -1,10 +1,17 @@
 package com.gravitee.migration.service.migration.impl;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.gravitee.migration.converter.ApiGeeToGraviteeConverter;
+import com.gravitee.migration.converter.context.BundleSymbolTable;
+import com.gravitee.migration.converter.context.MigrationContext;
+import com.gravitee.migration.converter.context.SharedFlowCache;
+import com.gravitee.migration.converter.context.SharedFlowDependencyGraph;
 import com.gravitee.migration.converter.object.SharedFlowObjectConverter;
+import com.gravitee.migration.infrastructure.configuration.GraviteeELTranslator;
 import com.gravitee.migration.service.filereader.FileReaderService;
 import com.gravitee.migration.service.filewriter.FileWriterService;
 import com.gravitee.migration.service.migration.MigrationService;
+import com.gravitee.migration.service.migration.dto.MigrationResultDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -18,9 +25,25 @@ import javax.xml.xpath.XPathExpressionException;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static com.gravitee.migration.util.constants.folder.FolderConstants.*;
+import static com.gravitee.migration.util.constants.policy.PolicyConstants.FLOW_CALLOUT;
 
 @Service
 @Slf4j
@@ -30,32 +53,197 @@ public class MigrationServiceImpl implements MigrationService {
     @Value("${gravitee.dictionary.output}")
     private String dictionaryOutputCsv;
 
+    @Value("${gravitee.shared-flows.parallelism:0}")
+    private int sharedFlowsParallelism;
+
     private final ApiGeeToGraviteeConverter apiGeeToGraviteeConverter;
     private final FileReaderService fileReaderService;
     private final FileWriterService fileWriterService;
     private final SharedFlowObjectConverter sharedFlowObjectConverter;
+    private final GraviteeELTranslator graviteeELTranslator;
     private final XPath xPath;
 
     @Override
     public String start(String folderLocationString) {
+        // Holds the state collected from the shared flows and the APIProxy during this migration
+        MigrationContext migrationContext = createMigrationContext();
+
         try {
             // Process the shared flows first
-            processSharedFlowsFolder(folderLocationString);
+            processSharedFlowsFolder(folderLocationString, migrationContext);
             // Process the APIProxy
-            processApiProxyFolder(folderLocationString);
+            processApiProxyFolder(folderLocationString, migrationContext);
 
             return "Migration completed.";
         } catch (Exception e) {
             return "Migration failed. " + e.getMessage();
+        } finally {
+            fileReaderService.closeArchives();
+        }
+    }
+
+    @Override
+    public String startBatch(String folderLocationString, String outputFolderString, int parallelism) {
+        try {
+            File apiProxiesFolder = new File(fileReaderService.readAbsolutePathOfDirectory(folderLocationString, ""));
+            // Every sub folder that contains an apiproxy folder and every zip export is migrated, the SharedFlows folder is skipped
+            File[] apiProxyFolders = apiProxiesFolder.listFiles(folder -> isArchive(folder) || new File(folder, API_PROXY).isDirectory());
+
+            if (apiProxyFolders == null || apiProxyFolders.length == 0) {
+                return "Migration failed. No APIProxy folders found in: " + apiProxiesFolder.getAbsolutePath();
+            }
+            Arrays.sort(apiProxyFolders, Comparator.comparing(File::getName));
+
+            // The shared flows are common to all APIProxies, so they are processed once before the APIProxies
+            MigrationContext sharedFlowsContext = createMigrationContext();
+            try {
+                processSharedFlowsFolder(apiProxiesFolder, sharedFlowsContext);
+            } catch (Exception e) {
+                return "Migration failed. " + e.getMessage();
+            }
+
+            return migrateApiProxies(apiProxyFolders, outputFolderString, parallelism, sharedFlowsContext);
+        } finally {
+            // The archives opened while reading the shared flows are closed even if they fail
+            fileReaderService.closeArchives();
+        }
+    }
+
+    private String migrateApiProxies(File[] apiProxyFolders, String outputFolderString, int parallelism, MigrationContext sharedFlowsContext) {
+        File outputFolder = new File(outputFolderString).getAbsoluteFile();
+        int conversionParallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        System.out.printf("Starting migration of %d APIProxies (conversion parallelism: %d)%n", apiProxyFolders.length, conversionParallelism);
+
+        long startTime = System.nanoTime();
+        List<MigrationResultDto> results;
+        // Dictionary entries of all APIProxies, written once at the end of the batch
+        Map<String, String> dictionaryEntries = new ConcurrentSkipListMap<>(sharedFlowsContext.getDictionaryEntries());
+
+        // Reading and writing files is I/O bound and runs on virtual threads, the conversion itself is CPU bound
+        // and runs on a pool bounded by the requested parallelism. The APIProxies read and not converted yet are bounded
+        // the same way, so the parsed documents of the whole batch are never held in memory at the same time.
+        Semaphore readPermits = new Semaphore(conversionParallelism);
+        try (ExecutorService ioExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService conversionExecutor = Executors.newFixedThreadPool(conversionParallelism)) {
+            List<Future<MigrationResultDto>> futures = Arrays.stream(apiProxyFolders)
+                    .map(apiProxyFolder -> ioExecutor.submit(() -> migrateApiProxy(apiProxyFolder, outputFolder, conversionExecutor, readPermits, sharedFlowsContext, dictionaryEntries)))
+                    .toList();
+
+            results = futures.stream()
+                    .map(this::awaitResult)
+                    .toList();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+        try {
+            // Write the values that need to be entered in the dictionary in gravitee, common to all APIProxies
+            fileWriterService.dictionaryMapToCsv(dictionaryEntries, new File(outputFolder, dictionaryOutputCsv).getAbsolutePath());
+        } catch (IOException e) {
+            log.warn("Failed to write the dictionary csv: {}", e.getMessage());
+        }
+
+        return formatBatchSummary(results, elapsedMillis, outputFolder);
+    }
+
+    private MigrationResultDto migrateApiProxy(File apiProxyFolder, File outputFolder, ExecutorService conversionExecutor, Semaphore readPermits, MigrationContext sharedFlowsContext, Map<String, String> dictionaryEntries) {
+        long startTime = System.nanoTime();
+        String apiProxyName = getBundleName(apiProxyFolder);
+        // Every APIProxy gets its own context, starting from the state collected from the shared flows
+        MigrationContext migrationContext = new MigrationContext(sharedFlowsContext);
+        String apiProxyLocation = null;
+
+        try {
+            apiProxyLocation = fileReaderService.readAbsolutePathOfDirectory(apiProxyFolder.getAbsolutePath(), API_PROXY);
+
+            ObjectNode graviteeApiConfig;
+            // The permit is held from the reading of the documents until they are converted
+            readPermits.acquire();
+            try {
+                ApiProxyDocuments apiProxyDocuments = readApiProxyDocuments(apiProxyLocation);
+
+                Future<ObjectNode> conversion = conversionExecutor.submit(() -> convertApiProxy(apiProxyDocuments, migrationContext));
+                graviteeApiConfig = conversion.get();
+            } finally {
+                readPermits.release();
+            }
+
+            File outputFile = fileWriterService.saveJsonToFile(graviteeApiConfig, new File(outputFolder, apiProxyName));
+            dictionaryEntries.putAll(migrationContext.getDictionaryEntries());
+            return new MigrationResultDto(apiProxyName, true, elapsedMillisSince(startTime), outputFile.getAbsolutePath(), migrationContext.getWarnings());
+        } catch (ExecutionException e) {
+            return new MigrationResultDto(apiProxyName, false, elapsedMillisSince(startTime), e.getCause().getMessage(), migrationContext.getWarnings());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new MigrationResultDto(apiProxyName, false, elapsedMillisSince(startTime), "Migration interrupted.", migrationContext.getWarnings());
+        } catch (Exception e) {
+            return new MigrationResultDto(apiProxyName, false, elapsedMillisSince(startTime), e.getMessage(), migrationContext.getWarnings());
+        } finally {
+            // The documents are parsed, the zip archive of the APIProxy is no longer needed
+            if (apiProxyLocation != null) {
+                fileReaderService.closeArchive(apiProxyLocation);
+            }
         }
     }
 
-    private void processSharedFlowsFolder(String inputFolderLocation) throws Exception {
+    private MigrationResultDto awaitResult(Future<MigrationResultDto> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Migration interrupted.", e);
+        } catch (ExecutionException e) {
+            // migrateApiProxy never throws, failures are reported in the result
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private String formatBatchSummary(List<MigrationResultDto> results, long elapsedMillis, File outputFolder) {
+        long successful = results.stream().filter(MigrationResultDto::successful).count();
+        long failed = results.size() - successful;
+        double seconds = Math.max(elapsedMillis, 1) / 1000.0;
+
+        StringBuilder summary = new StringBuilder("Migration completed.").append(System.lineSeparator());
+        for (MigrationResultDto result : results) {
+            summary.append(String.format("  %-7s %-50s %6d ms  %s%n",
+                    result.successful() ? "OK" : "FAILED", result.apiProxyName(), result.durationMillis(), result.message()));
+            for (String warning : result.warnings()) {
+                summary.append("          warning: ").append(warning).append(System.lineSeparator());
+            }
+        }
+        summary.append(String.format("APIProxies: %d, succeeded: %d, failed: %d%n", results.size(), successful, failed));
+        summary.append(String.format("Total time: %d ms, throughput: %.2f APIProxies/s%n", elapsedMillis, results.size() / seconds));
+        summary.append("Output folder: ").append(outputFolder.getAbsolutePath());
+
+        return summary.toString();
+    }
+
+    private boolean isArchive(File file) {
+        return file.isFile() && file.getName().toLowerCase(Locale.ROOT).endsWith(ZIP_EXTENSION);
+    }
+
+    private MigrationContext createMigrationContext() {
+        // The mappings are taken once, every context created from this one uses the same mappings
+        GraviteeELTranslator.MappingSnapshot mappings = graviteeELTranslator.getMappings();
+        return new MigrationContext(mappings.conditionMappings(), mappings.assignMessageTemplateMappings());
+    }
+
+    private String getBundleName(File bundle) {
+        String bundleName = bundle.getName();
+        return isArchive(bundle) ? bundleName.substring(0, bundleName.length() - ZIP_EXTENSION.length()) : bundleName;
+    }
+
+    private long elapsedMillisSince(long startTime) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    private void processSharedFlowsFolder(String inputFolderLocation, MigrationContext migrationContext) throws Exception {
         // Get the parent of the root folder
         File rootFolderFile = new File(inputFolderLocation);
-        // Get the parent folder of the root folder
-        File parentFolder = rootFolderFile.getParentFile();
+        // The SharedFlows folder is located next to the APIProxy folder
+        processSharedFlowsFolder(rootFolderFile.getParentFile(), migrationContext);
+    }
 
+    private void processSharedFlowsFolder(File parentFolder, MigrationContext migrationContext) throws Exception {
         // Read the SharedFlows folder
         String sharedFlowsFolderString = fileReaderService.readAbsolutePathOfDirectory(parentFolder.getAbsolutePath(), "SharedFlows");
         File sharedFlowsFolder = new File(sharedFlowsFolderString);
@@ -64,16 +252,17 @@ public class MigrationServiceImpl implements MigrationService {
             throw new IllegalArgumentException("SharedFlows folder does not exist, please create the folder and place all shared flows inside the folder");
         }
 
-        processSharedFlows(sharedFlowsFolder);
+        processSharedFlows(sharedFlowsFolder, migrationContext);
     }
 
-    private void processApiProxyFolder(String inputFolderLocation) throws XPathExpressionException, IOException, ParserConfigurationException, SAXException {
+    private void processApiProxyFolder(String inputFolderLocation, MigrationContext migrationContext) throws XPathExpressionException, IOException, ParserConfigurationException, SAXException {
         String apiProxyFolder = fileReaderService.readAbsolutePathOfDirectory(inputFolderLocation, "apiproxy");
-        startApiProxyMigration(apiProxyFolder);
+        startApiProxyMigration(apiProxyFolder, migrationContext);
     }
 
-    private void processSharedFlows(File sharedFlowsFolder) throws Exception {
-        File[] sharedFlowFolders = sharedFlowsFolder.listFiles(File::isDirectory);
+    private void processSharedFlows(File sharedFlowsFolder, MigrationContext migrationContext) throws Exception {
+        // Shared flows are either folders or zip exports
+        File[] sharedFlowFolders = sharedFlowsFolder.listFiles(file -> file.isDirectory() || isArchive(file));
 
         if (sharedFlowFolders == null || sharedFlowFolders.length == 0) {
             System.out.println("No shared flows found in: " + sharedFlowsFolder.getAbsolutePath());
@@ -85,56 +274,174 @@ public class MigrationServiceImpl implements MigrationService {
         String jarDir = Paths.get("").toAbsolutePath().toString();
         File sharedFlowExportFile = fileWriterService.createExportDirectory(jarDir);
 
-        for (File sharedFlowFolder : sharedFlowFolders) {
-            startSharedFlowMigration(sharedFlowFolder.getAbsolutePath(), sharedFlowExportFile);
+        Map<String, SharedFlowFolder> sharedFlows = findSharedFlowFolders(sharedFlowFolders);
+        int parallelism = sharedFlowsParallelism > 0 ? sharedFlowsParallelism : Runtime.getRuntime().availableProcessors();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            // Read every shared flow once to find which shared flows it calls, so they can be converted leaves first
+            SharedFlowDependencyGraph dependencyGraph = buildSharedFlowDependencyGraph(sharedFlows, executor, migrationContext);
+            for (List<String> cycle : dependencyGraph.getCycles()) {
+                migrationContext.addWarning("FlowCallout cycle between shared flows: " + String.join(" -> ", cycle));
+            }
+
+            // The shared flows of a level only call shared flows of the previous levels, which are already converted
+            List<List<String>> levels = dependencyGraph.getLevels();
+            for (int i = 0; i < levels.size(); i++) {
+                System.out.printf("Migrating shared flows level %d/%d (%d shared flows)%n", i + 1, levels.size(), levels.get(i).size());
+                migrateSharedFlowLevel(levels.get(i), sharedFlows, sharedFlowExportFile, executor, migrationContext);
+            }
+
+            // Shared flows in a cycle cannot be ordered, they are converted one by one and the cycle is broken by the FlowCallout converter
+            for (String sharedFlowName : dependencyGraph.getCyclicSharedFlows()) {
+                startSharedFlowMigration(sharedFlows.get(sharedFlowName).bundleLocation(), sharedFlowExportFile, migrationContext);
+            }
         }
         fileWriterService.generateAndSaveMasterScript(sharedFlowExportFile);
     }
 
-    private void startApiProxyMigration(String apiGeeFolderLocation) throws IOException, XPathExpressionException, ParserConfigurationException, SAXException {
+    /**
+     * Finds the sharedflowbundle folder of every shared flow, indexed by shared flow name (folder or zip archive name).
+     */
+    private Map<String, SharedFlowFolder> findSharedFlowFolders(File[] sharedFlowFolders) {
+        Map<String, SharedFlowFolder> sharedFlows = new TreeMap<>();
+
+        for (File sharedFlowFolder : sharedFlowFolders) {
+            // Finds the shared flow folder and returns the absolute path
+            String sharedFlowBundleAbsolutePath = fileReaderService.readAbsolutePathOfDirectory(sharedFlowFolder.getAbsolutePath(), SHARED_FLOW_BUNDLE);
+
+            // Validate the shared flow directory, other folders are skipped
+            if (validateSharedFlowDirectory(sharedFlowBundleAbsolutePath)) {
+                String sharedFlowName = getBundleName(sharedFlowFolder);
+                sharedFlows.put(sharedFlowName, new SharedFlowFolder(sharedFlowName, sharedFlowFolder.getAbsolutePath(), sharedFlowBundleAbsolutePath));
+            }
+        }
+        return sharedFlows;
+    }
+
+    private SharedFlowDependencyGraph buildSharedFlowDependencyGraph(Map<String, SharedFlowFolder> sharedFlows, ExecutorService executor, MigrationContext migrationContext) throws Exception {
+        SharedFlowCache sharedFlowCache = migrationContext.getSharedFlowCache();
+
+        List<Future<List<String>>> futures = sharedFlows.values().stream()
+                .map(sharedFlow -> executor.submit(() -> findFlowCalloutReferences(readSharedFlowBundle(sharedFlow.bundleLocation(), sharedFlowCache))))
+                .toList();
+
+        Map<String, Set<String>> dependencies = new TreeMap<>();
+        int index = 0;
+        for (SharedFlowFolder sharedFlow : sharedFlows.values()) {
+            Set<String> calledSharedFlows = new TreeSet<>();
+            for (String reference : awaitSharedFlowTask(futures.get(index++))) {
+                SharedFlowFolder calledSharedFlow = resolveSharedFlowReference(reference, sharedFlows);
+                if (calledSharedFlow == null) {
+                    migrationContext.addWarning("Shared flow '" + sharedFlow.name() + "' calls the unknown shared flow '" + reference + "'");
+                    continue;
+                }
+                calledSharedFlows.add(calledSharedFlow.name());
+                // The FlowCallout converter resolves the reference to the same shared flow
+                sharedFlowCache.getSharedFlowLocation(reference, calledSharedFlow::folderLocation);
+            }
+            dependencies.put(sharedFlow.name(), calledSharedFlows);
+        }
+        return SharedFlowDependencyGraph.of(dependencies);
+    }
+
+    private List<String> findFlowCalloutReferences(SharedFlowCache.SharedFlowBundle sharedFlowBundle) throws XPathExpressionException {
+        List<String> references = new ArrayList<>();
+        // The documents of a cached bundle are only read while holding its lock (see SharedFlowBundle.copy)
+        synchronized (sharedFlowBundle) {
+            for (BundleSymbolTable.PolicySymbol flowCallout : sharedFlowBundle.symbolTable().getPolicies(FLOW_CALLOUT)) {
+                String reference = xPath.evaluate("/FlowCallout/SharedFlowBundle", flowCallout.document());
+                if (!reference.isEmpty()) {
+                    references.add(reference);
+                }
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Resolves the SharedFlowBundle of a FlowCallout the same way as the FlowCallout converter, an exact name match
+     * is preferred over the first shared flow starting with the referenced name.
+     */
+    private SharedFlowFolder resolveSharedFlowReference(String reference, Map<String, SharedFlowFolder> sharedFlows) {
+        SharedFlowFolder sharedFlow = sharedFlows.get(reference);
+        if (sharedFlow != null) {
+            return sharedFlow;
+        }
+        return sharedFlows.values().stream()
+                .filter(candidate -> candidate.name().startsWith(reference))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private void migrateSharedFlowLevel(List<String> level, Map<String, SharedFlowFolder> sharedFlows, File sharedFlowExportFile, ExecutorService executor, MigrationContext migrationContext) throws Exception {
+        // Every shared flow is converted in its own context, merged in name order so the result does not depend on the timing.
+        // The shared flows of a level can call the same shared flow, it is converted once by the shared flow cache and every
+        // conversion reads its own copy of the documents
+        List<Future<MigrationContext>> futures = level.stream()
+                .map(sharedFlowName -> executor.submit(() -> {
+                    MigrationContext sharedFlowContext = migrationContext.createChildContext();
+                    startSharedFlowMigration(sharedFlows.get(sharedFlowName).bundleLocation(), sharedFlowExportFile, sharedFlowContext);
+                    return sharedFlowContext;
+                }))
+                .toList();
+
+        for (Future<MigrationContext> future : futures) {
+            migrationContext.merge(awaitSharedFlowTask(future));
+        }
+    }
+
+    private <T> T awaitSharedFlowTask(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            // Report the original error, as the sequential migration did
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void startApiProxyMigration(String apiGeeFolderLocation, MigrationContext migrationContext) throws IOException, XPathExpressionException, ParserConfigurationException, SAXException {
         System.out.println("Loading apiproxy files...");
 
+        ApiProxyDocuments apiProxyDocuments = readApiProxyDocuments(apiGeeFolderLocation);
+
+        // Start the conversion process and save the output to a json file
+        ObjectNode graviteeApiConfig = convertApiProxy(apiProxyDocuments, migrationContext);
+        fileWriterService.saveJsonToFile(graviteeApiConfig);
+
+        // Write the values that need to be entered in the dictionary in gravitee to a csv file
+        fileWriterService.dictionaryMapToCsv(migrationContext.getDictionaryEntries(), dictionaryOutputCsv);
+    }
+
+    private ApiProxyDocuments readApiProxyDocuments(String apiGeeFolderLocation) throws IOException, ParserConfigurationException, SAXException {
         // Extract the xml under /apiproxy that contains information about the API
         Document apiProxyRootXml = fileReaderService.readFiles(apiGeeFolderLocation, null).getFirst();
         // Extract the proxy xml that contains the proxy steps (located in /apiproxy/proxies)
         Document proxyDocument = fileReaderService.readFiles(apiGeeFolderLocation, PROXIES).getFirst();
-        // Extract the policies (located in /apiproxy/policies)
-        List<Document> policyDocuments = fileReaderService.readFiles(apiGeeFolderLocation, POLICIES);
-        // Extract the targets (located in /apiproxy/targets)
-        List<Document> targetDocuments = fileReaderService.readFiles(apiGeeFolderLocation, TARGETS);
+        // Extract the policies and targets (located in /apiproxy/policies and /apiproxy/targets), indexed by name
+        BundleSymbolTable symbolTable = fileReaderService.readSymbolTable(apiGeeFolderLocation);
 
         validateApiGeeDocument(apiProxyRootXml);
 
-        // Write the values that need to be entered in the dictionary in gravitee to a csv file
-        fileWriterService.dictionaryMapToCsv(dictionaryOutputCsv);
+        return new ApiProxyDocuments(apiProxyRootXml, proxyDocument, symbolTable, apiGeeFolderLocation);
+    }
 
-        // Start the conversion process and save the output to a json file
-        String graviteeApiConfig = apiGeeToGraviteeConverter.apiGeeToGraviteeConverter(apiProxyRootXml, proxyDocument, policyDocuments, targetDocuments, apiGeeFolderLocation);
-        fileWriterService.saveJsonToFile(graviteeApiConfig);
+    private ObjectNode convertApiProxy(ApiProxyDocuments documents, MigrationContext migrationContext) throws XPathExpressionException, IOException {
+        return apiGeeToGraviteeConverter.apiGeeToGraviteeConverter(documents.rootXml(), documents.proxyXml(), documents.symbolTable(), documents.folderLocation(), migrationContext);
     }
 
-    private void startSharedFlowMigration(String sharedFolderLocation, File sharedFlowExportFile) throws Exception {
+    private void startSharedFlowMigration(String sharedFlowBundleAbsolutePath, File sharedFlowExportFile, MigrationContext migrationContext) throws Exception {
         System.out.println("Loading Shared Flow files...");
 
-        // Finds the shared flow folder and returns the absolute path
-        String sharedFlowBundleAbsolutePath = fileReaderService.readAbsolutePathOfDirectory(sharedFolderLocation, SHARED_FLOW_BUNDLE);
-
-        // Validate the shared flow directory
-        if (!validateSharedFlowDirectory(sharedFlowBundleAbsolutePath)) {
-            return; // Skip processing this shared flow
-        }
-
         // Extract the xml under /sharedflowbundle that contains information about the shared flow
         Document sharedFlowRootXml = fileReaderService.readFiles(sharedFlowBundleAbsolutePath, null).getFirst();
-        // Extract the shared flow bundle xml that contains all the steps (located in /sharedflowbundle/sharedflows)
-        Document sharedFlowStepsXml = fileReaderService.readFiles(sharedFlowBundleAbsolutePath, SHARED_FLOWS).getFirst();
-        // Extract the policies (located in /sharedflowbundle/policies)
-        List<Document> sharedFlowPolicies = fileReaderService.readFiles(sharedFlowBundleAbsolutePath, POLICIES);
-
-        fileWriterService.dictionaryMapToCsv(dictionaryOutputCsv);
+        // The steps and policies are already read by the dependency scan of the shared flows
+        SharedFlowCache.SharedFlowBundle sharedFlowBundle = readSharedFlowBundle(sharedFlowBundleAbsolutePath, migrationContext.getSharedFlowCache());
 
         // Construct the sharedflow
-        List<String> sharedFlows = sharedFlowObjectConverter.createSharedFlow(sharedFlowRootXml, sharedFlowStepsXml, sharedFlowPolicies, sharedFlowBundleAbsolutePath);
+        List<ObjectNode> sharedFlows = sharedFlowObjectConverter.createSharedFlow(sharedFlowRootXml, sharedFlowBundle.steps(), sharedFlowBundle.symbolTable(), sharedFlowBundleAbsolutePath, migrationContext);
 
         // Extract the shared flow name
         var sharedFlowName = xPath.evaluate("/SharedFlowBundle/DisplayName", sharedFlowRootXml);
@@ -142,9 +449,17 @@ public class MigrationServiceImpl implements MigrationService {
         fileWriterService.generateAndSaveCurlScript(sharedFlows, sharedFlowName, sharedFlowExportFile);
     }
 
+    private SharedFlowCache.SharedFlowBundle readSharedFlowBundle(String sharedFlowBundleAbsolutePath, SharedFlowCache sharedFlowCache) throws Exception {
+        return sharedFlowCache.getBundle(sharedFlowBundleAbsolutePath, () -> new SharedFlowCache.SharedFlowBundle(
+                sharedFlowBundleAbsolutePath,
+                // Extract the policies (located in /sharedflowbundle/policies), indexed by name
+                fileReaderService.readSymbolTable(sharedFlowBundleAbsolutePath),
+                // Extract the shared flow bundle xml that contains all the steps (located in /sharedflowbundle/sharedflows)
+                fileReaderService.readFiles(sharedFlowBundleAbsolutePath, SHARED_FLOWS).getFirst()));
+    }
+
     private boolean validateSharedFlowDirectory(String sharedFlowBundleAbsolutePath) {
-        File sharedFlowBundleFile = new File(sharedFlowBundleAbsolutePath);
-        if (!sharedFlowBundleFile.exists() || !sharedFlowBundleFile.isDirectory()) {
+        if (!fileReaderService.isDirectory(sharedFlowBundleAbsolutePath)) {
             log.warn("Skipping..., The following directory is not a shared flow: {}", sharedFlowBundleAbsolutePath);
             return false;
         }
@@ -158,4 +473,10 @@ public class MigrationServiceImpl implements MigrationService {
             throw new IllegalArgumentException("The provided document is not a valid ApiGee configuration.");
         }
     }
+
+    private record SharedFlowFolder(String name, String folderLocation, String bundleLocation) {
+    }
+
+    private record ApiProxyDocuments(Document rootXml, Document proxyXml, BundleSymbolTable symbolTable, String folderLocation) {
+    }
 }
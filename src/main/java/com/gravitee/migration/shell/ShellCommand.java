@@ -24,4 +24,20 @@ public class ShellCommand {
     public String start(@ShellOption(help = "The APIProxy folder location.") String apiProxyFolderLocation) {
         return migrationService.start(apiProxyFolderLocation);
     }
+
+    /**
+     * Starts the migration process for every APIProxy located in the given folder and the shared flows next to them.
+     * Each APIProxy is written to its own folder inside the output folder.
+     * ex. input "start-batch path/to/apiproxies --output-folder-location path/to/output --parallelism 4"
+     *
+     * @param apiProxiesFolderLocation The folder containing the APIProxy folders that need to be migrated.
+     * @param outputFolderLocation     The folder where the output of every APIProxy is written.
+     * @param parallelism              The maximum number of APIProxies converted at the same time (0 uses the number of available processors).
+     */
+    @ShellMethod(key = "start-batch", value = "Start the migration of all APIProxies in a folder")
+    public String startBatch(@ShellOption(help = "The folder containing the APIProxy folders.") String apiProxiesFolderLocation,
+                             @ShellOption(help = "The output folder, one sub folder is created per APIProxy.", defaultValue = "GraviteeExport") String outputFolderLocation,
+                             @ShellOption(help = "Maximum number of APIProxies converted at the same time (0 = available processors).", defaultValue = "0") int parallelism) {
+        return migrationService.startBatch(apiProxiesFolderLocation, outputFolderLocation, parallelism);
+    }
 }
@@ -3,7 +3,9 @@ package com.gravitee.migration.util;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
@@ -22,4 +24,14 @@ public class DateUtils {
         DateTimeFormatter formatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
         return dateTime.format(formatter);
     }
+
+    /**
+     * Returns the number of seconds from now until the start of the given day (UTC).
+     *
+     * @param date the day
+     * @return the number of seconds, negative if the day is in the past
+     */
+    public static long secondsUntil(LocalDate date) {
+        return Duration.between(Instant.now(), date.atStartOfDay(ZoneOffset.UTC).toInstant()).getSeconds();
+    }
 }
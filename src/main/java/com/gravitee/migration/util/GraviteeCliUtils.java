@@ -1,15 +1,20 @@
 package com.gravitee.migration.util;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gravitee.migration.converter.condition.ConditionCanonicalizer;
+import com.gravitee.migration.converter.condition.ConditionCompiler;
+import com.gravitee.migration.converter.condition.ConditionSelectorExtractor;
+import com.gravitee.migration.converter.condition.PathSelector;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
 import static ch.qos.logback.core.util.StringUtil.isNullOrEmpty;
 import static com.gravitee.migration.util.StringUtils.isNotNullOrEmpty;
@@ -19,7 +24,7 @@ import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.*
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class GraviteeCliUtils {
 
-    private static final String ROOT_PATH = "/";
+    private static final PathSelector DEFAULT_PATH_SELECTOR = new PathSelector("/", STARTS_WITH);
 
     /**
      * Creates a base phase object for the policy with the specified name, condition, and type. (object in the request or response phase)
@@ -66,10 +71,11 @@ public class GraviteeCliUtils {
 
     /**
      * Converts an Apigee policy condition to a Gravitee-compatible condition.
-     * This method uses a mapping file to translate specific conditions. (Hardcoded)
+     * The mapping file overrides the translation of specific conditions (Hardcoded), the other conditions are compiled to Gravitee EL.
+     * The condition is canonicalized, so it matches the mapping regardless of whitespace, keyword case or outer parentheses.
      *
      * @param apigeeCondition     The Apigee condition to be converted.
-     * @param translationMappings The map containing the translation mappings.
+     * @param translationMappings The map containing the translation mappings, keyed by canonical condition.
      * @return The converted Gravitee condition, or null if the input is null or empty.
      */
     public static String convertApigeeConditionToGravitee(String apigeeCondition, Map<String, String> translationMappings) {
@@ -77,61 +83,162 @@ public class GraviteeCliUtils {
             return null;
         }
 
+        // Conditions that can't be compiled are kept as they are
+        String result = translateApigeeCondition(apigeeCondition, translationMappings);
+        return result != null ? result : apigeeCondition.trim();
+    }
+
+    /**
+     * Translates an Apigee condition to Gravitee EL with the mapping file or the condition compiler.
+     * Unlike {@link #convertApigeeConditionToGravitee(String, Map)}, a condition that can't be translated is not kept as it is.
+     *
+     * @param apigeeCondition     The Apigee condition to be translated, not empty.
+     * @param translationMappings The map containing the translation mappings, keyed by canonical condition.
+     * @return The Gravitee EL condition, or null if the condition can't be translated.
+     */
+    public static String translateApigeeCondition(String apigeeCondition, Map<String, String> translationMappings) {
         // Replace Apigee-specific syntax with Gravitee syntax using the map
-        String result = apigeeCondition.trim();
-        for (Map.Entry<String, String> entry : translationMappings.entrySet()) {
-            if (result.equals(entry.getKey())) { // Check if the result matches the entry key
-                result = entry.getValue(); // Replace the result with the corresponding value
-                break; // Exit the loop since a match is found
+        String result = translationMappings.get(ConditionCanonicalizer.canonicalize(apigeeCondition));
+        return result != null ? result : ConditionCompiler.compile(apigeeCondition);
+    }
+
+    /**
+     * Translates Apigee conditions that apply together (e.g. the condition of a step and the condition of its flow) to a
+     * single Gravitee EL condition. Empty conditions are ignored.
+     *
+     * @param translationMappings The map containing the translation mappings, keyed by canonical condition.
+     * @param apigeeConditions    The Apigee conditions, combined with AND.
+     * @return The Gravitee EL condition, an empty string if there is no condition, or null if a condition can't be translated.
+     */
+    public static String translateApigeeConditions(Map<String, String> translationMappings, String... apigeeConditions) {
+        List<String> graviteeConditions = new ArrayList<>();
+        for (String apigeeCondition : apigeeConditions) {
+            if (apigeeCondition != null && !apigeeCondition.isBlank()) {
+                var graviteeCondition = translateApigeeCondition(apigeeCondition, translationMappings);
+                if (graviteeCondition == null) {
+                    return null;
+                }
+                graviteeConditions.add(graviteeCondition);
             }
         }
+        return combineGraviteeConditions(graviteeConditions);
+    }
 
-        return result;
+    /**
+     * Describes Apigee conditions that apply together, e.g. in a warning about conditions that can't be translated.
+     *
+     * @param apigeeConditions The Apigee conditions, combined with AND.
+     * @return The conditions joined with "and", empty conditions are ignored.
+     */
+    public static String describeConditions(String... apigeeConditions) {
+        var conditions = Arrays.stream(apigeeConditions)
+                .filter(condition -> condition != null && !condition.isBlank())
+                .map(String::trim)
+                .toList();
+        return conditions.size() == 1 ? conditions.getFirst() : "(" + String.join(") and (", conditions) + ")";
     }
 
     /**
-     * Constructs the condition for the selectors object based on the provided condition string. (used for constructing flow conditions)
+     * Combines Gravitee EL conditions with AND. Empty conditions are ignored.
      *
-     * @param condition The condition string to be parsed and converted.
-     * @param selectorsObject The selectors object to which the condition will be added.
-     * @param conditionMappings The map containing the translation mappings for conditions.
+     * @param graviteeConditions The Gravitee EL conditions, wrapped in {} or not.
+     * @return The combined condition wrapped in {}, or an empty string if there is no condition.
      */
-    public static void constructCondition(String condition, ObjectNode selectorsObject, Map<String, String> conditionMappings, ArrayNode selectorsArray) {
-        if (isNullOrEmpty(condition)) {
-            // Default condition when no specific condition is provided
-            constructDefaultCondition(selectorsObject);
-        } else {
-            // Parse and construct specific condition
-            constructSpecificCondition(condition, selectorsObject, conditionMappings, selectorsArray);
+    public static String combineGraviteeConditions(List<String> graviteeConditions) {
+        var conditions = graviteeConditions.stream()
+                .filter(condition -> condition != null && !condition.isBlank())
+                .map(StringUtils::unwrapExpression)
+                .toList();
+
+        if (conditions.isEmpty()) {
+            return "";
         }
+        return conditions.size() == 1 ? "{" + conditions.getFirst() + "}" : "{(" + String.join(") && (", conditions) + ")}";
     }
 
-    private static void constructDefaultCondition(ObjectNode selectorsObject) {
-        // If no condition is provided, set default values (everything will pass via this flow)
-        selectorsObject.put(TYPE, HTTP);
-        selectorsObject.put(PATH, ROOT_PATH);
-        selectorsObject.put(PATH_OPERATOR, STARTS_WITH);
+    /**
+     * Converts an Apigee message template (e.g. of an AssignMessage policy) to a Gravitee-compatible template.
+     * Templates are not conditions, so only the mapping file is used to translate them. (Hardcoded)
+     *
+     * @param apigeeTemplate      The Apigee template to be converted.
+     * @param translationMappings The map containing the translation mappings, keyed by trimmed template.
+     * @return The converted Gravitee template, or null if the input is null or empty.
+     */
+    public static String convertApigeeTemplateToGravitee(String apigeeTemplate, Map<String, String> translationMappings) {
+        if (apigeeTemplate == null || apigeeTemplate.trim().isEmpty()) {
+            return null;
+        }
+
+        String result = translationMappings.get(apigeeTemplate.trim());
+
+        // Templates without mapping are kept as they are
+        return result != null ? result : apigeeTemplate.trim();
     }
 
-    private static void constructSpecificCondition(String condition, ObjectNode selectorsObject, Map<String, String> conditionMappings, ArrayNode selectorsArray) {
+    /**
+     * Constructs the selectors of a flow based on the provided condition string. (used for constructing flow conditions)
+     * Path and method conditions are lowered to native HTTP selectors, only the remaining logic is kept as an EL condition.
+     * A condition matching any of several disjoint paths is split into one flow per path. When the paths overlap (e.g. /projects/**
+     * and /projects/{id}/tasks) a request could select several of the flows, so the paths are kept in the EL condition of a single flow.
+     *
+     * @param condition The condition string to be parsed and converted.
+     * @param conditionMappings The map containing the translation mappings for conditions.
+     * @return The selectors of each flow to create, one array per flow.
+     */
+    public static List<ArrayNode> constructFlowSelectors(String condition, Map<String, String> conditionMappings) {
         var convertedCondition = convertApigeeConditionToGravitee(condition, conditionMappings);
 
-        if(isNullOrEmpty(convertedCondition)) {
-            return;
+        if (isNullOrEmpty(convertedCondition)) {
+            // Default selectors when no specific condition is provided (everything will pass via this flow)
+            return List.of(createFlowSelectors(DEFAULT_PATH_SELECTOR, List.of(), ""));
+        }
+
+        // Extract the paths, methods and remaining condition in a single pass
+        var selectors = ConditionSelectorExtractor.extract(convertedCondition);
+        List<PathSelector> pathSelectors = selectors.paths().stream()
+                .map(PathSelector::fromPattern)
+                .flatMap(Optional::stream)
+                .distinct()
+                .toList();
+
+        if (!selectors.paths().isEmpty() && pathSelectors.size() == selectors.paths().size() && areDisjoint(pathSelectors)) {
+            // One flow per path, with a native path selector
+            return pathSelectors.stream()
+                    .map(pathSelector -> createFlowSelectors(pathSelector, selectors.methods(), selectors.remainingCondition()))
+                    .toList();
+        }
+
+        // The paths that can't be expressed with a path selector are kept in the condition
+        return List.of(createFlowSelectors(DEFAULT_PATH_SELECTOR, selectors.methods(), selectors.remainingConditionWithPaths()));
+    }
+
+    private static boolean areDisjoint(List<PathSelector> pathSelectors) {
+        for (int i = 0; i < pathSelectors.size(); i++) {
+            for (int j = i + 1; j < pathSelectors.size(); j++) {
+                if (pathSelectors.get(i).overlaps(pathSelectors.get(j))) {
+                    return false;
+                }
+            }
         }
+        return true;
+    }
 
-        List<String> paths = extractPathsFromCondition(convertedCondition);
-        List<String> methods = extractMethodsFromCondition(convertedCondition);
+    private static ArrayNode createFlowSelectors(PathSelector pathSelector, List<String> methods, String condition) {
+        var selectorsArray = JsonNodeFactory.instance.arrayNode();
+
+        // Set the path in the selectors
+        var selectorsObject = selectorsArray.addObject();
+        selectorsObject.put(TYPE, HTTP);
+        selectorsObject.put(PATH, pathSelector.path());
+        selectorsObject.put(PATH_OPERATOR, pathSelector.operator());
 
         // Add methods to the selectors object
         addMethodsToSelectors(selectorsObject, methods);
 
-        // If there is only one path in the condition, set it as the path in the flow selectors
-        if (paths.size() == 1) {
-            setSinglePathCondition(selectorsObject, paths.getFirst(), convertedCondition);
-        } else {
-            setMultiplePathsCondition(selectorsObject, convertedCondition, selectorsArray);
-        }
+        // If there is any valid remaining condition, set it
+        addConditionSelector(condition, selectorsArray);
+
+        return selectorsArray;
     }
 
     private static void addMethodsToSelectors(ObjectNode selectorsObject, List<String> methods) {
@@ -146,89 +253,14 @@ public class GraviteeCliUtils {
         }
     }
 
-    private static void setSinglePathCondition(ObjectNode selectorsObject, String path, String condition) {
-        // Set the path in the selectors
-        selectorsObject.put(TYPE, HTTP);
-        selectorsObject.put(PATH, path);
-        selectorsObject.put(PATH_OPERATOR, EQUALS_PATH_OPERATOR);
-
-        // Remove paths and methods from the condition
-        String remainingCondition = removePathsAndMethodsFromCondition(condition);
-
-        // If there is any valid remaining condition, set it
-        if (!remainingCondition.isEmpty()) {
-            selectorsObject.put(TYPE, CONDITION.toUpperCase());
-            selectorsObject.put(CONDITION, remainingCondition);
+    private static void addConditionSelector(String condition, ArrayNode selectorsArray) {
+        if (condition.isEmpty()) {
+            return;
         }
-    }
-
 
-    private static void setMultiplePathsCondition(ObjectNode selectorsObject, String condition, ArrayNode selectorsArray) {
-        // Remove methods from the condition, as they are already set in the selectors
-        String result = removeMethodsFromCondition(condition);
-
-        selectorsObject.put(TYPE, HTTP);
-        selectorsObject.put(PATH, "/");
-        selectorsObject.put(PATH_OPERATOR, "STARTS_WITH");
-
-        // Set the remaining condition
         var conditionsObjectSelector = selectorsArray.addObject();
         conditionsObjectSelector.put(TYPE, CONDITION.toUpperCase());
-        conditionsObjectSelector.put(CONDITION, result.trim());
-    }
-
-    private static List<String> extractPathsFromCondition(String condition) {
-        // Extract the paths from the condition using regex
-        List<String> paths = new ArrayList<>();
-        Pattern pathPattern = Pattern.compile("#request\\.pathInfo\\s+matches\\s+'([^']+)'");
-        Matcher matcher = pathPattern.matcher(condition);
-
-        while (matcher.find()) {
-            paths.add(matcher.group(1));
-        }
-        return paths;
-    }
-
-    private static List<String> extractMethodsFromCondition(String condition) {
-        // Extract the methods from the condition using regex
-        List<String> methods = new ArrayList<>();
-        Pattern methodPattern = Pattern.compile("#request\\.method\\s*==\\s*\"([^\"]+)\"");
-        Matcher matcher = methodPattern.matcher(condition);
-
-        while (matcher.find()) {
-            methods.add(matcher.group(1));
-        }
-        return methods;
-    }
-
-    private static String removeMethodsFromCondition(String condition) {
-        // Remove all method conditions from the condition string using regex
-        String result = condition.replaceAll("#request\\.method\\s*==\\s*\"[^\"]+\"", "");
-
-        // Remove any dangling logical operators (&& or ||) that are not followed by valid conditions
-        result = result.replaceAll("(\\s*(&&|\\|\\|)\\s*)+(?=\\s*\\})", "").trim();
-
-        // Remove empty braces if present
-        result = result.replaceAll("^\\{\\s*\\}$", "").trim();
-
-        return result;
-    }
-
-    private static String removePathsAndMethodsFromCondition(String condition) {
-        // Remove all path conditions
-        String result = condition.replaceAll("#request\\.pathInfo\\s+matches\\s+'[^']+'", "");
-
-        // Remove all method conditions
-        result = result.replaceAll("#request\\.method\\s*==\\s*\"[^\"]+\"", "");
-
-        // Remove leftover logical operators (e.g., &&, ||) and trim
-        result = result.replaceAll("(\\s*(&&|\\|\\|)\\s*)+", "").trim();
-
-        // Remove empty braces if present
-        result = result.replaceAll("^\\{\\s*\\}$", "").trim();
-
-        // Return the cleaned condition or an empty string if nothing is left
-        return result.isEmpty() ? "" : result;
+        conditionsObjectSelector.put(CONDITION, condition);
     }
 
     private static boolean isPolicyEnabled(String policyType) {
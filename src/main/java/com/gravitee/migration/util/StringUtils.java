@@ -1,5 +1,6 @@
 package com.gravitee.migration.util;
 
+import com.gravitee.migration.converter.condition.ConditionElEmitter;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.w3c.dom.Document;
@@ -16,6 +17,7 @@ import java.io.*;
 import java.util.stream.Collectors;
 
 import static com.gravitee.migration.util.constants.CommonConstants.*;
+import static com.gravitee.migration.util.constants.object.ApiObjectConstants.DEFAULT_CACHE_RESOURCE;
 import static com.gravitee.migration.util.constants.policy.PolicyTypeConstants.JWT;
 import static java.util.Objects.isNull;
 
@@ -171,6 +173,62 @@ public class StringUtils {
         return baseUrl.split("/")[0];
     }
 
+    /**
+     * Returns the name of the cache resource of a cache policy.
+     *
+     * @param cacheResource the CacheResource of the policy
+     * @return the name of the cache resource, or the default cache resource if the policy uses the shared cache of Apigee
+     */
+    public static String cacheResourceName(String cacheResource) {
+        return isNotNullOrEmpty(cacheResource) ? cacheResource.trim() : DEFAULT_CACHE_RESOURCE;
+    }
+
+    /**
+     * Removes the braces wrapping a Gravitee EL expression.
+     * An expression made of several wrapped parts (e.g. a mapping "{a} && {b}") has each part unwrapped in parentheses.
+     *
+     * @param expression the expression (e.g., "{#request.method == 'GET'}")
+     * @return the expression without the braces (e.g., "#request.method == 'GET'"), or the expression itself if it is not wrapped
+     */
+    public static String unwrapExpression(String expression) {
+        var trimmedExpression = expression.trim();
+        var unwrappedExpression = new StringBuilder(trimmedExpression.length());
+        var depth = 0;
+        var wrappedParts = 0;
+        var wholeExpressionWrapped = false;
+        char quote = 0;
+
+        for (int i = 0; i < trimmedExpression.length(); i++) {
+            var c = trimmedExpression.charAt(i);
+            if (quote != 0) {
+                // Braces inside string literals are kept as they are
+                quote = c == quote ? 0 : quote;
+                unwrappedExpression.append(c);
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                unwrappedExpression.append(c);
+            } else if (c == '{') {
+                unwrappedExpression.append(depth++ == 0 ? '(' : c);
+            } else if (c == '}' && depth > 0) {
+                if (--depth == 0) {
+                    wrappedParts++;
+                    wholeExpressionWrapped = wrappedParts == 1 && trimmedExpression.charAt(0) == '{' && i == trimmedExpression.length() - 1;
+                    unwrappedExpression.append(')');
+                } else {
+                    unwrappedExpression.append(c);
+                }
+            } else {
+                unwrappedExpression.append(c);
+            }
+        }
+
+        if (depth != 0 || wrappedParts == 0) {
+            // Not wrapped, or the braces are not balanced
+            return trimmedExpression;
+        }
+        return wholeExpressionWrapped ? trimmedExpression.substring(1, trimmedExpression.length() - 1) : unwrappedExpression.toString();
+    }
+
     /**
      * Wraps a value in context attributes format.
      *
@@ -215,8 +273,8 @@ public class StringUtils {
             // Format it as {#context.attributes['jwt.claims']['lastPart']}
             result.append(String.format("{#context.attributes['jwt.claims']['%s']}", lastPart));
         } else {
-            // Default behavior
-            result.append(String.format(CONTEXT_ATTRIBUTE_FORMAT_WRAPPED, refValue));
+            // Well known flow variables (request.uri, request.header.X, ...) are read from the request, the others from the context attributes
+            result.append(ConditionElEmitter.emitValue(refValue));
         }
     }
 
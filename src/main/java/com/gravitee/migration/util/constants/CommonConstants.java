@@ -44,6 +44,7 @@ public class CommonConstants {
     public static final String REQUEST_CONTENT_WRAPPED = "{#request.content}";
     public static final String RESPONSE_CONTENT_WRAPPED = "{#response.content}";
     public static final String DICTIONARY_FORMAT = "#dictionaries['%s']['%s']";
+    public static final String DICTIONARY_MARKER = "#dictionaries";
     public static final String DICTIONARY_FORMAT_WRAPPED = "{#dictionaries['%s']['%s']}";
     public static final String CONTEXT_ATTRIBUTE_FORMAT = "#context.attributes['%s']";
     public static final String CONTEXT_ATTRIBUTE_FORMAT_WRAPPED = "{#context.attributes['%s']}";
@@ -15,4 +15,9 @@ public class FolderConstants {
     public static final String TARGETS = "targets";
     public static final String XSLT = "xslt";
 
+    // Bundles can be read directly from zip archives (Apigee revision exports)
+    public static final String ZIP_EXTENSION = ".zip";
+    public static final String ARCHIVE_LOCATION_PREFIX = "jar:";
+    public static final String ARCHIVE_ENTRY_SEPARATOR = "!/";
+
 }
\ No newline at end of file
@@ -17,6 +17,15 @@ public class ApiObjectConstants {
     public static final String DEFAULT_ENDPOINT = "default-endpoint";
     public static final String LOAD_BALANCER = "loadBalancer";
     public static final String ROUND_ROBIN = "ROUND_ROBIN";
+    public static final String WEIGHTED_ROUND_ROBIN = "WEIGHTED_ROUND_ROBIN";
+    public static final String HEALTH_CHECK = "healthCheck";
+    public static final String HTTP_HEALTH_CHECK = "http-health-check";
+    public static final String OVERRIDE_CONFIGURATION = "overrideConfiguration";
+    public static final String SCHEDULE = "schedule";
+    public static final String OVERRIDE_ENDPOINT_PATH = "overrideEndpointPath";
+    public static final String ASSERTION = "assertion";
+    public static final String SUCCESS_THRESHOLD = "successThreshold";
+    public static final String FAILURE_THRESHOLD = "failureThreshold";
     public static final String SHARED_CONFIGURATION = "sharedConfiguration";
     public static final String ENDPOINTS = "endpoints";
     public static final String WEIGHT = "weight";
@@ -28,4 +37,39 @@ public class ApiObjectConstants {
     public static final String HOST_NAME_VERIFIER = "hostNameVerifier";
     public static final String KEY_STORE = "keyStore";
     public static final String TRUST_STORE = "trustStore";
+    public static final String HTTP_CONFIGURATION = "http";
+    public static final String READ_TIMEOUT = "readTimeout";
+    public static final String KEEP_ALIVE = "keepAlive";
+    public static final String KEEP_ALIVE_TIMEOUT = "keepAliveTimeout";
+    public static final String IDLE_TIMEOUT = "idleTimeout";
+    public static final String MAX_CONCURRENT_CONNECTIONS = "maxConcurrentConnections";
+    public static final String PIPELINING = "pipelining";
+    public static final String USE_COMPRESSION = "useCompression";
+    public static final String PROPAGATE_CLIENT_ACCEPT_ENCODING = "propagateClientAcceptEncoding";
+    public static final String HTTP_VERSION = "version";
+    public static final String HTTP_1_1 = "HTTP_1_1";
+    public static final String FLOW_EXECUTION = "flowExecution";
+    public static final String MODE = "mode";
+    public static final String MATCH_REQUIRED = "matchRequired";
+    public static final String DEFAULT_FLOW_MODE = "DEFAULT";
+    public static final String BEST_MATCH_FLOW_MODE = "BEST_MATCH";
+    public static final String ANALYTICS = "analytics";
+    public static final String LOGGING = "logging";
+    public static final String ENTRYPOINT = "entrypoint";
+    public static final String ENDPOINT = "endpoint";
+    public static final String CONTENT = "content";
+    public static final String PAYLOAD = "payload";
+    public static final String CACHE_RESOURCE = "cache";
+    public static final String DEFAULT_CACHE_RESOURCE = "default-cache";
+    public static final String REDIS_CACHE_RESOURCE = "cache-redis";
+    public static final String TIME_TO_IDLE_SECONDS = "timeToIdleSeconds";
+    public static final String TIME_TO_LIVE_SECONDS = "timeToLiveSeconds";
+    public static final String MAX_ENTRIES_LOCAL_HEAP = "maxEntriesLocalHeap";
+    public static final String RELEASE_CACHE = "releaseCache";
+    public static final String MAX_TOTAL = "maxTotal";
+    public static final String PASSWORD = "password";
+    public static final String TIMEOUT = "timeout";
+    public static final String USE_SSL = "useSsl";
+    public static final String STANDALONE = "standalone";
+    public static final String PORT = "port";
 }
\ No newline at end of file
@@ -10,6 +10,8 @@ public class PlanObjectConstants {
     public static final String FLOWS = "flows";
     public static final String SELECTORS = "selectors";
     public static final String RULES = "rules";
+    public static final String REQUEST_ENDPOINT_ATTRIBUTE = "gravitee.attribute.request.endpoint";
+    public static final String ENDPOINT_REFERENCE_FORMAT = "%s:";
     public static final String PATTERN = "pattern";
     public static final String SECURITY = "security";
     public static final String API_KEY = "API_KEY";
@@ -35,8 +37,21 @@ public class PlanObjectConstants {
     public static final String EXTRACT_CLAIMS = "extractClaims";
     public static final String PROPAGATE_AUTHORIZATION_HEADER = "propagateAuthorizationHeader";
     public static final String SPIKE = "spike";
+    public static final String RATE = "rate";
+    public static final String DYNAMIC_LIMIT = "dynamicLimit";
+    public static final String QUOTA_RATE = "quota";
+    // Each request counts as one, so the limit is divided by the weight of the current request (Apigee MessageWeight).
+    // Plain arithmetic only, the type references (T(...)) are rejected by the default EL whitelist of the gateway,
+    // so the weight must be a number (e.g. an attribute), not the text of a header
+    public static final String WEIGHTED_LIMIT_FORMAT = "{%1$s != null && %1$s > 0 ? %2$s / %1$s : %2$s}";
     public static final String CACHE_KEY = "cacheKey";
     public static final String DEFAULT_OPERATION = "defaultOperation";
+    public static final String TIME_TO_LIVE = "timeToLive";
+    public static final String CACHE_NAME = "cacheName";
+    public static final String USE_RESPONSE_CACHE_HEADERS = "useResponseCacheHeaders";
+    public static final String RESPONSE_CONDITION = "responseCondition";
+    public static final String X_GRAVITEE_CACHE = "X-Gravitee-Cache";
+    public static final String REFRESH_CACHE = "REFRESH";
     public static final String CALLOUT_RESPONSE_CONTENT = "{#calloutResponse.content}";
     public static final String ERROR_CONDITION_EXPRESSION = "{#calloutResponse.status >= 400 and #calloutResponse.status <= 599}";
     public static final String GIVEN_KEY = "GIVEN_KEY";
@@ -11,12 +11,16 @@ public class PolicyConstants {
     public static final String EXTRACT_VARIABLES = "ExtractVariables";
     public static final String JSON_TO_XML = "JSONToXML";
     public static final String SPIKE_ARREST = "SpikeArrest";
+    public static final String QUOTA = "Quota";
+    public static final String CONCURRENT_RATE_LIMIT = "ConcurrentRatelimit";
+    public static final String MESSAGE_LOGGING = "MessageLogging";
     public static final String XML_TO_JSON = "XMLToJSON";
     public static final String JAVASCRIPT = "Javascript";
     public static final String XSLT = "XSL";
     public static final String KVM = "KeyValueMapOperations";
     public static final String LOOKUP_CACHE = "LookupCache";
     public static final String POPULATE_CACHE = "PopulateCache";
+    public static final String RESPONSE_CACHE = "ResponseCache";
     public static final String VERIFY_API_KEY = "VerifyAPIKey";
     public static final String MESSAGE_VALIDATION = "MessageValidation";
     public static final String VERIFY_JWT = "VerifyJWT";
@@ -15,7 +15,10 @@ public class PolicyTypeConstants {
     public static final String XSLT = "xslt";
     public static final String JWT = "jwt";
     public static final String SPIKE_ARREST = "spike-arrest";
+    public static final String RATE_LIMIT = "rate-limit";
+    public static final String QUOTA = "quota";
     public static final String DATA_CACHE = "data-cache";
+    public static final String CACHE = "cache";
     public static final String DYNAMIC_ROUTING = "dynamic-routing";
     public static final String OVERRIDE_REQUEST_METHOD = "policy-override-request-method";
     public static final String ASSIGN_CONTENT = "policy-assign-content";
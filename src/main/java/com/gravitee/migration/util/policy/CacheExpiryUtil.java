@@ -0,0 +1,103 @@
+package com.gravitee.migration.util.policy;
+
+import com.gravitee.migration.util.DateUtils;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.w3c.dom.Document;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpressionException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Consumer;
+
+/**
+ * Maps the ExpirySettings of the Apigee cache policies (PopulateCache, ResponseCache) to a time to live in seconds.
+ * <p>
+ * Gravitee caches only support a time to live relative to the moment the entry is stored, so the absolute expiry settings are
+ * approximated:
+ * <ul>
+ *     <li>TimeoutInSec (TimeoutInSeconds) is used as it is</li>
+ *     <li>ExpiryDate is converted to the number of seconds between the migration and the expiry date</li>
+ *     <li>TimeOfDay expires the entries once a day, so they live one day at most</li>
+ * </ul>
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CacheExpiryUtil {
+
+    /**
+     * Time to live of the entries that never expire.
+     */
+    public static final long NO_EXPIRY = 0;
+
+    private static final long SECONDS_PER_DAY = 86400;
+    private static final DateTimeFormatter EXPIRY_DATE_FORMAT = DateTimeFormatter.ofPattern("MM-dd-yyyy");
+
+    /**
+     * Returns the time to live of the entries stored by the cache policy.
+     *
+     * @param xPath        The XPath used to read the policy.
+     * @param apiGeePolicy The cache policy document.
+     * @param warnings     Receives the warnings about the settings that can't be mapped exactly.
+     * @return The time to live in seconds, or {@link #NO_EXPIRY} if the entries never expire.
+     */
+    public static long resolveTimeToLiveSeconds(XPath xPath, Document apiGeePolicy, Consumer<String> warnings) throws XPathExpressionException {
+        var policyName = xPath.evaluate("/*/@name", apiGeePolicy);
+        // PopulateCache names the timeout TimeoutInSec, ResponseCache TimeoutInSeconds
+        var timeoutInSec = xPath.evaluate("/*/ExpirySettings/TimeoutInSec | /*/ExpirySettings/TimeoutInSeconds", apiGeePolicy).trim();
+        var expiryDate = xPath.evaluate("/*/ExpirySettings/ExpiryDate", apiGeePolicy).trim();
+        var timeOfDay = xPath.evaluate("/*/ExpirySettings/TimeOfDay", apiGeePolicy).trim();
+
+        warnAboutReference(xPath, apiGeePolicy, policyName, warnings);
+
+        if (!timeoutInSec.isEmpty()) {
+            return parseTimeout(timeoutInSec, policyName, warnings);
+        }
+        if (!expiryDate.isEmpty()) {
+            return secondsUntilExpiryDate(expiryDate, policyName, warnings);
+        }
+        if (!timeOfDay.isEmpty()) {
+            warnings.accept(String.format("Cache policy '%s' expires its entries every day at %s, the entries expire %d seconds after being stored instead",
+                    policyName, timeOfDay, SECONDS_PER_DAY));
+            return SECONDS_PER_DAY;
+        }
+        return NO_EXPIRY;
+    }
+
+    private static void warnAboutReference(XPath xPath, Document apiGeePolicy, String policyName, Consumer<String> warnings) throws XPathExpressionException {
+        // The expiry read from a flow variable is only known at runtime, the value of the element is the fallback used by Apigee
+        var reference = xPath.evaluate("/*/ExpirySettings/*/@ref", apiGeePolicy).trim();
+        if (!reference.isEmpty()) {
+            warnings.accept(String.format("Cache policy '%s' reads its expiry from the variable '%s', the default value of the policy is used instead",
+                    policyName, reference));
+        }
+    }
+
+    private static long parseTimeout(String timeoutInSec, String policyName, Consumer<String> warnings) {
+        try {
+            return Math.max(Long.parseLong(timeoutInSec), NO_EXPIRY);
+        } catch (NumberFormatException e) {
+            warnings.accept(String.format("Invalid TimeoutInSec '%s' of cache policy '%s', the entries never expire", timeoutInSec, policyName));
+            return NO_EXPIRY;
+        }
+    }
+
+    private static long secondsUntilExpiryDate(String expiryDate, String policyName, Consumer<String> warnings) {
+        long seconds;
+        try {
+            seconds = DateUtils.secondsUntil(LocalDate.parse(expiryDate, EXPIRY_DATE_FORMAT));
+        } catch (DateTimeParseException e) {
+            warnings.accept(String.format("Invalid ExpiryDate '%s' of cache policy '%s', the entries never expire", expiryDate, policyName));
+            return NO_EXPIRY;
+        }
+
+        if (seconds <= 0) {
+            warnings.accept(String.format("ExpiryDate '%s' of cache policy '%s' is in the past, the entries never expire", expiryDate, policyName));
+            return NO_EXPIRY;
+        }
+        warnings.accept(String.format("Cache policy '%s' expires its entries on %s, the entries expire %d seconds after being stored instead",
+                policyName, expiryDate, seconds));
+        return seconds;
+    }
+}
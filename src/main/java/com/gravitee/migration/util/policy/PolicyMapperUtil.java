@@ -1,11 +1,12 @@
 package com.gravitee.migration.util.policy;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.gravitee.migration.converter.policy.AdvancedPolicyConverter;
-import com.gravitee.migration.converter.policy.PolicyConverter;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.gravitee.migration.converter.context.BundleSymbolTable;
+import com.gravitee.migration.converter.context.MigrationContext;
+import com.gravitee.migration.converter.context.SharedFlowCache;
+import com.gravitee.migration.converter.policy.PolicyConverterRegistry;
 import com.gravitee.migration.converter.policy.impl.SharedFlowConverter;
-import com.gravitee.migration.infrastructure.configuration.GraviteeELTranslator;
-import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -16,11 +17,9 @@ import org.w3c.dom.NodeList;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpressionException;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
+import static com.gravitee.migration.util.StringUtils.cacheResourceName;
 import static com.gravitee.migration.util.constants.CommonConstants.RESPONSE;
 import static com.gravitee.migration.util.constants.policy.PolicyConstants.*;
 
@@ -35,83 +34,103 @@ public class PolicyMapperUtil {
 
     private final XPath xPath;
     private final SharedFlowConverter sharedFlowConverter;
-    private final List<PolicyConverter> policyConverters;
-    private final List<AdvancedPolicyConverter> advancedPolicyConverters;
-    private final GraviteeELTranslator graviteeELTranslator;
-    // used for collecting policies from the apiproxy and shared flow that can be later set in the api definition
-    @Getter
-    private final Set<Document> cachePolicies = new HashSet<>();
-    @Getter
-    private final Set<String> collectedPolicies = new HashSet<>();
+    private final PolicyConverterRegistry policyConverterRegistry;
 
     /**
      * Applies policies to flow nodes based on the step nodes and Apigee policies.
      *
      * @param stepNodes             The list of step nodes to which policies will be applied.
-     * @param apiGeePolicies        The list of Apigee policies to be converted and applied.
+     * @param symbolTable           The policies of the bundle, indexed by name.
      * @param objectNodes           The array node where the converted policies will be added.
      * @param scope                 The scope of the policies (e.g., request, response).
      * @param isSharedFlow          Indicates if the flow is a shared flow.
      * @param currentFolderLocation The current folder location for file reading. (used for extraction of js or xslt policies)
+     * @param migrationContext      The context of the current migration, collects the policies used later in the api definition.
      * @throws XPathExpressionException if an error occurs during XPath evaluation.
      */
-    public void applyPoliciesToFlowNodes(NodeList stepNodes, List<Document> apiGeePolicies, ArrayNode objectNodes, String scope, boolean isSharedFlow, String currentFolderLocation) throws XPathExpressionException {
-        graviteeELTranslator.loadConditionMappings();
-
+    public void applyPoliciesToFlowNodes(NodeList stepNodes, BundleSymbolTable symbolTable, ArrayNode objectNodes, String scope, boolean isSharedFlow, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         if (stepNodes != null && stepNodes.getLength() > 0) {
 
             for (int j = 0; j < stepNodes.getLength(); j++) {
                 var stepNode = stepNodes.item(j);
-                findAndApplyMatchingPolicy(stepNode, apiGeePolicies, objectNodes, scope, isSharedFlow, currentFolderLocation);
+                findAndApplyMatchingPolicy(stepNode, symbolTable, objectNodes, scope, isSharedFlow, currentFolderLocation, migrationContext);
             }
         }
     }
 
+    /**
+     * Adds the converted steps of a shared flow to the array node. The steps are converted once per phase and cached
+     * for the migration run, the state collected while converting them is merged into the context on every use.
+     *
+     * @param sharedFlowBundle The parsed shared flow bundle.
+     * @param objectNodes      The array node where the converted steps will be added.
+     * @param scope            The phase of the steps (e.g., request, response).
+     * @param migrationContext The context of the current migration.
+     * @throws Exception if an error occurs during the conversion of the shared flow.
+     */
+    public void applySharedFlowSteps(SharedFlowCache.SharedFlowBundle sharedFlowBundle, ArrayNode objectNodes, String scope, MigrationContext migrationContext) throws Exception {
+        var convertedSharedFlow = migrationContext.getSharedFlowCache().getConvertedSharedFlow(sharedFlowBundle.location(), scope,
+                () -> convertSharedFlowSteps(sharedFlowBundle, scope, migrationContext));
+
+        migrationContext.merge(convertedSharedFlow.migrationContext());
+        // The cached steps are copied, so the flows using the shared flow can be changed independently
+        objectNodes.addAll(convertedSharedFlow.steps().deepCopy());
+    }
+
+    private SharedFlowCache.ConvertedSharedFlow convertSharedFlowSteps(SharedFlowCache.SharedFlowBundle cachedSharedFlowBundle, String scope, MigrationContext migrationContext) throws XPathExpressionException {
+        // The phases of a shared flow can be converted by several threads at the same time, each one reads its own copy
+        var sharedFlowBundle = cachedSharedFlowBundle.copy();
+        var sharedFlowContext = migrationContext.forSharedFlow(sharedFlowBundle.location());
+        var steps = JsonNodeFactory.instance.arrayNode();
+        var stepNodes = (NodeList) xPath.evaluate("/SharedFlow/Step", sharedFlowBundle.steps(), XPathConstants.NODESET);
+
+        applyPoliciesToFlowNodes(stepNodes, sharedFlowBundle.symbolTable(), steps, scope, true, sharedFlowBundle.location(), sharedFlowContext);
+        return new SharedFlowCache.ConvertedSharedFlow(steps, sharedFlowContext);
+    }
+
     /**
      * Finds and applies the matching policy to the given step node.
      *
      * @param stepNode       The step node to which the policy will be applied.
-     * @param apiGeePolicies The list of Apigee policies to search for a match.
+     * @param symbolTable    The policies of the bundle, indexed by name.
      * @param phaseArray     The array node where the converted policies will be added (e.g, request, response, or scope(for shared flow)).
      * @param phase          The phase of the policy (e.g., request, response).
      * @param isSharedFlow   Indicates if the flow is a shared flow.
+     * @param migrationContext The context of the current migration.
      * @throws XPathExpressionException if an error occurs during XPath evaluation.
      */
-    public void findAndApplyMatchingPolicy(Node stepNode, List<Document> apiGeePolicies, ArrayNode phaseArray, String phase, boolean isSharedFlow, String currentFolderLocation) throws XPathExpressionException {
+    public void findAndApplyMatchingPolicy(Node stepNode, BundleSymbolTable symbolTable, ArrayNode phaseArray, String phase, boolean isSharedFlow, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Extract the policy name from the step node
         var stepName = xPath.evaluate("Name", stepNode);
 
-        for (Document apiGeePolicy : apiGeePolicies) {
-            // Extract the display name of the policy
-            var displayName = xPath.evaluate("/*/@name", apiGeePolicy);
-            // Check if the step name matches the display name of the policy
-            if (stepName.equals(displayName)) {
-                applyPolicyConverter(stepNode, apiGeePolicy, phaseArray, phase, isSharedFlow, currentFolderLocation);
-            }
+        // Find the policy with the same name as the step (missing policies are reported by the symbol table)
+        var policySymbol = symbolTable.findPolicy(stepName, migrationContext);
+        if (policySymbol != null) {
+            applyPolicyConverter(stepNode, policySymbol, phaseArray, phase, isSharedFlow, currentFolderLocation, migrationContext);
         }
     }
 
-    private void applyPolicyConverter(Node stepNode, Document apiGeePolicy, ArrayNode phaseArray, String phase, boolean isSharedFlow, String currentFolderLocation) throws XPathExpressionException {
-        // Extract the root element name of the policy
-        var rootElement = (Node) xPath.evaluate("/*", apiGeePolicy, XPathConstants.NODE);
-        var policyType = rootElement.getNodeName();
+    private void applyPolicyConverter(Node stepNode, BundleSymbolTable.PolicySymbol policySymbol, ArrayNode phaseArray, String phase, boolean isSharedFlow, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
+        // The policy type is the root element name of the policy
+        var policyType = policySymbol.type();
+        var apiGeePolicy = policySymbol.document();
 
         String condition = xPath.evaluate("Condition", stepNode);
 
-        collectJwtOrApiKeyPolicies(policyType);
-        collectCachePolicies(policyType, apiGeePolicy);
+        collectJwtOrApiKeyPolicies(policyType, migrationContext);
+        collectCachePolicies(policyType, apiGeePolicy, migrationContext);
 
-        processPolicy(policyType, isSharedFlow, condition, apiGeePolicy, phaseArray, phase, currentFolderLocation);
+        processPolicy(policyType, isSharedFlow, condition, apiGeePolicy, phaseArray, phase, currentFolderLocation, migrationContext);
     }
 
-    private void processPolicy(String policyType, boolean isSharedFlow, String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, String currentFolderLocation) throws XPathExpressionException {
+    private void processPolicy(String policyType, boolean isSharedFlow, String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, String currentFolderLocation, MigrationContext migrationContext) throws XPathExpressionException {
         // Used for converting the FlowCallout of the apiproxy xml only (references the shared policy group in gravitee)
         if (isFlowCalloutPolicy(policyType, isSharedFlow)) {
-            sharedFlowConverter.convert(condition, apiGeePolicy, phaseArray, phase, graviteeELTranslator.getConditionMappings());
+            sharedFlowConverter.convert(condition, apiGeePolicy, phaseArray, phase, migrationContext.getConditionMappings(), migrationContext);
         } else if (isUnavailableInResponsePhase(policyType, phase)) {
             // Policies not available in the response phase are skipped
         } else {
-            applyConverter(policyType, condition, apiGeePolicy, phaseArray, phase, currentFolderLocation);
+            applyConverter(policyType, condition, apiGeePolicy, phaseArray, phase, currentFolderLocation, migrationContext);
         }
     }
 
@@ -120,54 +139,52 @@ public class PolicyMapperUtil {
     }
 
     private boolean isUnavailableInResponsePhase(String policyType, String phase) {
-        return (VERIFY_API_KEY.equals(policyType) || VERIFY_JWT.equals(policyType) || SPIKE_ARREST.equals(policyType)) && RESPONSE.equals(phase);
+        return (VERIFY_API_KEY.equals(policyType) || VERIFY_JWT.equals(policyType) || SPIKE_ARREST.equals(policyType) || QUOTA.equals(policyType)
+                // The cache policy of Gravitee handles both the lookup and the population of the ResponseCache in the request phase
+                || RESPONSE_CACHE.equals(policyType)) && RESPONSE.equals(phase);
     }
 
-    private void collectJwtOrApiKeyPolicies(String policyType) {
+    private void collectJwtOrApiKeyPolicies(String policyType, MigrationContext migrationContext) {
         if (VERIFY_JWT.equals(policyType) || VERIFY_API_KEY.equals(policyType)) {
-            collectedPolicies.add(policyType);
+            migrationContext.addSecurityPolicy(policyType);
         }
     }
 
-    private void collectCachePolicies(String policyType, Document apiGeePolicy) {
-        if (LOOKUP_CACHE.equals(policyType) || POPULATE_CACHE.equalsIgnoreCase(policyType)) {
-            cachePolicies.add(apiGeePolicy);
+    private void collectCachePolicies(String policyType, Document apiGeePolicy, MigrationContext migrationContext) throws XPathExpressionException {
+        var isLookupCache = LOOKUP_CACHE.equals(policyType);
+        if (!isLookupCache && !POPULATE_CACHE.equalsIgnoreCase(policyType) && !RESPONSE_CACHE.equals(policyType)) {
+            return;
         }
+
+        // The resource is resolved while the policy is converted, the policy document is not read once the flows are converted.
+        // The warnings about the expiry are reported by the policy converters.
+        var cacheName = cacheResourceName(xPath.evaluate("/*/CacheResource", apiGeePolicy));
+        long timeToLive = 0;
+        if (!isLookupCache) {
+            timeToLive = CacheExpiryUtil.resolveTimeToLiveSeconds(xPath, apiGeePolicy, warning -> {});
+            if (timeToLive == CacheExpiryUtil.NO_EXPIRY) {
+                timeToLive = Long.MAX_VALUE;
+            }
+        }
+        migrationContext.addCacheResource(cacheName, timeToLive);
     }
 
-    private void applyConverter(String policyType, String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, String currentFolderLocation) {
+    private void applyConverter(String policyType, String condition, Document apiGeePolicy, ArrayNode phaseArray, String phase, String currentFolderLocation, MigrationContext migrationContext) {
         try {
-            // Map that contains the condition mappings from apiGee to Gravitee
-            Map<String, String> conditionMappings = graviteeELTranslator.getConditionMappings();
+            // Map that contains the condition mappings from apiGee to Gravitee, as they were when the migration started
+            Map<String, String> conditionMappings = migrationContext.getConditionMappings();
 
-            // Find the converter that supports the given policy type
-            var converter = getConverter(policyType);
+            // Find the converter of the given policy type
+            var converter = policyConverterRegistry.getConverter(policyType);
+            if (converter == null) {
+                throw new IllegalArgumentException("No converter found for policy type: " + policyType);
+            }
 
             // Convert the policy using the correct converter
-            if (converter != null) {
-                converter.convert(condition, apiGeePolicy, phaseArray, phase, conditionMappings);
-            } else {
-                // Used for converting policies that require the current folder location (e.g., JavaScript, XSLT, FlowCallout)
-                var advancedPolicyConverter = getAdvancedPolicyConverter(policyType);
-                advancedPolicyConverter.convert(condition, apiGeePolicy, phaseArray, phase, conditionMappings, currentFolderLocation);
-            }
+            converter.convert(condition, apiGeePolicy, phaseArray, phase, conditionMappings, currentFolderLocation, migrationContext);
         } catch (Exception e) {
-            // Log the error if the converter fails
-            log.warn(e.getMessage());
+            // Report the error if the converter fails
+            migrationContext.addWarning(e.getMessage());
         }
     }
-
-    private PolicyConverter getConverter(String policyType) {
-        return policyConverters.stream()
-                .filter(converter -> converter.supports(policyType))
-                .findFirst()
-                .orElse(null);
-    }
-
-    private AdvancedPolicyConverter getAdvancedPolicyConverter(String policyType) {
-        return advancedPolicyConverters.stream()
-                .filter(converter -> converter.supports(policyType))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("No converter found for policy type: " + policyType));
-    }
 }
@@ -0,0 +1,49 @@
+package com.gravitee.migration.converter.condition;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ConditionElEmitterTests {
+
+	@Test
+	void emitsComparisonsOfWellKnownVariables() {
+		assertEquals("{#request.method == \"GET\"}", emit("request.verb = \"GET\""));
+		assertEquals("{#request.headers['X-Id'][0] != \"\"}", emit("request.header.X-Id != \"\""));
+		assertEquals("{#context.attributes['custom'] == true}", emit("custom"));
+	}
+
+	@Test
+	void keepsPrecedenceWithParentheses() {
+		assertEquals("{#request.method == \"GET\" || #request.method == \"HEAD\" && #response.status == 200}",
+				emit("request.verb = \"GET\" or request.verb = \"HEAD\" and response.status.code = 200"));
+		assertEquals("{(#request.method == \"GET\" || #request.method == \"HEAD\") && #response.status == 200}",
+				emit("(request.verb = \"GET\" or request.verb = \"HEAD\") and response.status.code = 200"));
+	}
+
+	@Test
+	void emitsNegations() {
+		assertEquals("{!(#request.method == \"GET\")}", emit("not request.verb = \"GET\""));
+		assertEquals("{!(#request.pathInfo matches '/a/[^/]*')}", emit("proxy.pathsuffix !MatchesPath \"/a/*\""));
+	}
+
+	@Test
+	void convertsPatternsToRegularExpressions() {
+		assertEquals("{#request.pathInfo matches '/a/[^/]*/b/.*'}", emit("proxy.pathsuffix MatchesPath \"/a/*/b/**\""));
+		assertEquals("{#request.pathInfo matches '/a/.*'}", emit("proxy.pathsuffix ~/ \"/a/**\""));
+		assertEquals("{#request.uri matches '^/a\\d+$'}", emit("request.uri JavaRegex \"^/a\\d+$\""));
+		assertEquals("{#request.uri matches '/a.*\\.json'}", emit("request.uri ~ \"/a*.json\""));
+	}
+
+	@Test
+	void compileFallsBackOnUnparsableConditions() {
+		assertNull(ConditionCompiler.compile("request.verb = \"GET"));
+		assertNull(ConditionCompiler.compile("request.verb = = \"GET\""));
+		assertEquals("{#request.method == \"GET\"}", ConditionCompiler.compile("(request.verb = \"GET\")"));
+	}
+
+	private String emit(String condition) {
+		return ConditionElEmitter.emit(ConditionParser.parse(condition));
+	}
+}
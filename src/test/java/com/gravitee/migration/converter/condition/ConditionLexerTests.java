@@ -0,0 +1,49 @@
+package com.gravitee.migration.converter.condition;
+
+import com.gravitee.migration.converter.condition.ConditionLexer.Token;
+import com.gravitee.migration.converter.condition.ConditionLexer.TokenType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConditionLexerTests {
+
+	@Test
+	void tokenizesWordsOperatorsAndStrings() {
+		List<Token> tokens = ConditionLexer.tokenize("(request.verb = \"GET\") and proxy.pathsuffix MatchesPath '/a/*'");
+
+		assertEquals(List.of(
+				new Token(TokenType.OPENING_PARENTHESIS, "("),
+				new Token(TokenType.WORD, "request.verb"),
+				new Token(TokenType.OPERATOR, "="),
+				new Token(TokenType.STRING, "GET"),
+				new Token(TokenType.CLOSING_PARENTHESIS, ")"),
+				new Token(TokenType.WORD, "and"),
+				new Token(TokenType.WORD, "proxy.pathsuffix"),
+				new Token(TokenType.WORD, "MatchesPath"),
+				new Token(TokenType.STRING, "/a/*")), tokens);
+	}
+
+	@Test
+	void tokenizesSymbolicOperators() {
+		assertEquals(new Token(TokenType.OPERATOR, ":="), ConditionLexer.tokenize("a := \"b\"").get(1));
+		assertEquals(new Token(TokenType.OPERATOR, "~~"), ConditionLexer.tokenize("a ~~ \"b\"").get(1));
+		assertEquals(new Token(TokenType.OPERATOR, "!~"), ConditionLexer.tokenize("a !~ \"b\"").get(1));
+		assertEquals(new Token(TokenType.OPERATOR, "=|"), ConditionLexer.tokenize("a =| \"b\"").get(1));
+		// ~/ is the short form of MatchesPath, the slash is part of the operator
+		assertEquals(new Token(TokenType.OPERATOR, "~/"), ConditionLexer.tokenize("a ~/ \"/b\"").get(1));
+	}
+
+	@Test
+	void keepsEscapesInsideStrings() {
+		assertEquals(new Token(TokenType.STRING, "a\\\"b"), ConditionLexer.tokenize("\"a\\\"b\"").getFirst());
+	}
+
+	@Test
+	void rejectsUnterminatedStrings() {
+		assertThrows(IllegalArgumentException.class, () -> ConditionLexer.tokenize("request.verb = \"GET"));
+	}
+}
@@ -0,0 +1,62 @@
+package com.gravitee.migration.converter.condition;
+
+import com.gravitee.migration.converter.condition.ConditionNode.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConditionParserTests {
+
+	private static final Comparison A = new Comparison(new Variable("a"), Operator.EQUALS, new Literal("1", false));
+	private static final Comparison B = new Comparison(new Variable("b"), Operator.EQUALS, new Literal("2", false));
+	private static final Comparison C = new Comparison(new Variable("c"), Operator.EQUALS, new Literal("3", false));
+
+	@Test
+	void andBindsTighterThanOr() {
+		assertEquals(new Or(A, new And(B, C)), ConditionParser.parse("a = 1 or b = 2 and c = 3"));
+		assertEquals(new Or(new And(A, B), C), ConditionParser.parse("a = 1 && b = 2 || c = 3"));
+	}
+
+	@Test
+	void parenthesesOverridePrecedence() {
+		assertEquals(new And(new Or(A, B), C), ConditionParser.parse("(a = 1 OR b = 2) AND c = 3"));
+	}
+
+	@Test
+	void parsesNegations() {
+		assertEquals(new Not(A), ConditionParser.parse("not a = 1"));
+		assertEquals(new And(new Not(new Or(A, B)), C), ConditionParser.parse("!(a = 1 or b = 2) and c = 3"));
+		assertEquals(new Not(new Comparison(new Variable("a"), Operator.MATCHES_PATH, new Literal("/x", true))),
+				ConditionParser.parse("a !MatchesPath \"/x\""));
+		assertEquals(new Not(new Comparison(new Variable("a"), Operator.JAVA_REGEX, new Literal("x.*", true))),
+				ConditionParser.parse("a !~~ \"x.*\""));
+	}
+
+	@Test
+	void parsesPatternOperators() {
+		assertEquals(new Comparison(new Variable("proxy.pathsuffix"), Operator.MATCHES_PATH, new Literal("/a/**", true)),
+				ConditionParser.parse("proxy.pathsuffix MatchesPath \"/a/**\""));
+		assertEquals(new Comparison(new Variable("proxy.pathsuffix"), Operator.MATCHES_PATH, new Literal("/a/**", true)),
+				ConditionParser.parse("proxy.pathsuffix ~/ \"/a/**\""));
+		assertEquals(new Comparison(new Variable("request.uri"), Operator.JAVA_REGEX, new Literal("^/a.*", true)),
+				ConditionParser.parse("request.uri JavaRegex \"^/a.*\""));
+		assertEquals(new Comparison(new Variable("request.uri"), Operator.MATCHES, new Literal("/a*", true)),
+				ConditionParser.parse("request.uri ~ \"/a*\""));
+	}
+
+	@Test
+	void parsesOperands() {
+		assertEquals(new Truthy(new Variable("flag")), ConditionParser.parse("flag"));
+		assertEquals(new Comparison(new Variable("a"), Operator.NOT_EQUALS, new NullLiteral()), ConditionParser.parse("a != null"));
+		assertEquals(new Comparison(new Variable("a"), Operator.EQUALS, new BooleanLiteral(true)), ConditionParser.parse("a = true"));
+	}
+
+	@Test
+	void rejectsInvalidConditions() {
+		assertThrows(IllegalArgumentException.class, () -> ConditionParser.parse(""));
+		assertThrows(IllegalArgumentException.class, () -> ConditionParser.parse("(a = 1"));
+		assertThrows(IllegalArgumentException.class, () -> ConditionParser.parse("a = 1 b"));
+		assertThrows(IllegalArgumentException.class, () -> ConditionParser.parse("a = and"));
+	}
+}
@@ -0,0 +1,58 @@
+package com.gravitee.migration.converter.condition;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PathSelectorTests {
+
+	@Test
+	void lowersLiteralPathsToEquals() {
+		assertEquals(Optional.of(new PathSelector("/projects", "EQUALS")), PathSelector.fromPattern("/projects"));
+		assertEquals(Optional.of(new PathSelector("/", "EQUALS")), PathSelector.fromPattern("/"));
+		assertEquals(Optional.of(new PathSelector("/v1.0/projects", "EQUALS")), PathSelector.fromPattern("/v1\\.0/projects"));
+	}
+
+	@Test
+	void lowersSegmentWildcardsToPathParameters() {
+		assertEquals(Optional.of(new PathSelector("/projects/:param1/tasks/:param2", "EQUALS")),
+				PathSelector.fromPattern("/projects/[^/]*/tasks/[^/]*"));
+	}
+
+	@Test
+	void lowersTrailingMultiSegmentWildcardsBelowThePath() {
+		// /projects/.* matches /projects/1 but not /projectsX, so the selector keeps the trailing separator
+		assertEquals(Optional.of(new PathSelector("/projects/", "STARTS_WITH")), PathSelector.fromPattern("/projects/.*"));
+		assertEquals(Optional.of(new PathSelector("/projects/:param1/", "STARTS_WITH")), PathSelector.fromPattern("/projects/[^/]*/.*"));
+		assertEquals(Optional.of(new PathSelector("/", "STARTS_WITH")), PathSelector.fromPattern("/.*"));
+	}
+
+	@Test
+	void keepsRegularExpressionsInTheCondition() {
+		assertEquals(Optional.empty(), PathSelector.fromPattern("/projects/.*/tasks"));
+		assertEquals(Optional.empty(), PathSelector.fromPattern("/projects/(a|b)"));
+		assertEquals(Optional.empty(), PathSelector.fromPattern("projects"));
+	}
+
+	@Test
+	void detectsOverlappingSelectors() {
+		PathSelector projects = new PathSelector("/projects/", "STARTS_WITH");
+
+		assertTrue(projects.overlaps(new PathSelector("/projects/:param1/tasks", "EQUALS")));
+		assertTrue(new PathSelector("/projects/:param1/tasks", "EQUALS").overlaps(projects));
+		assertTrue(projects.overlaps(new PathSelector("/projects/archive/", "STARTS_WITH")));
+		assertTrue(new PathSelector("/projects/:param1", "EQUALS").overlaps(new PathSelector("/projects/archive", "EQUALS")));
+		assertTrue(new PathSelector("/", "STARTS_WITH").overlaps(new PathSelector("/users", "EQUALS")));
+	}
+
+	@Test
+	void detectsDisjointSelectors() {
+		assertFalse(new PathSelector("/projects/", "STARTS_WITH").overlaps(new PathSelector("/users/", "STARTS_WITH")));
+		assertFalse(new PathSelector("/projects", "EQUALS").overlaps(new PathSelector("/users", "EQUALS")));
+		assertFalse(new PathSelector("/projects/:param1", "EQUALS").overlaps(new PathSelector("/projects/:param1/tasks", "EQUALS")));
+	}
+}
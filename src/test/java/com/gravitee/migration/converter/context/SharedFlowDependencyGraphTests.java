@@ -0,0 +1,51 @@
+package com.gravitee.migration.converter.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SharedFlowDependencyGraphTests {
+
+	@Test
+	void convertsDiamondLeavesFirst() {
+		SharedFlowDependencyGraph graph = SharedFlowDependencyGraph.of(Map.of(
+				"a", Set.of("b", "c"),
+				"b", Set.of("d"),
+				"c", Set.of("d"),
+				"d", Set.of()));
+
+		// The shared flow called twice is converted once, before both callers
+		assertEquals(List.of(List.of("d"), List.of("b", "c"), List.of("a")), graph.getLevels());
+		assertEquals(List.of(), graph.getCyclicSharedFlows());
+		assertEquals(List.of(), graph.getCycles());
+	}
+
+	@Test
+	void convertsCyclesAfterTheLevels() {
+		SharedFlowDependencyGraph graph = SharedFlowDependencyGraph.of(Map.of(
+				"a", Set.of("b"),
+				"b", Set.of("a", "d"),
+				"c", Set.of("a"),
+				"d", Set.of()));
+
+		assertEquals(List.of(List.of("d")), graph.getLevels());
+		// c is not part of the cycle, but it calls a shared flow of the cycle
+		assertEquals(List.of("a", "b", "c"), graph.getCyclicSharedFlows());
+		assertEquals(List.of(List.of("a", "b", "a")), graph.getCycles());
+	}
+
+	@Test
+	void reportsSelfReferences() {
+		SharedFlowDependencyGraph graph = SharedFlowDependencyGraph.of(Map.of(
+				"a", Set.of("a"),
+				"b", Set.of()));
+
+		assertEquals(List.of(List.of("b")), graph.getLevels());
+		assertEquals(List.of("a"), graph.getCyclicSharedFlows());
+		assertEquals(List.of(List.of("a", "a")), graph.getCycles());
+	}
+}
@@ -0,0 +1,87 @@
+package com.gravitee.migration.converter.object;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FlowExecutionConverterTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final FlowExecutionConverter flowExecutionConverter = new FlowExecutionConverter();
+
+	@Test
+	void pathOnlyFlowsUseBestMatch() throws Exception {
+		ObjectNode apiNode = objectMapper.createObjectNode();
+		ArrayNode flowsArray = flows(
+				flow("Projects-Request", "/projects", "STARTS_WITH"),
+				flow("Tasks-Request", "/projects/tasks", "EQUALS"),
+				flow("Projects-Response", "/projects", "STARTS_WITH"));
+
+		flowExecutionConverter.mapFlowExecution(apiNode, flowsArray, false);
+
+		assertEquals("BEST_MATCH", apiNode.path("flowExecution").path("mode").asText());
+		// The flows of the same path are merged, the most specific path first
+		assertEquals(List.of("Tasks-Request", "Projects"), flowNames(flowsArray));
+	}
+
+	@Test
+	void routeRuleFlowsUseDefaultMode() throws Exception {
+		ObjectNode apiNode = objectMapper.createObjectNode();
+		// RouteRule with a path condition, its flow sends the requests under /a to another target
+		ArrayNode flowsArray = flows(
+				flow("AB-Request", "/a/b", "EQUALS"),
+				flow("TargetA-flow", "/a", "STARTS_WITH"));
+
+		flowExecutionConverter.mapFlowExecution(apiNode, flowsArray, true);
+
+		// A request to /a/b runs both flows, so it is routed to the target of the RouteRule
+		assertEquals("DEFAULT", apiNode.path("flowExecution").path("mode").asText());
+		assertEquals(List.of("AB-Request", "TargetA-flow"), flowNames(flowsArray));
+	}
+
+	@Test
+	void unconditionalFlowsUseDefaultMode() throws Exception {
+		ObjectNode apiNode = objectMapper.createObjectNode();
+		ArrayNode flowsArray = flows(
+				flow("PreFlow-Request", "/", "STARTS_WITH"),
+				flow("AB-Request", "/a/b", "EQUALS"));
+
+		flowExecutionConverter.mapFlowExecution(apiNode, flowsArray, false);
+
+		assertEquals("DEFAULT", apiNode.path("flowExecution").path("mode").asText());
+		assertEquals(List.of("PreFlow-Request", "AB-Request"), flowNames(flowsArray));
+	}
+
+	private ArrayNode flows(JsonNode... flows) {
+		ArrayNode flowsArray = objectMapper.createArrayNode();
+		for (JsonNode flow : flows) {
+			flowsArray.add(flow);
+		}
+		return flowsArray;
+	}
+
+	private JsonNode flow(String name, String path, String pathOperator) throws Exception {
+		String phase = name.endsWith("-Response") ? "response" : "request";
+		return objectMapper.readTree("""
+				{
+				  "name": "%s",
+				  "enabled": true,
+				  "selectors": [ { "type": "HTTP", "path": "%s", "pathOperator": "%s" } ],
+				  "%s": [ { "name": "%s-step", "enabled": true } ]
+				}
+				""".formatted(name, path, pathOperator, phase, name));
+	}
+
+	private List<String> flowNames(ArrayNode flowsArray) {
+		List<String> names = new ArrayList<>();
+		flowsArray.forEach(flow -> names.add(flow.path("name").asText()));
+		return names;
+	}
+}
@@ -0,0 +1,93 @@
+package com.gravitee.migration.converter.policy.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gravitee.migration.converter.condition.ConditionCanonicalizer;
+import com.gravitee.migration.converter.context.MigrationContext;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageLoggingConverterTests {
+
+	private static final String MESSAGE_LOGGING = """
+			<MessageLogging name="Log-Request">
+			    <Syslog>
+			        <Message>{request.uri}</Message>
+			        <Host>logs.example.com</Host>
+			        <Port>514</Port>
+			    </Syslog>
+			</MessageLogging>
+			""";
+
+	private final XPath xPath = XPathFactory.newInstance().newXPath();
+	private final MessageLoggingConverter messageLoggingConverter = new MessageLoggingConverter(xPath);
+	private final SharedFlowConverter sharedFlowConverter = new SharedFlowConverter(xPath);
+
+	@Test
+	void stepConditionIsCombinedWithFlowCondition() throws Exception {
+		var migrationContext = new MigrationContext(Map.of(), Map.of());
+		migrationContext.setFlowCondition("request.verb = \"POST\"");
+
+		messageLoggingConverter.convert("response.status.code >= 500", parse(MESSAGE_LOGGING), null, "response", Map.of(), null, migrationContext);
+
+		assertEquals(Set.of("{(#request.method == \"POST\") && (#response.status >= 500)}"), migrationContext.getMessageLoggingConditions());
+	}
+
+	@Test
+	void multiBraceMappingIsUnwrapped() throws Exception {
+		var condition = "request.verb == \"OPTIONS\" AND request.header.origin != null";
+		var mappings = Map.of(ConditionCanonicalizer.canonicalize(condition), "{#request.method == 'OPTIONS'} && {#context.request.headers['origin'] != null}");
+		var migrationContext = new MigrationContext(mappings, Map.of());
+		migrationContext.setFlowCondition("proxy.pathsuffix MatchesPath \"/cors\"");
+
+		messageLoggingConverter.convert(condition, parse(MESSAGE_LOGGING), null, "response", mappings, null, migrationContext);
+
+		var loggingCondition = migrationContext.getMessageLoggingConditions().iterator().next();
+		assertTrue(loggingCondition.endsWith(" && ((#request.method == 'OPTIONS') && (#context.request.headers['origin'] != null))}"), loggingCondition);
+	}
+
+	@Test
+	void untranslatableConditionIsSkipped() throws Exception {
+		var migrationContext = new MigrationContext(Map.of(), Map.of());
+
+		messageLoggingConverter.convert("request.verb = ", parse(MESSAGE_LOGGING), null, "response", Map.of(), null, migrationContext);
+
+		assertTrue(migrationContext.getMessageLoggingConditions().isEmpty());
+		assertTrue(migrationContext.getWarnings().getFirst().contains("can't be translated"));
+	}
+
+	@Test
+	void sharedPolicyGroupConditionsApplyWhenTheFlowCalloutIsExecuted() throws Exception {
+		var sharedFlowContext = new MigrationContext(Map.of(), Map.of());
+		messageLoggingConverter.convert(null, parse(MESSAGE_LOGGING), null, "request", Map.of(), null, sharedFlowContext);
+		var batchContext = new MigrationContext(Map.of(), Map.of());
+		batchContext.mergeSharedPolicyGroup("Logging-Request", sharedFlowContext);
+
+		// The shared policy groups don't log the requests of the apis not referencing them
+		var migrationContext = new MigrationContext(batchContext);
+		assertTrue(migrationContext.getMessageLoggingConditions().isEmpty());
+
+		migrationContext.setFlowCondition("request.verb = \"POST\"");
+		sharedFlowConverter.convert(null, parse("""
+				<FlowCallout name="Call-Logging">
+				    <SharedFlowBundle>Logging</SharedFlowBundle>
+				</FlowCallout>
+				"""), new ObjectMapper().createArrayNode(), "request", Map.of(), migrationContext);
+
+		assertEquals(Set.of("{#request.method == \"POST\"}"), migrationContext.getMessageLoggingConditions());
+	}
+
+	private Document parse(String policy) throws Exception {
+		return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(policy)));
+	}
+}
@@ -0,0 +1,88 @@
+package com.gravitee.migration.converter.policy.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuotaConverterTests {
+
+	private final QuotaConverter quotaConverter = new QuotaConverter(XPathFactory.newInstance().newXPath());
+
+	@Test
+	void staticCountIsTheLimit() throws Exception {
+		JsonNode quota = convert("""
+				<Quota name="Quota">
+				    <Allow count="100"/>
+				    <Interval>1</Interval>
+				    <TimeUnit>day</TimeUnit>
+				</Quota>
+				""");
+
+		assertEquals(100, quota.path("limit").asInt());
+		assertTrue(quota.path("dynamicLimit").isMissingNode());
+	}
+
+	@Test
+	void countReferenceFallsBackToTheCount() throws Exception {
+		JsonNode quota = convert("""
+				<Quota name="Quota">
+				    <Allow count="100" countRef="verifyapikey.Verify-API-Key.apiproduct.developer.quota.limit"/>
+				    <Interval>1</Interval>
+				    <TimeUnit>day</TimeUnit>
+				</Quota>
+				""");
+
+		// The gateway only reads the dynamic limit when the limit is 0
+		assertEquals(0, quota.path("limit").asInt());
+		assertTrue(quota.path("dynamicLimit").asText().endsWith(" : 100)}"));
+	}
+
+	@Test
+	void countReferenceWithoutCountIsOnlyDynamic() throws Exception {
+		JsonNode quota = convert("""
+				<Quota name="Quota">
+				    <Allow countRef="quota.limit"/>
+				    <Interval>1</Interval>
+				    <TimeUnit>day</TimeUnit>
+				</Quota>
+				""");
+
+		assertEquals(0, quota.path("limit").asInt());
+		assertEquals("{#context.attributes['quota.limit']}", quota.path("dynamicLimit").asText());
+	}
+
+	@Test
+	void weightedCountIsADynamicLimit() throws Exception {
+		JsonNode quota = convert("""
+				<Quota name="Quota">
+				    <Allow count="100"/>
+				    <Interval>1</Interval>
+				    <TimeUnit>day</TimeUnit>
+				    <MessageWeight ref="weight"/>
+				</Quota>
+				""");
+
+		assertEquals(0, quota.path("limit").asInt());
+		assertTrue(quota.path("dynamicLimit").asText().endsWith(" : 100}"));
+	}
+
+	private JsonNode convert(String policy) throws Exception {
+		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(policy)));
+		ArrayNode phaseArray = new ObjectMapper().createArrayNode();
+
+		quotaConverter.convert(null, document, phaseArray, "request", Map.of(), null, new MigrationContext(Map.of(), Map.of()));
+		return phaseArray.get(0).path("configuration").path("quota");
+	}
+}
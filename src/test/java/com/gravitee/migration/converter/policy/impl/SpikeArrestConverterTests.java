@@ -0,0 +1,59 @@
+package com.gravitee.migration.converter.policy.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.gravitee.migration.converter.context.MigrationContext;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpikeArrestConverterTests {
+
+	private final SpikeArrestConverter spikeArrestConverter = new SpikeArrestConverter(XPathFactory.newInstance().newXPath());
+
+	@Test
+	void staticRateIsTheLimit() throws Exception {
+		JsonNode rate = convert("""
+				<SpikeArrest name="Spike-Arrest">
+				    <Rate>30pm</Rate>
+				</SpikeArrest>
+				""");
+
+		assertEquals(30, rate.path("limit").asInt());
+		assertTrue(rate.path("dynamicLimit").isMissingNode());
+	}
+
+	@Test
+	void weightedRateIsADynamicLimit() throws Exception {
+		JsonNode rate = convert("""
+				<SpikeArrest name="Spike-Arrest">
+				    <Rate>30pm</Rate>
+				    <MessageWeight ref="weight"/>
+				</SpikeArrest>
+				""");
+
+		// The gateway only reads the dynamic limit when the limit is 0
+		assertEquals(0, rate.path("limit").asInt());
+		var dynamicLimit = rate.path("dynamicLimit").asText();
+		assertTrue(dynamicLimit.contains(": 30}"));
+		assertFalse(dynamicLimit.contains("T("));
+	}
+
+	private JsonNode convert(String policy) throws Exception {
+		Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(new StringReader(policy)));
+		ArrayNode phaseArray = new ObjectMapper().createArrayNode();
+
+		spikeArrestConverter.convert(null, document, phaseArray, "request", Map.of(), null, new MigrationContext(Map.of(), Map.of()));
+		return phaseArray.get(0).path("configuration").path("spike");
+	}
+}
@@ -0,0 +1,168 @@
+package com.gravitee.migration.infrastructure.configuration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the cost of evaluating the converter expressions with a plain XPath (compiled on every call)
+ * and with the {@link PooledXPath} bean (compiled once per pooled instance), on a single thread and on a
+ * virtual thread per policy like the batch migration.
+ * Run with: mvn test -Dtest=PooledXPathBenchmarkTests -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PooledXPathBenchmarkTests {
+
+	private static final int POLICY_COUNT = 400;
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int MEASURED_ROUNDS = 20;
+	private static final XPathFactory X_PATH_FACTORY = XPathFactory.newInstance();
+
+	// Expressions evaluated by the JSONToXML converter for every policy
+	private static final List<String> EXPRESSIONS = List.of(
+			"/JSONToXML/@name",
+			"/JSONToXML/Options/NullValue",
+			"/JSONToXML/Options/NamespaceBlockName",
+			"/JSONToXML/Options/DefaultNamespaceNodeName",
+			"/JSONToXML/Options/NamespaceSeparator",
+			"/JSONToXML/Options/TextNodeName",
+			"/JSONToXML/Options/AttributeBlockName",
+			"/JSONToXML/Options/AttributePrefix",
+			"/JSONToXML/Options/InvalidCharsReplacement",
+			"/JSONToXML/Options/ObjectRootElementName",
+			"/JSONToXML/Options/ArrayRootElementName",
+			"/JSONToXML/Options/ArrayItemElementName"
+	);
+
+	@Test
+	void compareXPathEvaluation() throws Exception {
+		List<Document> bundle = createBundle();
+		XPath plainXPath = XPathFactory.newInstance().newXPath();
+		XPath pooledXPath = new PooledXPath();
+
+		assertEquals(evaluateBundle(plainXPath, bundle), evaluateBundle(pooledXPath, bundle));
+
+		long plainNanos = measure(() -> evaluateBundle(plainXPath, bundle));
+		long pooledNanos = measure(() -> evaluateBundle(pooledXPath, bundle));
+
+		printResults("single thread", "plain XPath (compiled per call)", plainNanos, pooledNanos);
+	}
+
+	@Test
+	void compareBatchXPathEvaluation() throws Exception {
+		List<Document> bundle = createBundle();
+		XPath pooledXPath = new PooledXPath();
+
+		List<String> expectedValues = evaluateBundle(XPathFactory.newInstance().newXPath(), bundle);
+		assertEquals(expectedValues, evaluateBatch(null, bundle));
+		assertEquals(expectedValues, evaluateBatch(pooledXPath, bundle));
+
+		long perThreadNanos = measure(() -> evaluateBatch(null, bundle));
+		long pooledNanos = measure(() -> evaluateBatch(pooledXPath, bundle));
+
+		printResults("virtual thread per policy", "XPath per thread (compiled per thread)", perThreadNanos, pooledNanos);
+	}
+
+	private interface Round {
+		List<String> run() throws Exception;
+	}
+
+	private long measure(Round round) throws Exception {
+		for (int i = 0; i < WARMUP_ROUNDS; i++) {
+			round.run();
+		}
+
+		long start = System.nanoTime();
+		for (int i = 0; i < MEASURED_ROUNDS; i++) {
+			round.run();
+		}
+		return (System.nanoTime() - start) / MEASURED_ROUNDS;
+	}
+
+	private void printResults(String mode, String baseline, long baselineNanos, long pooledNanos) {
+		long evaluations = (long) POLICY_COUNT * EXPRESSIONS.size();
+		System.out.printf("XPath benchmark (%s): %d policies, %d evaluations per round%n", mode, POLICY_COUNT, evaluations);
+		System.out.printf("  %-40s: %8.3f ms/round, %6.0f ns/evaluation%n", baseline, baselineNanos / 1e6, (double) baselineNanos / evaluations);
+		System.out.printf("  %-40s: %8.3f ms/round, %6.0f ns/evaluation%n", "PooledXPath (compiled per pooled XPath)", pooledNanos / 1e6, (double) pooledNanos / evaluations);
+		System.out.printf("  %-40s: %8.2fx%n", "speedup", (double) baselineNanos / pooledNanos);
+	}
+
+	/**
+	 * Evaluates every policy on its own virtual thread, with the shared XPath or, when it is null, with an XPath
+	 * created for the thread (a registry of compiled expressions per thread starts empty on every virtual thread).
+	 */
+	private List<String> evaluateBatch(XPath sharedXPath, List<Document> bundle) throws Exception {
+		List<String> values = new ArrayList<>(bundle.size() * EXPRESSIONS.size());
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			List<Future<List<String>>> futures = new ArrayList<>(bundle.size());
+			for (Document policy : bundle) {
+				futures.add(executor.submit(() -> {
+					XPath xPath = sharedXPath != null ? sharedXPath : newXPath();
+					return evaluateBundle(xPath, List.of(policy));
+				}));
+			}
+			for (Future<List<String>> future : futures) {
+				values.addAll(future.get());
+			}
+		}
+		return values;
+	}
+
+	private List<String> evaluateBundle(XPath xPath, List<Document> bundle) throws Exception {
+		List<String> values = new ArrayList<>(bundle.size() * EXPRESSIONS.size());
+		for (Document policy : bundle) {
+			for (String expression : EXPRESSIONS) {
+				values.add(xPath.evaluate(expression, policy));
+			}
+		}
+		return values;
+	}
+
+	private XPath newXPath() {
+		synchronized (X_PATH_FACTORY) {
+			return X_PATH_FACTORY.newXPath();
+		}
+	}
+
+	private List<Document> createBundle() throws Exception {
+		var builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+		List<Document> bundle = new ArrayList<>(POLICY_COUNT);
+
+		for (int i = 0; i < POLICY_COUNT; i++) {
+			String policy = """
+					<JSONToXML async="false" continueOnError="false" enabled="true" name="JSON-to-XML-%d">
+					    <Options>
+					        <NullValue>NULL</NullValue>
+					        <NamespaceBlockName>#namespaces</NamespaceBlockName>
+					        <DefaultNamespaceNodeName>$default</DefaultNamespaceNodeName>
+					        <NamespaceSeparator>:</NamespaceSeparator>
+					        <TextNodeName>#text</TextNodeName>
+					        <AttributeBlockName>#attrs</AttributeBlockName>
+					        <AttributePrefix>@</AttributePrefix>
+					        <InvalidCharsReplacement>_</InvalidCharsReplacement>
+					        <ObjectRootElementName>Root</ObjectRootElementName>
+					        <ArrayRootElementName>Array</ArrayRootElementName>
+					        <ArrayItemElementName>Item</ArrayItemElementName>
+					    </Options>
+					    <OutputVariable>request</OutputVariable>
+					    <Source>request</Source>
+					</JSONToXML>
+					""".formatted(i);
+			bundle.add(builder.parse(new InputSource(new StringReader(policy))));
+		}
+		return bundle;
+	}
+}
@@ -0,0 +1,52 @@
+package com.gravitee.migration.util;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GraviteeCliUtilsTests {
+
+	@Test
+	void unconditionalFlowsMatchEveryPath() {
+		List<ArrayNode> flowSelectors = GraviteeCliUtils.constructFlowSelectors(null, Map.of());
+
+		assertEquals(1, flowSelectors.size());
+		assertEquals("[{\"type\":\"HTTP\",\"path\":\"/\",\"pathOperator\":\"STARTS_WITH\"}]", flowSelectors.getFirst().toString());
+	}
+
+	@Test
+	void lowersPathAndMethodToHttpSelector() {
+		List<ArrayNode> flowSelectors = GraviteeCliUtils.constructFlowSelectors(
+				"(proxy.pathsuffix MatchesPath \"/projects/**\") and (request.verb = \"GET\")", Map.of());
+
+		assertEquals(1, flowSelectors.size());
+		assertEquals("[{\"type\":\"HTTP\",\"path\":\"/projects/\",\"pathOperator\":\"STARTS_WITH\",\"methods\":[\"GET\"]}]",
+				flowSelectors.getFirst().toString());
+	}
+
+	@Test
+	void splitsDisjointPathsIntoOneFlowPerPath() {
+		List<ArrayNode> flowSelectors = GraviteeCliUtils.constructFlowSelectors(
+				"proxy.pathsuffix MatchesPath \"/projects\" or proxy.pathsuffix MatchesPath \"/users/*\"", Map.of());
+
+		assertEquals(2, flowSelectors.size());
+		assertEquals("[{\"type\":\"HTTP\",\"path\":\"/projects\",\"pathOperator\":\"EQUALS\"}]", flowSelectors.get(0).toString());
+		assertEquals("[{\"type\":\"HTTP\",\"path\":\"/users/:param1\",\"pathOperator\":\"EQUALS\"}]", flowSelectors.get(1).toString());
+	}
+
+	@Test
+	void keepsOverlappingPathsInOneFlow() {
+		// A request to /projects/1/tasks matches both paths, the steps must run once
+		List<ArrayNode> flowSelectors = GraviteeCliUtils.constructFlowSelectors(
+				"proxy.pathsuffix MatchesPath \"/projects/**\" or proxy.pathsuffix MatchesPath \"/projects/*/tasks\"", Map.of());
+
+		assertEquals(1, flowSelectors.size());
+		assertEquals("[{\"type\":\"HTTP\",\"path\":\"/\",\"pathOperator\":\"STARTS_WITH\"},"
+						+ "{\"type\":\"CONDITION\",\"condition\":\"{#request.pathInfo matches '/projects/.*' || #request.pathInfo matches '/projects/[^/]*/tasks'}\"}]",
+				flowSelectors.getFirst().toString());
+	}
+}
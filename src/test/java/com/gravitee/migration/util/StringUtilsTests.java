@@ -0,0 +1,28 @@
+package com.gravitee.migration.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StringUtilsTests {
+
+	@Test
+	void unwrapsWrappedExpression() {
+		assertEquals("#request.method == 'GET'", StringUtils.unwrapExpression(" {#request.method == 'GET'} "));
+		assertEquals("#request.method == 'GET'", StringUtils.unwrapExpression("#request.method == 'GET'"));
+	}
+
+	@Test
+	void unwrapsEveryPartOfMultiBraceExpression() {
+		// Value of the OPTIONS preflight mapping of apigee-to-gravitee-el.txt
+		var expression = "{#request.method == 'OPTIONS'} && {#context.request.headers['origin'] != null} && {#context.request.headers['Access-Control-Request-Method'] != null}";
+
+		assertEquals("(#request.method == 'OPTIONS') && (#context.request.headers['origin'] != null) && (#context.request.headers['Access-Control-Request-Method'] != null)",
+				StringUtils.unwrapExpression(expression));
+	}
+
+	@Test
+	void keepsBracesOfNestedExpressionsAndLiterals() {
+		assertEquals("{1, 2}.contains(#x) && #y == '}'", StringUtils.unwrapExpression("{{1, 2}.contains(#x) && #y == '}'}"));
+	}
+}